@@ -11,6 +11,7 @@ import javax.transaction.Transactional;
 
 import org.carlspring.strongbox.data.criteria.DetachQueryTemplate;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.QueryTemplate;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.dependency.snippet.CodeSnippet;
@@ -44,9 +45,19 @@ public class AqlSearchServiceImpl implements AqlSearchService
     {
         SearchResults result = new SearchResults();
 
-        QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(
-                new OQueryTemplate<>(entityManager));
-        for (ArtifactEntry artifactEntry : queryTemplate.select(selector))
+        OQueryTemplate<List<ArtifactEntry>, ArtifactEntry> oQueryTemplate = new OQueryTemplate<>(entityManager);
+        QueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new DetachQueryTemplate<>(oQueryTemplate);
+        List<ArtifactEntry> artifactEntries = queryTemplate.select(selector);
+
+        // The full page of the keyset paginated results can be followed by more results.
+        Paginator paginator = selector.getPaginator();
+        if (paginator.isKeyset() && !artifactEntries.isEmpty() && artifactEntries.size() == paginator.getLimit())
+        {
+            result.setContinuationToken(oQueryTemplate.calculateContinuationToken(selector,
+                                                                                  artifactEntries.get(artifactEntries.size() - 1)));
+        }
+
+        for (ArtifactEntry artifactEntry : artifactEntries)
         {
             SearchResult r = new SearchResult();
             result.getResults().add(r);
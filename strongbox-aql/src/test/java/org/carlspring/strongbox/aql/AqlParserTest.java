@@ -2,6 +2,7 @@ package org.carlspring.strongbox.aql;
 
 import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
+import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.QueryParserException;
 import org.carlspring.strongbox.data.criteria.Selector;
@@ -196,6 +197,59 @@ public class AqlParserTest
                      parameterMap);
     }
 
+    @Test
+    public void testKeysetPagination()
+    {
+        String query = "repository: releases_1 asc: version";
+
+        AqlQueryParser aqlParser = new AqlQueryParser(query);
+
+        Selector<ArtifactEntry> selector = aqlParser.parseQuery();
+        Paginator paginator = selector.getPaginator();
+        paginator.setKeyset(true);
+
+        OQueryTemplate<Object, ArtifactEntry> queryTemplate = new OQueryTemplate<>(null);
+
+        String sqlQuery = queryTemplate.calculateQueryString(selector);
+        String property = paginator.getProperty();
+        assertTrue(sqlQuery.contains(String.format(" AND %s IS NOT NULL", property)));
+        assertTrue(sqlQuery.contains(String.format(" ORDER BY %s ASC, @rid ASC", property)));
+
+        paginator.setContinuationToken(paginator.calculateContinuationToken("1.2.3", "#12:34"));
+
+        assertEquals("#12:34", paginator.getCursorObjectId());
+        assertEquals("1.2.3", paginator.getCursorValue());
+        assertFalse(paginator.isNullCursorValue());
+
+        sqlQuery = queryTemplate.calculateQueryString(selector);
+
+        logger.info(String.format("Query [%s] parse result:\n[%s]", query, sqlQuery));
+
+        assertTrue(sqlQuery.contains(String.format(" AND (%1$s > :cursorValue OR (%1$s = :cursorValue AND " +
+                                                   "@rid > :cursorObjectId))", property)));
+        assertTrue(sqlQuery.contains(String.format(" ORDER BY %s ASC, @rid ASC", property)));
+        assertFalse(sqlQuery.contains(" SKIP "));
+
+        // The entities without the sort property value follow the others.
+        paginator.setContinuationToken(paginator.calculateContinuationToken(null, "#12:35"));
+
+        assertTrue(paginator.isNullCursorValue());
+
+        sqlQuery = queryTemplate.calculateQueryString(selector);
+        assertTrue(sqlQuery.contains(String.format(" AND %s IS NULL AND @rid > :cursorObjectId", property)));
+        assertTrue(sqlQuery.contains(" ORDER BY @rid ASC"));
+
+        assertThrows(QueryParserException.class, () -> paginator.setContinuationToken("not a token"));
+
+        // The token is valid only for the same sort property and order.
+        Paginator descPaginator = new Paginator();
+        descPaginator.setProperty(property);
+        descPaginator.setOrder(Paginator.Order.DESC);
+        String descToken = descPaginator.calculateContinuationToken("1.2.3", "#12:34");
+
+        assertThrows(QueryParserException.class, () -> paginator.setContinuationToken(descToken));
+    }
+
     @Test
     public void testInvalidQuery()
     {
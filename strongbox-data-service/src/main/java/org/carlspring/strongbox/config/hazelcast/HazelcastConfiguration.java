@@ -7,6 +7,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.GroupConfig;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.config.NearCacheConfig;
@@ -23,16 +24,8 @@ public class HazelcastConfiguration
 {
 
     public static final int ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL = 60;
-    public static final int AUTHENTICATION_CACHE_INVALIDATE_INTERVAL = 10;
-
-    public static MapConfig authenticationCacheConfig(String name)
-    {
-        return new MapConfig().setName(name).setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
-                                                                                     .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
-                                                                                                                            .setSize(1000))
-                                                                                     .setInvalidateOnChange(true)
-                                                                                     .setTimeToLiveSeconds(AUTHENTICATION_CACHE_INVALIDATE_INTERVAL));
-    }
+    public static final int ARTIFACT_HEADERS_CACHE_INVALIDATE_INTERVAL = 3600;
+    public static final int ARTIFACT_HEADERS_CACHE_SIZE = 10000;
 
     public static MapConfig artifactEntryCacheConfig(String name)
     {
@@ -43,6 +36,19 @@ public class HazelcastConfiguration
                                                                                      .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
     }
 
+    public static MapConfig artifactHeadersCacheConfig(String name)
+    {
+        return new MapConfig().setName(name)
+                              .setMaxSizeConfig(new MaxSizeConfig(ARTIFACT_HEADERS_CACHE_SIZE, MaxSizeConfig.MaxSizePolicy.PER_NODE))
+                              .setEvictionPolicy(EvictionPolicy.LRU)
+                              .setTimeToLiveSeconds(ARTIFACT_HEADERS_CACHE_INVALIDATE_INTERVAL)
+                              .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                       .setInMemoryFormat(InMemoryFormat.OBJECT)
+                                                                       .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                              .setSize(ARTIFACT_HEADERS_CACHE_SIZE))
+                                                                       .setInvalidateOnChange(true));
+    }
+
     public static MapConfig newDefaultMapConfig(String name)
     {
         return new MapConfig().setName(name)
@@ -68,7 +74,7 @@ public class HazelcastConfiguration
         final Config config = new Config().setInstanceName(hazelcastInstanceId.getInstanceName())
                                           .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_REPOSITORY_ALIVENESS))
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS))
-                                          .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
+                                          .addMapConfig(artifactHeadersCacheConfig(CacheName.Artifact.HEADERS));
         config.setGroupConfig(new GroupConfig("strongbox", "password"));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
 
@@ -5,16 +5,13 @@ package org.carlspring.strongbox.data;
  */
 public final class CacheName
 {
-    public static final class User
-    {
-        public static final String AUTHENTICATIONS = "authentications";
-    }
-    
     public static final class Artifact
     {
 
         public static final String TAGS = "tags";
 
+        public static final String HEADERS = "artifactHeaders";
+
     }
 
     public static final class Repository
@@ -1,7 +1,9 @@
 package org.carlspring.strongbox.data.criteria;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.EntityManager;
@@ -11,6 +13,7 @@ import org.carlspring.strongbox.data.domain.GenericEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
@@ -25,6 +28,10 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 {
     private static final Logger logger = LoggerFactory.getLogger(OQueryTemplate.class);
 
+    private static final String CURSOR_OBJECT_ID_PARAMETER = "cursorObjectId";
+
+    private static final String CURSOR_VALUE_PARAMETER = "cursorValue";
+
     protected EntityManager entityManager;
 
     public OQueryTemplate()
@@ -45,15 +52,25 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 
     public R select(Selector<T> s)
     {
-        String sQuery = calculateQueryString(s);
+        Paginator paginator = s.getPaginator();
+        Object result = execute(s, calculateQueryString(s));
 
-        OSQLSynchQuery<T> oQuery = new OSQLSynchQuery<>(sQuery);
-        Map<String, Object> parameterMap = exposeParameterMap(s.getPredicate());
+        // The entities without the sort property value follow the others in the keyset order, but they can't be
+        // compared with the cursor value, so they are selected separately to fill the rest of the page.
+        if (isKeysetOrderedByProperty(paginator) && !paginator.isNullCursorValue() && !s.getPredicate().isEmpty()
+                && result instanceof List)
+        {
+            List<T> page = new ArrayList<>((List<T>) result);
+            int limit = paginator.getLimit();
+            if (limit <= 0 || page.size() < limit)
+            {
+                int nullValuesLimit = limit <= 0 ? 0 : limit - page.size();
+                page.addAll((List<T>) execute(s, calculateQueryString(s, true, nullValuesLimit)));
+            }
 
-        logger.debug(String.format("Executing SQL query:%n\t[%s]%nWith parameters:%n\t[%s]", sQuery, parameterMap));
+            return (R) page;
+        }
 
-        Object result = getEmDelegate().command(oQuery)
-                                       .execute(parameterMap);
         if (result instanceof Collection && !((Collection) result).isEmpty()
                 && ((Collection) result).iterator().next() instanceof ODocument)
         {
@@ -67,11 +84,68 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         }
     }
 
+    private Object execute(Selector<T> s,
+                           String sQuery)
+    {
+        OSQLSynchQuery<T> oQuery = new OSQLSynchQuery<>(sQuery);
+        Map<String, Object> parameterMap = exposeParameterMap(s.getPredicate());
+        parameterMap.putAll(exposeCursorParameterMap(s.getPaginator(), sQuery));
+
+        logger.debug(String.format("Executing SQL query:%n\t[%s]%nWith parameters:%n\t[%s]", sQuery, parameterMap));
+
+        return getEmDelegate().command(oQuery)
+                              .execute(parameterMap);
+    }
+
+    /**
+     * @param lastEntity
+     *            the last entity of the keyset paginated selection
+     * @return the continuation token of the following page
+     */
+    public String calculateContinuationToken(Selector<T> selector,
+                                             T lastEntity)
+    {
+        Paginator paginator = selector.getPaginator();
+        if (!hasOrderProperty(paginator))
+        {
+            return paginator.calculateContinuationToken(null, lastEntity.getObjectId());
+        }
+
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(String.format("SELECT %s AS value FROM %s",
+                                                                              paginator.getProperty(),
+                                                                              lastEntity.getObjectId()));
+        List<ODocument> result = getEmDelegate().command(oQuery).execute();
+        Object value = result.isEmpty() ? null : result.get(0).field("value");
+
+        return paginator.calculateContinuationToken(value, lastEntity.getObjectId());
+    }
+
     public OObjectDatabaseTx getEmDelegate()
     {
         return (OObjectDatabaseTx) entityManager.getDelegate();
     }
 
+    private Map<String, Object> exposeCursorParameterMap(Paginator paginator,
+                                                         String sQuery)
+    {
+        HashMap<String, Object> result = new HashMap<>();
+        if (paginator == null || paginator.getCursorObjectId() == null)
+        {
+            return result;
+        }
+
+        if (sQuery.contains(":" + CURSOR_OBJECT_ID_PARAMETER))
+        {
+            result.put(CURSOR_OBJECT_ID_PARAMETER, new ORecordId(paginator.getCursorObjectId()));
+        }
+        if (sQuery.contains(":" + CURSOR_VALUE_PARAMETER))
+        {
+            result.put(CURSOR_VALUE_PARAMETER, paginator.getCursorValue());
+        }
+
+        return result;
+    }
+
     public Map<String, Object> exposeParameterMap(Predicate p)
     {
         return exposeParameterMap(p, 0);
@@ -96,6 +170,21 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
     }
 
     public String calculateQueryString(Selector<T> selector)
+    {
+        Paginator paginator = selector.getPaginator();
+
+        return calculateQueryString(selector,
+                                    paginator != null && paginator.isNullCursorValue(),
+                                    paginator == null ? 0 : paginator.getLimit());
+    }
+
+    /**
+     * @param nullValues
+     *            if the keyset ordered selection is done among the entities without the sort property value
+     */
+    protected String calculateQueryString(Selector<T> selector,
+                                          boolean nullValues,
+                                          int limit)
     {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT ").append(selector.getProjection());
@@ -108,21 +197,46 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         }
 
         sb.append(" WHERE ");
-        sb.append(predicateToken(p, 0));
 
         Paginator paginator = selector.getPaginator();
-        if (paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty())
+        if (paginator != null && paginator.isKeyset())
+        {
+            sb.append("(").append(predicateToken(p, 0)).append(")");
+            String keysetToken = keysetToken(paginator, nullValues);
+            if (!keysetToken.isEmpty())
+            {
+                sb.append(" AND ").append(keysetToken);
+            }
+        }
+        else
+        {
+            sb.append(predicateToken(p, 0));
+        }
+
+        if (paginator != null && paginator.isKeyset())
+        {
+            if (hasOrderProperty(paginator) && !nullValues)
+            {
+                sb.append(String.format(" ORDER BY %s %s,", paginator.getProperty(), paginator.getOrder()));
+            }
+            else
+            {
+                sb.append(" ORDER BY");
+            }
+            sb.append(String.format(" @rid %s", paginator.getOrder()));
+        }
+        else if (hasOrderProperty(paginator))
         {
             sb.append(String.format(" ORDER BY %s %s", paginator.getProperty(), paginator.getOrder()));
         }
 
-        if (paginator != null && paginator.getSkip() > 0)
+        if (paginator != null && !paginator.isKeyset() && paginator.getSkip() > 0)
         {
             sb.append(String.format(" SKIP %s", paginator.getSkip()));
         }
-        if (paginator != null && paginator.getLimit() > 0)
+        if (limit > 0)
         {
-            sb.append(String.format(" LIMIT %s", paginator.getLimit()));
+            sb.append(String.format(" LIMIT %s", limit));
         }
 
         if (selector.isFetch())
@@ -133,6 +247,53 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         return sb.toString();
     }
 
+    /**
+     * The keyset condition, which selects the entities following the cursor entity in the
+     * <code>ORDER BY property, @rid</code> order. The entities without the sort property value are selected separately,
+     * ordered by the record ID only.
+     */
+    protected String keysetToken(Paginator paginator,
+                                 boolean nullValues)
+    {
+        String operator = Paginator.Order.DESC.equals(paginator.getOrder()) ? "<" : ">";
+        if (!hasOrderProperty(paginator))
+        {
+            return paginator.getCursorObjectId() == null ? ""
+                    : String.format("@rid %s :%s", operator, CURSOR_OBJECT_ID_PARAMETER);
+        }
+
+        String property = paginator.getProperty();
+        if (nullValues)
+        {
+            // The page which continues after the last entity with the sort property value starts from the first
+            // entity without it.
+            return paginator.isNullCursorValue()
+                    ? String.format("%s IS NULL AND @rid %s :%s", property, operator, CURSOR_OBJECT_ID_PARAMETER)
+                    : String.format("%s IS NULL", property);
+        }
+
+        if (paginator.getCursorObjectId() == null)
+        {
+            return String.format("%s IS NOT NULL", property);
+        }
+
+        return String.format("(%1$s %2$s :%3$s OR (%1$s = :%3$s AND @rid %2$s :%4$s))",
+                             property,
+                             operator,
+                             CURSOR_VALUE_PARAMETER,
+                             CURSOR_OBJECT_ID_PARAMETER);
+    }
+
+    private boolean hasOrderProperty(Paginator paginator)
+    {
+        return paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty();
+    }
+
+    private boolean isKeysetOrderedByProperty(Paginator paginator)
+    {
+        return hasOrderProperty(paginator) && paginator.isKeyset();
+    }
+
     protected String predicateToken(Predicate p,
                                     int tokenCount)
     {
@@ -1,16 +1,34 @@
 package org.carlspring.strongbox.data.criteria;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+/**
+ * Pages the selection either by the offset ({@link #getSkip()}), or by the keyset, which is the sort property value and
+ * the record ID of the last entity of the previous page (see {@link #setContinuationToken(String)}), so that the deep
+ * pages are not slower than the first ones. In the keyset order the entities without the sort property value follow
+ * the others, ordered by the record ID. The keyset can be calculated only for the numeric and date sort properties.
+ */
 public class Paginator
 {
 
     public static final Integer MAX_LIMIT = 1000;
 
+    private static final Pattern OBJECT_ID_PATTERN = Pattern.compile("#\\d+:\\d+");
+
     private Integer skip;
     private Integer limit;
 
     private String property;
     private Order order = Order.ASC;
 
+    private boolean keyset;
+    private String cursorObjectId;
+    private Object cursorValue;
+    private boolean nullCursorValue;
+
     public Integer getSkip()
     {
         return skip == null ? Integer.valueOf(0) : skip;
@@ -51,6 +69,153 @@ public class Paginator
         this.order = order;
     }
 
+    /**
+     * In the keyset mode the selection is ordered by the record ID after the sort property, so that the order is total
+     * and the continuation tokens can be calculated.
+     */
+    public boolean isKeyset()
+    {
+        return keyset;
+    }
+
+    public void setKeyset(boolean keyset)
+    {
+        this.keyset = keyset;
+    }
+
+    /**
+     * @return the record ID of the last entity of the previous page, or <code>null</code> for the first page
+     */
+    public String getCursorObjectId()
+    {
+        return cursorObjectId;
+    }
+
+    /**
+     * @return the sort property value of the last entity of the previous page
+     */
+    public Object getCursorValue()
+    {
+        return cursorValue;
+    }
+
+    /**
+     * The entities without the sort property value follow all the other entities in the keyset order.
+     *
+     * @return <code>true</code> if the last entity of the previous page has no sort property value, so the page
+     *         continues among the entities without it
+     */
+    public boolean isNullCursorValue()
+    {
+        return nullCursorValue;
+    }
+
+    /**
+     * Sets the keyset mode and the page which follows the continuation token, so the offset is not used anymore. The
+     * token is valid only for the same sort property and order, so they should be set before.
+     *
+     * @throws QueryParserException
+     *             if the token is invalid
+     */
+    public void setContinuationToken(String continuationToken)
+    {
+        String[] cursor;
+        try
+        {
+            byte[] decodedToken = Base64.getUrlDecoder().decode(continuationToken);
+            cursor = new String(decodedToken, StandardCharsets.UTF_8).split("\n", 4);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new QueryParserException("Invalid continuation token.");
+        }
+
+        if (cursor.length != 4 || !OBJECT_ID_PATTERN.matcher(cursor[2]).matches())
+        {
+            throw new QueryParserException("Invalid continuation token.");
+        }
+        if (!cursor[0].equals(getCursorProperty()) || !cursor[1].equals(order.name()))
+        {
+            throw new QueryParserException("The continuation token doesn't match the query order.");
+        }
+
+        Object value;
+        try
+        {
+            value = decodeCursorValue(cursor[3]);
+        }
+        catch (RuntimeException e)
+        {
+            throw new QueryParserException("Invalid continuation token.");
+        }
+
+        this.keyset = true;
+        this.skip = null;
+        this.cursorObjectId = cursor[2];
+        this.cursorValue = value;
+        this.nullCursorValue = value == null;
+    }
+
+    /**
+     * @param value
+     *            the sort property value of the last entity of the page, or <code>null</code> if it has no value or
+     *            there is no sort property
+     * @param objectId
+     *            the record ID of the last entity of the page
+     * @return the opaque token, which is used to request the following page with the same sort property and order
+     * @throws QueryParserException
+     *             if the sort property value is neither a number nor a date
+     */
+    public String calculateContinuationToken(Object value,
+                                             String objectId)
+    {
+        String cursor = String.join("\n", getCursorProperty(), order.name(), objectId, encodeCursorValue(value));
+
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String getCursorProperty()
+    {
+        return property == null ? "" : property.trim();
+    }
+
+    private static String encodeCursorValue(Object value)
+    {
+        if (value == null)
+        {
+            return "n";
+        }
+        else if (value instanceof Date)
+        {
+            return "d" + ((Date) value).getTime();
+        }
+        else if (value instanceof Long || value instanceof Integer)
+        {
+            return "l" + value;
+        }
+
+        throw new QueryParserException(String.format("The keyset pagination doesn't support the [%s] sort property values.",
+                                                     value.getClass().getSimpleName()));
+    }
+
+    private static Object decodeCursorValue(String encodedValue)
+    {
+        String value = encodedValue.substring(1);
+        switch (encodedValue.charAt(0))
+        {
+        case 'n':
+            return null;
+        case 'd':
+            return new Date(Long.parseLong(value));
+        case 'l':
+            return Long.valueOf(value);
+        default:
+            throw new IllegalArgumentException(encodedValue);
+        }
+    }
+
     public static enum Order
     {
         ASC, DESC;
@@ -1,24 +1,79 @@
 package org.carlspring.strongbox.config;
 
 import javax.servlet.ServletContext;
+import java.util.EnumMap;
+import java.util.Map;
 
-import org.carlspring.strongbox.event.EventExecutorFactoryBean;
+import org.carlspring.strongbox.event.AsyncEventListenerPostProcessor;
+import org.carlspring.strongbox.event.EventCategory;
+import org.carlspring.strongbox.event.EventRejectionPolicy;
+import org.carlspring.strongbox.event.EventTaskExecutor;
+import org.carlspring.strongbox.event.EventTaskExecutor.QueueSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.env.Environment;
 
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.event" })
-@EnableAsync
 public class EventsConfig
 {
 
+    private static final Logger logger = LoggerFactory.getLogger(EventsConfig.class);
+
+    private static final String PROPERTY_PREFIX = "strongbox.event.executor.";
+
+    private static final String JETTY_EXECUTOR_ATTRIBUTE = "org.eclipse.jetty.server.Executor";
+
     @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    public static AsyncEventListenerPostProcessor asyncEventListenerPostProcessor()
+    {
+        return new AsyncEventListenerPostProcessor();
+    }
+
+    @Bean(name = AsyncEventListenerPostProcessor.EVENT_TASK_EXECUTOR_BEAN_NAME)
+    public EventTaskExecutor eventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                               Environment environment)
+    {
+        boolean async = environment.getProperty(PROPERTY_PREFIX + "async",
+                                                Boolean.class,
+                                                isServerEnvironment(servletContext));
+        EventRejectionPolicy rejectionPolicy = environment.getProperty(PROPERTY_PREFIX + "rejectionPolicy",
+                                                                       EventRejectionPolicy.class,
+                                                                       EventRejectionPolicy.CALLER_RUNS);
+
+        Map<EventCategory, QueueSettings> queueSettings = new EnumMap<>(EventCategory.class);
+        queueSettings.put(EventCategory.ARTIFACT, queueSettings(environment, EventCategory.ARTIFACT, 8, 10000));
+        queueSettings.put(EventCategory.REPOSITORY, queueSettings(environment, EventCategory.REPOSITORY, 2, 1000));
+        queueSettings.put(EventCategory.SERVER, queueSettings(environment, EventCategory.SERVER, 1, 100));
+        queueSettings.put(EventCategory.COMMON, queueSettings(environment, EventCategory.COMMON, 4, 1000));
+
+        logger.info(String.format("Using [%s] executor for Async events.", async ? "dedicated" : "synchronous"));
+
+        return new EventTaskExecutor(async, rejectionPolicy, queueSettings);
+    }
+
+    private QueueSettings queueSettings(Environment environment,
+                                        EventCategory category,
+                                        int defaultPoolSize,
+                                        int defaultQueueCapacity)
+    {
+        String prefix = PROPERTY_PREFIX + category.getName() + ".";
+
+        return new QueueSettings(environment.getProperty(prefix + "poolSize", Integer.class, defaultPoolSize),
+                                 environment.getProperty(prefix + "queueCapacity", Integer.class, defaultQueueCapacity));
+    }
+
+    /**
+     * The events are processed asynchronously only within the servlet container, the test environment relies on the
+     * synchronous processing.
+     */
+    private boolean isServerEnvironment(ServletContext servletContext)
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return servletContext != null && servletContext.getAttribute(JETTY_EXECUTOR_ATTRIBUTE) != null;
     }
 
 }
@@ -6,17 +6,25 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * The event listener method which is invoked asynchronously by the {@link EventTaskExecutor} (see
+ * {@link AsyncEventListenerPostProcessor}). The method is expected to be <code>void</code>.
+ */
 @Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 // TransactionalEventListener.fallbackExecution() needed only for test environment
 @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-@Async("eventTaskExecutor")
 public @interface AsyncEventListener
 {
 
+    /**
+     * If the event can be skipped, when the same event (with the same type and path) is still queued for this
+     * listener. Should be used only for the listeners, which don't depend on the number of the events.
+     */
+    boolean coalesce() default false;
+
 }
@@ -0,0 +1,82 @@
+package org.carlspring.strongbox.event;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Submits the {@link AsyncEventListener} method invocations into the {@link EventTaskExecutor}.
+ * <br>
+ * Unlike {@link org.springframework.scheduling.annotation.Async}, the executor knows both the listener and the event,
+ * which are needed to choose the event queue, coalesce the events and collect the per listener statistics.
+ */
+public class AsyncEventListenerInterceptor
+        implements MethodInterceptor
+{
+
+    private final Supplier<EventTaskExecutor> eventTaskExecutorSupplier;
+
+    private volatile EventTaskExecutor eventTaskExecutor;
+
+    public AsyncEventListenerInterceptor(Supplier<EventTaskExecutor> eventTaskExecutorSupplier)
+    {
+        this.eventTaskExecutorSupplier = eventTaskExecutorSupplier;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation)
+    {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis())
+                                                            : method.getDeclaringClass();
+
+        AsyncEventListener asyncEventListener = AnnotatedElementUtils.findMergedAnnotation(
+                ClassUtils.getMostSpecificMethod(method, targetClass),
+                AsyncEventListener.class);
+
+        String listenerName = ClassUtils.getUserClass(targetClass).getSimpleName() + "." + method.getName();
+        Object[] arguments = invocation.getArguments();
+        Object event = arguments.length > 0 ? arguments[0] : null;
+
+        getEventTaskExecutor().execute(listenerName,
+                                       event,
+                                       asyncEventListener != null && asyncEventListener.coalesce(),
+                                       () -> proceed(invocation));
+
+        return null;
+    }
+
+    private static void proceed(MethodInvocation invocation)
+    {
+        try
+        {
+            invocation.proceed();
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private EventTaskExecutor getEventTaskExecutor()
+    {
+        EventTaskExecutor result = eventTaskExecutor;
+        if (result == null)
+        {
+            eventTaskExecutor = result = eventTaskExecutorSupplier.get();
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.carlspring.strongbox.event;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+
+/**
+ * Applies {@link AsyncEventListenerInterceptor} to the beans with {@link AsyncEventListener} methods.
+ */
+public class AsyncEventListenerPostProcessor
+        extends AbstractBeanFactoryAwareAdvisingPostProcessor
+{
+
+    public static final String EVENT_TASK_EXECUTOR_BEAN_NAME = "eventTaskExecutor";
+
+    public AsyncEventListenerPostProcessor()
+    {
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory)
+    {
+        super.setBeanFactory(beanFactory);
+
+        // The executor is resolved lazily, as the post processors are created before the regular beans.
+        AsyncEventListenerInterceptor interceptor = new AsyncEventListenerInterceptor(
+                () -> beanFactory.getBean(EVENT_TASK_EXECUTOR_BEAN_NAME, EventTaskExecutor.class));
+
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, AsyncEventListener.class, true),
+                                                  interceptor);
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.server.ServerEvent;
+
+/**
+ * The event categories, each of them is processed within its own bounded queue by {@link EventTaskExecutor}.
+ */
+public enum EventCategory
+{
+
+    ARTIFACT,
+
+    REPOSITORY,
+
+    SERVER,
+
+    /**
+     * The tasks which are not related to any event (submitted directly into {@link EventTaskExecutor}).
+     */
+    COMMON;
+
+    public String getName()
+    {
+        return name().toLowerCase();
+    }
+
+    public static EventCategory of(Object event)
+    {
+        if (event instanceof ArtifactEvent)
+        {
+            return ARTIFACT;
+        }
+        else if (event instanceof RepositoryEvent)
+        {
+            return REPOSITORY;
+        }
+        else if (event instanceof ServerEvent)
+        {
+            return SERVER;
+        }
+
+        return COMMON;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.event;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The processing statistics of a single event listener, collected by {@link EventTaskExecutor}.
+ */
+public class EventListenerStatistics
+{
+
+    private final String listenerName;
+
+    private final EventCategory category;
+
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    private final LongAdder processedEvents = new LongAdder();
+
+    private final LongAdder failedEvents = new LongAdder();
+
+    private final LongAdder coalescedEvents = new LongAdder();
+
+    private final LongAdder rejectedEvents = new LongAdder();
+
+    private final LongAdder totalWaitTimeNanos = new LongAdder();
+
+    private final LongAdder totalProcessingTimeNanos = new LongAdder();
+
+    public EventListenerStatistics(String listenerName,
+                                   EventCategory category)
+    {
+        this.listenerName = listenerName;
+        this.category = category;
+    }
+
+    public String getListenerName()
+    {
+        return listenerName;
+    }
+
+    public EventCategory getCategory()
+    {
+        return category;
+    }
+
+    /**
+     * @return the number of events which are queued, but not processed yet
+     */
+    public int getPendingEvents()
+    {
+        return pendingEvents.get();
+    }
+
+    public long getProcessedEvents()
+    {
+        return processedEvents.sum();
+    }
+
+    public long getFailedEvents()
+    {
+        return failedEvents.sum();
+    }
+
+    public long getCoalescedEvents()
+    {
+        return coalescedEvents.sum();
+    }
+
+    public long getRejectedEvents()
+    {
+        return rejectedEvents.sum();
+    }
+
+    /**
+     * @return the total time the processed events spent in the queue
+     */
+    public long getTotalWaitTimeNanos()
+    {
+        return totalWaitTimeNanos.sum();
+    }
+
+    public long getTotalProcessingTimeNanos()
+    {
+        return totalProcessingTimeNanos.sum();
+    }
+
+    void queued()
+    {
+        pendingEvents.incrementAndGet();
+    }
+
+    void dequeued()
+    {
+        pendingEvents.decrementAndGet();
+    }
+
+    void coalesced()
+    {
+        coalescedEvents.increment();
+    }
+
+    void rejected()
+    {
+        rejectedEvents.increment();
+    }
+
+    void processed(long waitTimeNanos,
+                   long processingTimeNanos,
+                   boolean failed)
+    {
+        processedEvents.increment();
+        totalWaitTimeNanos.add(waitTimeNanos);
+        totalProcessingTimeNanos.add(processingTimeNanos);
+        if (failed)
+        {
+            failedEvents.increment();
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.carlspring.strongbox.event;
+
+/**
+ * Defines what {@link EventTaskExecutor} does with the event when the queue of its {@link EventCategory} is full.
+ */
+public enum EventRejectionPolicy
+{
+
+    /**
+     * The event is processed by the publishing thread, which slows down the publisher (backpressure).
+     */
+    CALLER_RUNS,
+
+    /**
+     * The event is dropped with a warning.
+     */
+    DISCARD,
+
+    /**
+     * The publisher gets {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT
+
+}
@@ -0,0 +1,367 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.server.ServerEvent;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Dedicated executor for the {@link AsyncEventListener} events, so that the event processing doesn't compete with the
+ * HTTP requests for the servlet container threads.
+ * <br>
+ * Each {@link EventCategory} has its own thread pool with a bounded queue, and once the queue is full, the event is
+ * handled according to the {@link EventRejectionPolicy}. Optionally, the duplicate events for the same path (which
+ * are still queued for the same listener) can be coalesced into one.
+ * <br>
+ * In the non-async mode (when there is no servlet container, as in tests) the events are processed by the publishing
+ * thread.
+ */
+public class EventTaskExecutor
+        implements Executor, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTaskExecutor.class);
+
+    private static final String COMMON_LISTENER_NAME = "common";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final boolean async;
+
+    private final EventRejectionPolicy rejectionPolicy;
+
+    private final Map<EventCategory, ThreadPoolExecutor> executors = new EnumMap<>(EventCategory.class);
+
+    private final ConcurrentMap<String, EventListenerStatistics> listenerStatistics = new ConcurrentHashMap<>();
+
+    private final List<Consumer<EventListenerStatistics>> listenerStatisticsCallbacks = new ArrayList<>();
+
+    private final Set<String> queuedCoalescingKeys = ConcurrentHashMap.newKeySet();
+
+    public EventTaskExecutor(boolean async,
+                             EventRejectionPolicy rejectionPolicy,
+                             Map<EventCategory, QueueSettings> queueSettings)
+    {
+        this.async = async;
+        this.rejectionPolicy = rejectionPolicy;
+
+        if (!async)
+        {
+            return;
+        }
+
+        for (EventCategory category : EventCategory.values())
+        {
+            QueueSettings settings = queueSettings.getOrDefault(category, QueueSettings.DEFAULT);
+
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                    String.format("strongbox-event-%s-", category.getName()));
+            threadFactory.setDaemon(true);
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(settings.getPoolSize(),
+                                                                 settings.getPoolSize(),
+                                                                 60L,
+                                                                 TimeUnit.SECONDS,
+                                                                 new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                                                                 threadFactory,
+                                                                 new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+
+            executors.put(category, executor);
+        }
+    }
+
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    public EventRejectionPolicy getRejectionPolicy()
+    {
+        return rejectionPolicy;
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        execute(COMMON_LISTENER_NAME, null, false, task);
+    }
+
+    /**
+     * Submits the event processing task.
+     *
+     * @param listenerName the name the listener statistics are collected under
+     * @param event        the event to process, which determines the {@link EventCategory}
+     * @param coalesce     if the task can be skipped, when the same event is already queued for the same listener
+     * @param task         the actual event processing
+     */
+    public void execute(String listenerName,
+                        Object event,
+                        boolean coalesce,
+                        Runnable task)
+    {
+        EventCategory category = EventCategory.of(event);
+        EventListenerStatistics statistics = getListenerStatistics(listenerName, category);
+
+        long queuedAt = System.nanoTime();
+        if (!async)
+        {
+            process(statistics, task, queuedAt);
+
+            return;
+        }
+
+        String coalescingKey = coalesce ? getCoalescingKey(listenerName, event) : null;
+        if (coalescingKey != null && !queuedCoalescingKeys.add(coalescingKey))
+        {
+            statistics.coalesced();
+            logger.debug(String.format("Coalesced event [%s] for [%s].", coalescingKey, listenerName));
+
+            return;
+        }
+
+        statistics.queued();
+
+        ThreadPoolExecutor executor = executors.get(category);
+        try
+        {
+            executor.execute(() -> {
+                dequeue(statistics, coalescingKey);
+                process(statistics, task, queuedAt);
+            });
+        }
+        catch (RejectedExecutionException e)
+        {
+            dequeue(statistics, coalescingKey);
+            reject(executor, statistics, task, queuedAt, e);
+        }
+    }
+
+    private void dequeue(EventListenerStatistics statistics,
+                         String coalescingKey)
+    {
+        statistics.dequeued();
+        if (coalescingKey != null)
+        {
+            // The event which comes after this point should be processed again, as it may see a different state.
+            queuedCoalescingKeys.remove(coalescingKey);
+        }
+    }
+
+    private void reject(ThreadPoolExecutor executor,
+                        EventListenerStatistics statistics,
+                        Runnable task,
+                        long queuedAt,
+                        RejectedExecutionException e)
+    {
+        statistics.rejected();
+
+        if (executor.isShutdown())
+        {
+            logger.warn(String.format("Event executor is shut down, event for [%s] discarded.",
+                                      statistics.getListenerName()));
+
+            return;
+        }
+
+        switch (rejectionPolicy)
+        {
+            case CALLER_RUNS:
+                process(statistics, task, queuedAt);
+                break;
+            case DISCARD:
+                logger.warn(String.format("Event queue [%s] is full, event for [%s] discarded.",
+                                          statistics.getCategory().getName(),
+                                          statistics.getListenerName()));
+                break;
+            default:
+                throw e;
+        }
+    }
+
+    private void process(EventListenerStatistics statistics,
+                         Runnable task,
+                         long queuedAt)
+    {
+        long startedAt = System.nanoTime();
+        boolean failed = true;
+        try
+        {
+            task.run();
+            failed = false;
+        }
+        catch (RuntimeException e)
+        {
+            logger.error(String.format("Failed to process event for [%s].", statistics.getListenerName()), e);
+        }
+        finally
+        {
+            statistics.processed(startedAt - queuedAt, System.nanoTime() - startedAt, failed);
+        }
+    }
+
+    private String getCoalescingKey(String listenerName,
+                                    Object event)
+    {
+        if (!(event instanceof Event))
+        {
+            return null;
+        }
+
+        String target;
+        if (event instanceof RepositoryBasedEvent)
+        {
+            Path path = ((RepositoryBasedEvent<?>) event).getPath();
+            if (path == null)
+            {
+                return null;
+            }
+
+            target = path.toUri().toString();
+        }
+        else if (event instanceof RepositoryEvent)
+        {
+            RepositoryEvent repositoryEvent = (RepositoryEvent) event;
+            target = repositoryEvent.getStorageId() + ":" + repositoryEvent.getRepositoryId();
+        }
+        else if (event instanceof ServerEvent)
+        {
+            target = "";
+        }
+        else
+        {
+            return null;
+        }
+
+        return String.format("%s:%s:%s:%s",
+                             listenerName,
+                             event.getClass().getName(),
+                             ((Event) event).getType(),
+                             target);
+    }
+
+    private EventListenerStatistics getListenerStatistics(String listenerName,
+                                                          EventCategory category)
+    {
+        String key = category.getName() + ":" + listenerName;
+
+        EventListenerStatistics statistics = listenerStatistics.get(key);
+        if (statistics != null)
+        {
+            return statistics;
+        }
+
+        synchronized (listenerStatisticsCallbacks)
+        {
+            statistics = listenerStatistics.get(key);
+            if (statistics != null)
+            {
+                return statistics;
+            }
+
+            statistics = new EventListenerStatistics(listenerName, category);
+            listenerStatistics.put(key, statistics);
+
+            for (Consumer<EventListenerStatistics> callback : listenerStatisticsCallbacks)
+            {
+                callback.accept(statistics);
+            }
+
+            return statistics;
+        }
+    }
+
+    public Collection<EventListenerStatistics> getListenerStatistics()
+    {
+        return Collections.unmodifiableCollection(listenerStatistics.values());
+    }
+
+    /**
+     * Calls the callback for the statistics of all the listeners, both the existing and the ones which will appear
+     * later (the listener statistics are created on the first event).
+     */
+    public void forEachListenerStatistics(Consumer<EventListenerStatistics> callback)
+    {
+        synchronized (listenerStatisticsCallbacks)
+        {
+            listenerStatisticsCallbacks.add(callback);
+            listenerStatistics.values().forEach(callback);
+        }
+    }
+
+    /**
+     * @return the number of events waiting in the queue of the category
+     */
+    public int getQueueSize(EventCategory category)
+    {
+        ThreadPoolExecutor executor = executors.get(category);
+
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+
+        for (Map.Entry<EventCategory, ThreadPoolExecutor> entry : executors.entrySet())
+        {
+            if (!entry.getValue().awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+            {
+                logger.warn(String.format("Event queue [%s] was not processed within [%s] seconds on shutdown.",
+                                          entry.getKey().getName(),
+                                          SHUTDOWN_TIMEOUT_SECONDS));
+            }
+        }
+    }
+
+    public static class QueueSettings
+    {
+
+        public static final QueueSettings DEFAULT = new QueueSettings(4, 1000);
+
+        private final int poolSize;
+
+        private final int queueCapacity;
+
+        public QueueSettings(int poolSize,
+                             int queueCapacity)
+        {
+            this.poolSize = poolSize;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getPoolSize()
+        {
+            return poolSize;
+        }
+
+        public int getQueueCapacity()
+        {
+            return queueCapacity;
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.EventTaskExecutor.QueueSettings;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventTaskExecutorTest
+{
+
+    private static final int EVENT_TYPE = 1;
+
+    private EventTaskExecutor executor;
+
+    @AfterEach
+    public void tearDown()
+        throws InterruptedException
+    {
+        if (executor != null)
+        {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testSynchronousExecution()
+    {
+        executor = new EventTaskExecutor(false, EventRejectionPolicy.ABORT, Collections.emptyMap());
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger processed = new AtomicInteger();
+
+        executor.execute("listener", artifactEvent("a.jar"), false, () -> {
+            assertSame(caller, Thread.currentThread());
+            processed.incrementAndGet();
+        });
+        executor.execute("listener", artifactEvent("a.jar"), false, () -> {
+            throw new IllegalStateException("Failed to process.");
+        });
+
+        assertEquals(1, processed.get());
+
+        EventListenerStatistics statistics = executor.getListenerStatistics().iterator().next();
+        assertEquals(EventCategory.ARTIFACT, statistics.getCategory());
+        assertEquals(2, statistics.getProcessedEvents());
+        assertEquals(1, statistics.getFailedEvents());
+    }
+
+    @Test
+    public void testDuplicateEventsCoalesced()
+        throws InterruptedException
+    {
+        executor = newAsyncExecutor(EventRejectionPolicy.ABORT, 10);
+
+        CountDownLatch release = blockQueue();
+        AtomicInteger processed = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (int i = 0; i < 3; i++)
+        {
+            executor.execute("listener", artifactEvent("a.jar"), true, () -> {
+                processed.incrementAndGet();
+                done.countDown();
+            });
+        }
+        executor.execute("listener", artifactEvent("b.jar"), true, () -> {
+            processed.incrementAndGet();
+            done.countDown();
+        });
+
+        assertEquals(2, executor.getQueueSize(EventCategory.ARTIFACT));
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, processed.get());
+
+        EventListenerStatistics statistics = executor.getListenerStatistics()
+                                                     .stream()
+                                                     .filter(s -> s.getListenerName().equals("listener"))
+                                                     .findFirst()
+                                                     .get();
+        assertEquals(2, statistics.getCoalescedEvents());
+    }
+
+    @Test
+    public void testRejectionPolicy()
+        throws InterruptedException
+    {
+        executor = newAsyncExecutor(EventRejectionPolicy.ABORT, 1);
+
+        CountDownLatch release = blockQueue();
+        executor.execute("listener", artifactEvent("a.jar"), false, () -> {});
+
+        assertThrows(RejectedExecutionException.class,
+                     () -> executor.execute("listener", artifactEvent("b.jar"), false, () -> {}));
+
+        release.countDown();
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull()
+        throws InterruptedException
+    {
+        executor = newAsyncExecutor(EventRejectionPolicy.CALLER_RUNS, 1);
+
+        CountDownLatch release = blockQueue();
+        executor.execute("listener", artifactEvent("a.jar"), false, () -> {});
+
+        Thread caller = Thread.currentThread();
+        AtomicInteger processedByCaller = new AtomicInteger();
+        executor.execute("listener", artifactEvent("b.jar"), false, () -> {
+            if (caller == Thread.currentThread())
+            {
+                processedByCaller.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, processedByCaller.get());
+
+        release.countDown();
+    }
+
+    private EventTaskExecutor newAsyncExecutor(EventRejectionPolicy rejectionPolicy,
+                                               int queueCapacity)
+    {
+        return new EventTaskExecutor(true,
+                                     rejectionPolicy,
+                                     Collections.singletonMap(EventCategory.ARTIFACT,
+                                                              new QueueSettings(1, queueCapacity)));
+    }
+
+    /**
+     * Occupies the single artifact event thread, so that the following events stay in the queue.
+     */
+    private CountDownLatch blockQueue()
+        throws InterruptedException
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute("blocking", artifactEvent("blocking.jar"), false, () -> {
+            started.countDown();
+            try
+            {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        return release;
+    }
+
+    private static ArtifactEvent<Path> artifactEvent(String path)
+    {
+        return new ArtifactEvent<>(Paths.get("/storage0/releases", path), EVENT_TYPE);
+    }
+
+}
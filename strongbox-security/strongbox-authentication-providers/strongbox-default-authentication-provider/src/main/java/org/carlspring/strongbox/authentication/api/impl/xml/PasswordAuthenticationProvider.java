@@ -1,9 +1,8 @@
 package org.carlspring.strongbox.authentication.api.impl.xml;
 
-import java.util.Optional;
-
 import javax.inject.Inject;
 
+import org.carlspring.strongbox.users.security.AuthenticationCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -66,19 +65,12 @@ public class PasswordAuthenticationProvider extends DaoAuthenticationProvider
                                                   UsernamePasswordAuthenticationToken authentication)
         throws AuthenticationException
     {
-        UsernamePasswordAuthenticationToken cachedAuthentication = authenticationCache.getAuthenticationToken(userDetails.getUsername());
-
-        if (Optional.ofNullable(cachedAuthentication)
-                    .filter(c -> authentication.getCredentials() != null && c.getCredentials() != null)
-                    .filter(c -> authenticationCache.matches(authentication.getCredentials()
-                                                                           .toString(),
-                                                             c.getCredentials()
-                                                              .toString()))
-                    .isPresent())
+        String username = userDetails.getUsername();
+        Object credentials = authentication.getCredentials();
 
+        if (credentials != null && authenticationCache.contains(username, credentials.toString()))
         {
-            logger.debug(String.format("Found cached authentication for [%s]",
-                                       userDetails.getUsername()));
+            logger.debug(String.format("Found cached authentication for [%s]", username));
             return;
         }
 
@@ -91,7 +83,7 @@ public class PasswordAuthenticationProvider extends DaoAuthenticationProvider
             throw new BadCredentialsException("invalid.credentials");
         }
 
-        authenticationCache.putAuthenticationToken(authentication);
+        authenticationCache.put(username, credentials.toString());
     }
 
 }
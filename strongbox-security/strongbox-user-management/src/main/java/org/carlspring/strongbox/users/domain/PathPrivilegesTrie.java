@@ -0,0 +1,237 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.authorization.dto.PrivelegieReadContract;
+import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
+import org.carlspring.strongbox.users.dto.UserPathPrivelegiesReadContract;
+import org.carlspring.strongbox.users.dto.UserRepositoryReadContract;
+import org.carlspring.strongbox.users.dto.UserStorageReadContract;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.lang.StringUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The path privileges of an access model, compiled into a character trie of the repository URLs
+ * ({@code /storages/{storageId}/{repositoryId}}) and the path URLs, so that the privileges of a request URL are
+ * resolved by a single walk over the URL, instead of scanning all the storages, repositories and paths of the access
+ * model.
+ * <br>
+ * The privileges are resolved the same way as by {@link AccessModel#getPathPrivileges(UserAccessModelReadContract,
+ * String)}: the repository privileges and the wildcard path privileges apply to all the URLs starting with their URL,
+ * and the other path privileges apply only to their exact URL.
+ */
+@Immutable
+public class PathPrivilegesTrie
+        implements Serializable
+{
+
+    private final Node root;
+
+    public PathPrivilegesTrie(final UserAccessModelReadContract accessModel)
+    {
+        NodeBuilder rootBuilder = new NodeBuilder();
+        for (final UserStorageReadContract storage : accessModel.getStorages())
+        {
+            String storageKey = "/storages/" + storage.getStorageId();
+            for (UserRepositoryReadContract repository : storage.getRepositories())
+            {
+                String repositoryKey = storageKey + "/" + repository.getRepositoryId();
+                rootBuilder.add(repositoryKey).prefixPrivileges.addAll(names(repository.getRepositoryPrivileges()));
+
+                for (UserPathPrivelegiesReadContract pathPrivilege : repository.getPathPrivileges())
+                {
+                    String pathKey = repositoryKey + "/" + StringUtils.chomp(pathPrivilege.getPath(), "/");
+
+                    NodeBuilder pathBuilder = rootBuilder.add(pathKey);
+                    if (pathPrivilege.isWildcard())
+                    {
+                        pathBuilder.prefixPrivileges.addAll(names(pathPrivilege.getPrivileges()));
+                    }
+                    else
+                    {
+                        pathBuilder.exactPrivileges.addAll(names(pathPrivilege.getPrivileges()));
+                    }
+                }
+            }
+        }
+
+        this.root = rootBuilder.build();
+    }
+
+    private static Set<String> names(Set<? extends PrivelegieReadContract> privileges)
+    {
+        return privileges.stream().map(PrivelegieReadContract::getName).collect(toSet());
+    }
+
+    /**
+     * @return the names of the privileges, which are granted for the URL
+     */
+    public Set<String> getPrivileges(String url)
+    {
+        return collect(url, false);
+    }
+
+    /**
+     * @return the privileges, which are granted for the URL, as the authorities
+     */
+    public Set<GrantedAuthority> getAuthorities(String url)
+    {
+        return collect(url, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> collect(String url,
+                               boolean authorities)
+    {
+        String normalizedUrl = StringUtils.chomp(url, "/");
+
+        Set<T> result = Collections.emptySet();
+        Set<T> merged = null;
+
+        Node node = root;
+        for (int i = 0, length = normalizedUrl.length(); i < length; i++)
+        {
+            node = node.getChild(normalizedUrl.charAt(i));
+            if (node == null)
+            {
+                break;
+            }
+
+            Privileges privileges = i == length - 1 ? node.exactPrivileges : node.prefixPrivileges;
+            if (privileges == null)
+            {
+                continue;
+            }
+
+            Set<T> found = (Set<T>) (authorities ? privileges.authorities : privileges.names);
+            if (result.isEmpty())
+            {
+                result = found;
+            }
+            else
+            {
+                if (merged == null)
+                {
+                    merged = new HashSet<>(result);
+                    result = merged;
+                }
+                merged.addAll(found);
+            }
+        }
+
+        return result;
+    }
+
+    private static class NodeBuilder
+    {
+
+        private final Map<Character, NodeBuilder> children = new TreeMap<>();
+
+        private final Set<String> prefixPrivileges = new HashSet<>();
+
+        private final Set<String> exactPrivileges = new HashSet<>();
+
+        private NodeBuilder add(String key)
+        {
+            NodeBuilder result = this;
+            for (int i = 0; i < key.length(); i++)
+            {
+                result = result.children.computeIfAbsent(key.charAt(i), c -> new NodeBuilder());
+            }
+
+            return result;
+        }
+
+        private Node build()
+        {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, NodeBuilder> child : children.entrySet())
+            {
+                labels[i] = child.getKey();
+                nodes[i] = child.getValue().build();
+                i++;
+            }
+
+            Set<String> exact = new HashSet<>(prefixPrivileges);
+            exact.addAll(exactPrivileges);
+
+            return new Node(labels, nodes, Privileges.of(prefixPrivileges), Privileges.of(exact));
+        }
+
+    }
+
+    private static class Node
+            implements Serializable
+    {
+
+        private final char[] labels;
+
+        private final Node[] nodes;
+
+        /**
+         * The privileges of the URLs starting with the URL of this node.
+         */
+        private final Privileges prefixPrivileges;
+
+        /**
+         * The privileges of the URL of this node.
+         */
+        private final Privileges exactPrivileges;
+
+        private Node(char[] labels,
+                     Node[] nodes,
+                     Privileges prefixPrivileges,
+                     Privileges exactPrivileges)
+        {
+            this.labels = labels;
+            this.nodes = nodes;
+            this.prefixPrivileges = prefixPrivileges;
+            this.exactPrivileges = exactPrivileges;
+        }
+
+        private Node getChild(char label)
+        {
+            int i = Arrays.binarySearch(labels, label);
+
+            return i >= 0 ? nodes[i] : null;
+        }
+
+    }
+
+    private static class Privileges
+            implements Serializable
+    {
+
+        private final Set<String> names;
+
+        private final Set<GrantedAuthority> authorities;
+
+        private Privileges(Collection<String> names)
+        {
+            this.names = ImmutableSet.copyOf(names);
+            this.authorities = ImmutableSet.copyOf(names.stream().map(SimpleGrantedAuthority::new).collect(toSet()));
+        }
+
+        private static Privileges of(Set<String> names)
+        {
+            return names.isEmpty() ? null : new Privileges(names);
+        }
+
+    }
+
+}
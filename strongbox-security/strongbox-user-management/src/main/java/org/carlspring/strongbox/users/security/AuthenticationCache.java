@@ -0,0 +1,135 @@
+package org.carlspring.strongbox.users.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the password authentications, which were verified by the configured password encoder, for a short time, so
+ * that the repeated authentications (the build tools send the credentials with each request) are verified in
+ * microseconds.
+ * <br>
+ * The cache is local to this node. The credentials are cached as the HMAC-SHA256 of the username and the password,
+ * with a secret key generated for each process, so the passwords are not kept in memory. The cached credentials of a
+ * user are evicted when the user is updated or deleted on this node, and expire after the time to live on the other
+ * nodes.
+ */
+@Component
+public class AuthenticationCache
+{
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec secretKey;
+
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::createMac);
+
+    /**
+     * The usernames by the digest of the verified credentials.
+     */
+    private final Cache<String, String> authentications;
+
+    @Inject
+    public AuthenticationCache(@Value("${strongbox.security.authenticationCache.size:1000}") long size,
+                               @Value("${strongbox.security.authenticationCache.timeToLiveSeconds:10}") long timeToLiveSeconds)
+    {
+        this(size, timeToLiveSeconds, Ticker.systemTicker());
+    }
+
+    /**
+     * @param ticker
+     *            the time source the cached credentials expire by
+     */
+    AuthenticationCache(long size,
+                        long timeToLiveSeconds,
+                        Ticker ticker)
+    {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        secretKey = new SecretKeySpec(secret, ALGORITHM);
+        authentications = CacheBuilder.newBuilder()
+                                      .maximumSize(size)
+                                      .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                                      .ticker(ticker)
+                                      .recordStats()
+                                      .build();
+    }
+
+    /**
+     * @return <code>true</code> if the credentials were verified, and have not expired or been evicted since
+     */
+    public boolean contains(String username,
+                            CharSequence password)
+    {
+        return authentications.getIfPresent(digest(username, password)) != null;
+    }
+
+    public void put(String username,
+                    CharSequence password)
+    {
+        authentications.put(digest(username, password), username);
+    }
+
+    public void evict(String username)
+    {
+        authentications.asMap().values().removeIf(username::equals);
+    }
+
+    public void evictAll()
+    {
+        authentications.invalidateAll();
+    }
+
+    public long getHits()
+    {
+        return authentications.stats().hitCount();
+    }
+
+    public long getMisses()
+    {
+        return authentications.stats().missCount();
+    }
+
+    private String digest(String username,
+                          CharSequence password)
+    {
+        byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+
+        // The username is prefixed by its length, so that the username and the password can't be shifted.
+        Mac result = mac.get();
+        result.update(ByteBuffer.allocate(Integer.BYTES).putInt(usernameBytes.length).array());
+        result.update(usernameBytes);
+
+        return Base64.getEncoder()
+                     .encodeToString(result.doFinal(password.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac()
+    {
+        try
+        {
+            Mac result = Mac.getInstance(ALGORITHM);
+            result.init(secretKey);
+
+            return result;
+        }
+        catch (GeneralSecurityException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -5,10 +5,20 @@ import org.carlspring.strongbox.security.exceptions.ExpiredTokenException;
 
 import javax.inject.Inject;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
@@ -32,11 +42,48 @@ import org.springframework.stereotype.Component;
 public class SecurityTokenProvider
 {
     private static final String MESSAGE_INVALID_JWT = "Invalid JWT: value-[%s]";
+
+    private static final JwtConsumer NON_VERIFYING_JWT_CONSUMER = new JwtConsumerBuilder().setRequireSubject()
+                                                                                          .setRelaxVerificationKeyValidation()
+                                                                                          .setSkipSignatureVerification()
+                                                                                          .setSkipAllValidators()
+                                                                                          .build();
+
     /**
      * Secret key which is used to encode and verify tokens.<br>
      * All previous tokens will be invalid, if it changed.
      */
-    private Key key;
+    private volatile Key key;
+
+    private volatile JwtConsumer verifyingJwtConsumer;
+
+    /**
+     * The claims of the verified tokens by the token digest, until the token expires.<br>
+     * Invalidated, if the {@link #key} is changed.
+     */
+    private final Cache<String, VerifiedClaims> verifiedTokens;
+
+    private final Clock clock;
+
+    @Inject
+    public SecurityTokenProvider(@Value("${strongbox.security.jwtCache.size:10000}") long verifiedTokensCacheSize)
+    {
+        this(verifiedTokensCacheSize, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock
+     *            the time source the tokens are issued and expire by
+     */
+    SecurityTokenProvider(long verifiedTokensCacheSize,
+                          Clock clock)
+    {
+        this.clock = clock;
+        verifiedTokens = CacheBuilder.newBuilder()
+                                     .maximumSize(verifiedTokensCacheSize)
+                                     .expireAfterWrite(1, TimeUnit.HOURS)
+                                     .build();
+    }
 
     /**
      * Creates {@link Key} instance using Secret string from application configuration.
@@ -49,7 +96,15 @@ public class SecurityTokenProvider
     public void init(@Value("${strongbox.security.jwtSecret:secret}") String secret)
             throws UnsupportedEncodingException
     {
-        key = new HmacKey(secret.getBytes("UTF-8"));
+        Key key = new HmacKey(secret.getBytes("UTF-8"));
+
+        this.verifyingJwtConsumer = new JwtConsumerBuilder().setRequireSubject()
+                                                            .setRelaxVerificationKeyValidation()
+                                                            .setVerificationKey(key)
+                                                            .build();
+        this.key = key;
+
+        verifiedTokens.invalidateAll();
     }
 
     /**
@@ -77,7 +132,7 @@ public class SecurityTokenProvider
 
         if (expireSeconds != null)
         {
-            claims.setExpirationTime(NumericDate.fromMilliseconds(System.currentTimeMillis() + expireSeconds * 1000));
+            claims.setExpirationTime(NumericDate.fromMilliseconds(clock.millis() + expireSeconds * 1000));
         }
 
         JsonWebSignature jws = new JsonWebSignature();
@@ -91,6 +146,11 @@ public class SecurityTokenProvider
 
     public String getSubject(String token)
     {
+        VerifiedClaims verifiedClaims = verifiedTokens.getIfPresent(digest(token));
+        if (verifiedClaims != null && !verifiedClaims.isExpired(clock.millis()))
+        {
+            return verifiedClaims.subject;
+        }
 
         JwtClaims jwtClaims = getClaims(token);
         String subject;
@@ -112,19 +172,11 @@ public class SecurityTokenProvider
     
     public JwtClaims getClaims(String token, boolean verify)
     {
-        JwtConsumerBuilder builder = new JwtConsumerBuilder().setRequireSubject()
-                                                             .setRelaxVerificationKeyValidation();
-        if (!verify)
-        {
-            builder.setSkipSignatureVerification().setSkipAllValidators();
-        }
-        else
-        {
-            builder.setVerificationKey(key);
-        }
-        
-        JwtConsumer jwtConsumer = builder.build();
+        return getClaims(token, verify ? verifyingJwtConsumer : NON_VERIFYING_JWT_CONSUMER);
+    }
 
+    private JwtClaims getClaims(String token, JwtConsumer jwtConsumer)
+    {
         JwtClaims jwtClaims;
         try
         {
@@ -150,18 +202,9 @@ public class SecurityTokenProvider
                             String targetSubject,
                             Map<String, String> claimMap)
     {
-        JwtClaims jwtClaims = getClaims(token, true);
-        String subject;
-        try
-        {
-            subject = jwtClaims.getSubject();
-        }
-        catch (MalformedClaimException e)
-        {
-            throw new InvalidTokenException(String.format(MESSAGE_INVALID_JWT, token), e);
-        }
+        VerifiedClaims verifiedClaims = getVerifiedClaims(token);
 
-        if (!targetSubject.equals(subject))
+        if (!targetSubject.equals(verifiedClaims.subject))
         {
             throw new InvalidTokenException(String.format(MESSAGE_INVALID_JWT, token));
         }
@@ -171,7 +214,7 @@ public class SecurityTokenProvider
         {
             claimMatch = claimMap.entrySet()
                                  .stream()
-                                 .allMatch((e) -> e.getValue().equals(jwtClaims.getClaimValue(e.getKey())));
+                                 .allMatch((e) -> e.getValue().equals(verifiedClaims.claims.get(e.getKey())));
         }
         catch (Exception e)
         {
@@ -184,4 +227,84 @@ public class SecurityTokenProvider
         }
     }
 
+    private VerifiedClaims getVerifiedClaims(String token)
+    {
+        String digest = digest(token);
+
+        VerifiedClaims result = verifiedTokens.getIfPresent(digest);
+        if (result != null && !result.isExpired(clock.millis()))
+        {
+            return result;
+        }
+
+        JwtConsumer jwtConsumer = verifyingJwtConsumer;
+        JwtClaims jwtClaims = getClaims(token, jwtConsumer);
+        try
+        {
+            result = new VerifiedClaims(jwtClaims);
+        }
+        catch (MalformedClaimException e)
+        {
+            throw new InvalidTokenException(String.format(MESSAGE_INVALID_JWT, token), e);
+        }
+        // The expiration time is checked by the JWT consumer too, but against the system time.
+        if (result.isExpired(clock.millis()))
+        {
+            throw new ExpiredTokenException(String.format(MESSAGE_INVALID_JWT, token));
+        }
+
+        verifiedTokens.put(digest, result);
+        // The token which was verified by the previous key should not stay cached.
+        if (jwtConsumer != verifyingJwtConsumer)
+        {
+            verifiedTokens.invalidate(digest);
+        }
+
+        return result;
+    }
+
+    private static String digest(String token)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(digest);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The immutable claims of a verified token.
+     */
+    private static class VerifiedClaims
+    {
+
+        private final String subject;
+
+        private final Map<String, Object> claims;
+
+        private final long expirationTimeMillis;
+
+        private VerifiedClaims(JwtClaims jwtClaims)
+            throws MalformedClaimException
+        {
+            this.subject = jwtClaims.getSubject();
+            // The null claims are not kept, they are looked up as the missing ones.
+            this.claims = ImmutableMap.copyOf(Maps.filterValues(jwtClaims.getClaimsMap(), Objects::nonNull));
+
+            NumericDate expirationTime = jwtClaims.getExpirationTime();
+            this.expirationTimeMillis = expirationTime != null ? expirationTime.getValueInMillis() : Long.MAX_VALUE;
+        }
+
+        private boolean isExpired(long currentTimeMillis)
+        {
+            return currentTimeMillis >= expirationTimeMillis;
+        }
+
+    }
+
 }
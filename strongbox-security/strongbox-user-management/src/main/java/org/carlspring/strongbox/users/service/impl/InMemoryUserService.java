@@ -1,12 +1,12 @@
 package org.carlspring.strongbox.users.service.impl;
 
-import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.users.domain.User;
 import org.carlspring.strongbox.users.domain.Users;
 import org.carlspring.strongbox.users.dto.UserAccessModelDto;
 import org.carlspring.strongbox.users.dto.UserDto;
 import org.carlspring.strongbox.users.dto.UserReadContract;
 import org.carlspring.strongbox.users.dto.UsersDto;
+import org.carlspring.strongbox.users.security.AuthenticationCache;
 import org.carlspring.strongbox.users.security.AuthoritiesProvider;
 import org.carlspring.strongbox.users.security.SecurityTokenProvider;
 import org.carlspring.strongbox.users.service.UserService;
@@ -25,7 +25,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jose4j.lang.JoseException;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
@@ -46,6 +45,9 @@ public class InMemoryUserService implements UserService
     @Inject
     private AuthoritiesProvider authoritiesProvider;
 
+    @Inject
+    protected AuthenticationCache authenticationCache;
+
     @Override
     public Users findAll()
     {
@@ -139,7 +141,6 @@ public class InMemoryUserService implements UserService
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheName.User.AUTHENTICATIONS, key = "#p0.username")
     public void save(final UserReadContract user)
     {
         modifyInLock(users -> {
@@ -158,6 +159,8 @@ public class InMemoryUserService implements UserService
 
             users.putIfAbsent(user.getUsername(), u);
         });
+
+        authenticationCache.evict(user.getUsername());
     }
 
     @Override
@@ -166,6 +169,8 @@ public class InMemoryUserService implements UserService
         modifyInLock(users -> {
             users.remove(username);
         });
+
+        authenticationCache.evict(username);
     }
 
     @Override
@@ -190,6 +195,8 @@ public class InMemoryUserService implements UserService
             Optional.ofNullable(users.get(userToUpdate.getUsername()))
                     .ifPresent(user -> user.setPassword(userToUpdate.getPassword()));
         });
+
+        authenticationCache.evict(userToUpdate.getUsername());
     }
 
     @Override
@@ -215,6 +222,8 @@ public class InMemoryUserService implements UserService
                         updateSecurityToken(user, userToUpdate.getSecurityTokenKey());
                     });
         });
+
+        authenticationCache.evict(userToUpdate.getUsername());
     }
 
     private void updateSecurityToken(final UserDto user,
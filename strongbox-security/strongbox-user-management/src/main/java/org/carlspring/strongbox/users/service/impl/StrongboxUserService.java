@@ -81,6 +81,8 @@ public class StrongboxUserService
             users.clear();
             newUsers.getUsers().stream().forEach(u -> users.put(u.getUsername(), u));
         });
+
+        authenticationCache.evictAll();
     }
 
     @Documented
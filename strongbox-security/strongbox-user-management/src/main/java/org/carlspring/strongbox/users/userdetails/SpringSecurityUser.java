@@ -2,6 +2,7 @@ package org.carlspring.strongbox.users.userdetails;
 
 import java.util.Collection;
 
+import org.carlspring.strongbox.users.domain.PathPrivilegesTrie;
 import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +23,8 @@ public class SpringSecurityUser
 
     private UserAccessModelReadContract accessModel;
 
+    private PathPrivilegesTrie pathPrivileges;
+
     private String url;
 
     private String securityKey;
@@ -96,6 +99,15 @@ public class SpringSecurityUser
     public void setAccessModel(UserAccessModelReadContract accessModel)
     {
         this.accessModel = accessModel;
+        this.pathPrivileges = accessModel != null ? new PathPrivilegesTrie(accessModel) : null;
+    }
+
+    /**
+     * @return the path privileges of the {@link #getAccessModel()}, which are compiled when the access model is set
+     */
+    public PathPrivilegesTrie getPathPrivileges()
+    {
+        return pathPrivileges;
     }
 
     public String getUrl()
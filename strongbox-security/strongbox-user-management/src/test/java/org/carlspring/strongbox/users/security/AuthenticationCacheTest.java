@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.users.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthenticationCacheTest
+{
+
+    private static final long TIME_TO_LIVE_SECONDS = 10;
+
+    private TestTicker ticker;
+
+    private AuthenticationCache authenticationCache;
+
+    @BeforeEach
+    public void setUp()
+    {
+        ticker = new TestTicker();
+        authenticationCache = new AuthenticationCache(100, TIME_TO_LIVE_SECONDS, ticker);
+    }
+
+    @Test
+    public void testCachedCredentialsAreBoundToUsernameAndPassword()
+    {
+        assertFalse(authenticationCache.contains("user", "password"));
+
+        authenticationCache.put("user", "password");
+
+        assertTrue(authenticationCache.contains("user", "password"));
+        assertFalse(authenticationCache.contains("user", "another-password"));
+        assertFalse(authenticationCache.contains("admin", "password"));
+        assertFalse(authenticationCache.contains("userp", "assword"));
+
+        assertEquals(1, authenticationCache.getHits());
+        assertEquals(4, authenticationCache.getMisses());
+    }
+
+    @Test
+    public void testCachedCredentialsExpire()
+    {
+        authenticationCache.put("user", "password");
+
+        ticker.advance(TimeUnit.SECONDS.toNanos(TIME_TO_LIVE_SECONDS) - 1);
+        assertTrue(authenticationCache.contains("user", "password"));
+
+        ticker.advance(1);
+        assertFalse(authenticationCache.contains("user", "password"));
+    }
+
+    @Test
+    public void testCachedCredentialsAreEvictedByUsername()
+    {
+        authenticationCache.put("user", "password");
+        authenticationCache.put("user", "another-password");
+        authenticationCache.put("admin", "password");
+
+        authenticationCache.evict("user");
+
+        assertFalse(authenticationCache.contains("user", "password"));
+        assertFalse(authenticationCache.contains("user", "another-password"));
+        assertTrue(authenticationCache.contains("admin", "password"));
+
+        authenticationCache.evictAll();
+
+        assertFalse(authenticationCache.contains("admin", "password"));
+    }
+
+    private static class TestTicker
+            extends Ticker
+    {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        void advance(long duration)
+        {
+            nanos.addAndGet(duration);
+        }
+
+        @Override
+        public long read()
+        {
+            return nanos.get();
+        }
+
+    }
+
+}
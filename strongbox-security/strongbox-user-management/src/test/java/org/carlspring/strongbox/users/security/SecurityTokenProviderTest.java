@@ -0,0 +1,145 @@
+package org.carlspring.strongbox.users.security;
+
+import org.carlspring.strongbox.security.exceptions.ExpiredTokenException;
+import org.carlspring.strongbox.security.exceptions.InvalidTokenException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SecurityTokenProviderTest
+{
+
+    private static final Map<String, String> CLAIMS = Collections.singletonMap("security-token-key", "key");
+
+    private TestClock clock;
+
+    private SecurityTokenProvider securityTokenProvider;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        clock = new TestClock();
+        securityTokenProvider = new SecurityTokenProvider(100, clock);
+        securityTokenProvider.init("secret");
+    }
+
+    @Test
+    public void testVerifiedTokenIsCheckedAgainstSubjectAndClaims()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", CLAIMS, null);
+
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+
+        assertEquals("user", securityTokenProvider.getSubject(token));
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(token, "admin", CLAIMS));
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(token, "user",
+                                                             Collections.singletonMap("security-token-key",
+                                                                                      "another-key")));
+    }
+
+    @Test
+    public void testVerifiedTokenExpires()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", CLAIMS, 60);
+
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+
+        // The expiration time is in whole seconds.
+        clock.advance(TimeUnit.SECONDS.toMillis(30));
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+
+        clock.advance(TimeUnit.SECONDS.toMillis(30));
+        assertThrows(ExpiredTokenException.class,
+                     () -> securityTokenProvider.verifyToken(token, "user", CLAIMS));
+    }
+
+    @Test
+    public void testVerifiedTokenIsInvalidAfterKeyRotation()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", CLAIMS, null);
+
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+
+        securityTokenProvider.init("another-secret");
+
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(token, "user", CLAIMS));
+
+        String newToken = securityTokenProvider.getToken("user", CLAIMS, null);
+
+        securityTokenProvider.verifyToken(newToken, "user", CLAIMS);
+    }
+
+    @Test
+    public void testTamperedTokenIsInvalid()
+        throws Exception
+    {
+        String token = securityTokenProvider.getToken("user", CLAIMS, null);
+
+        securityTokenProvider.verifyToken(token, "user", CLAIMS);
+
+        String otherToken = securityTokenProvider.getToken("admin", CLAIMS, null);
+        String[] parts = token.split("\\.");
+        String[] otherParts = otherToken.split("\\.");
+        String tamperedToken = parts[0] + "." + otherParts[1] + "." + parts[2];
+
+        assertThrows(InvalidTokenException.class,
+                     () -> securityTokenProvider.verifyToken(tamperedToken, "admin", CLAIMS));
+    }
+
+    private static class TestClock
+            extends Clock
+    {
+
+        private final AtomicLong millis = new AtomicLong(System.currentTimeMillis());
+
+        void advance(long duration)
+        {
+            millis.addAndGet(duration);
+        }
+
+        @Override
+        public long millis()
+        {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            return this;
+        }
+
+    }
+
+}
@@ -4,6 +4,7 @@ import org.carlspring.strongbox.authorization.dto.PrivilegeDto;
 import org.carlspring.strongbox.config.DataServiceConfig;
 import org.carlspring.strongbox.config.UsersConfig;
 import org.carlspring.strongbox.users.domain.AccessModel;
+import org.carlspring.strongbox.users.domain.PathPrivilegesTrie;
 import org.carlspring.strongbox.users.domain.User;
 import org.carlspring.strongbox.users.dto.UserDto;
 import org.carlspring.strongbox.users.dto.UserAccessModelDto;
@@ -11,6 +12,7 @@ import org.carlspring.strongbox.users.dto.UserStorageDto;
 import org.carlspring.strongbox.users.dto.UserPathPrivilegesDto;
 import org.carlspring.strongbox.users.dto.UserRepositoryDto;
 import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
+import org.carlspring.strongbox.users.security.AuthenticationCache;
 import org.carlspring.strongbox.users.service.impl.StrongboxUserService.StrongboxUserServiceQualifier;
 
 import javax.inject.Inject;
@@ -25,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +46,9 @@ public class UserServiceTest
     @StrongboxUserServiceQualifier
     UserService userService;
 
+    @Inject
+    AuthenticationCache authenticationCache;
+
     @BeforeEach
     public void setup()
     {
@@ -355,6 +361,28 @@ public class UserServiceTest
         assertTrue(privileges.contains("ARTIFACTS_DEPLOY"));
         assertTrue(privileges.contains("ARTIFACTS_DELETE"));
         assertTrue(privileges.contains("ARTIFACTS_COPY"));
+
+        // Make sure that the compiled path privileges are the same
+        PathPrivilegesTrie pathPrivileges = new PathPrivilegesTrie(accessModel);
+        for (String url : Arrays.asList("/storages/storage0/releases/org/carlspring/foo/1.1/foo-1.1.jar",
+                                        "/storages/storage0/releases/com/carlspring/foo/1.2/foo-1.2.jar",
+                                        "/storages/storage0/releases/com/mycorp/foo/1.2/foo-1.2.jar",
+                                        "/storages/storage0/releases/com/mycorp/",
+                                        "/storages/storage0/releases/com/mycorp",
+                                        "/storages/storage0/releases",
+                                        "/storages/storage0/snapshots/com/mycorp",
+                                        "/storages/storage1/releases/com/mycorp"))
+        {
+            assertEquals(new HashSet<>(AccessModel.getPathPrivileges(accessModel, url)),
+                         pathPrivileges.getPrivileges(url),
+                         url);
+            assertEquals(pathPrivileges.getPrivileges(url),
+                         pathPrivileges.getAuthorities(url)
+                                       .stream()
+                                       .map(GrantedAuthority::getAuthority)
+                                       .collect(Collectors.toSet()),
+                         url);
+        }
     }
 
     @Test
@@ -385,4 +413,36 @@ public class UserServiceTest
                    "User " + testUserName + " is still present in the database. Delete operation failed!");
     }
 
+    @Test
+    public void testCachedAuthenticationsEvictedOnPasswordChangeAndDelete()
+    {
+        String testUserName = "test-authentication-cache-user";
+
+        UserDto userAdd = new UserDto();
+        userAdd.setEnabled(true);
+        userAdd.setUsername(testUserName);
+        userAdd.setPassword("test-password");
+
+        userService.save(userAdd);
+
+        authenticationCache.put(testUserName, "test-password");
+        authenticationCache.put("deployer", "password");
+
+        UserDto userUpdate = new UserDto();
+        userUpdate.setUsername(testUserName);
+        userUpdate.setPassword("another-password");
+
+        userService.updatePassword(userUpdate);
+
+        assertFalse(authenticationCache.contains(testUserName, "test-password"));
+        assertTrue(authenticationCache.contains("deployer", "password"));
+
+        authenticationCache.put(testUserName, "another-password");
+
+        userService.delete(testUserName);
+
+        assertFalse(authenticationCache.contains(testUserName, "another-password"));
+        assertTrue(authenticationCache.contains("deployer", "password"));
+    }
+
 }
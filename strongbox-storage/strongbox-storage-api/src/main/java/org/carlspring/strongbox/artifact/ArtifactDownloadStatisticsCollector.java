@@ -0,0 +1,259 @@
+package org.carlspring.strongbox.artifact;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accumulates the {@link ArtifactEntry} download statistics in memory and periodically flushes them into the database
+ * within a single transaction, instead of updating the {@link ArtifactEntry} on each download.
+ * <br>
+ * The downloads are recorded by the artifact path, so the {@link ArtifactEntry}s are only looked up once per flush. The
+ * statistics are applied to the entities, so the concurrent modification of the {@link ArtifactEntry} is detected by
+ * its version, and the statistics are flushed again next time.
+ * <br>
+ * The statistics which were not flushed yet are lost on crash, so the loss is bounded by the flush interval (and by the
+ * number of pending entries, which triggers an early flush).
+ */
+@Component
+public class ArtifactDownloadStatisticsCollector
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadStatisticsCollector.class);
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.artifact.downloadStatistics.flushIntervalSeconds:10}")
+    private int flushIntervalSeconds;
+
+    @Value("${strongbox.artifact.downloadStatistics.maxPendingEntries:10000}")
+    private int maxPendingEntries;
+
+    private final ConcurrentMap<DownloadedPath, DownloadStatistics> pendingStatistics = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+        flushQuietly();
+    }
+
+    public void recordDownload(String storageId,
+                               String repositoryId,
+                               String path)
+    {
+        record(new DownloadedPath(storageId, repositoryId, path), new DownloadStatistics(1, System.currentTimeMillis()));
+
+        if (pendingStatistics.size() >= maxPendingEntries && earlyFlushScheduled.compareAndSet(false, true))
+        {
+            executor.execute(() -> {
+                earlyFlushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void record(DownloadedPath downloadedPath,
+                        DownloadStatistics downloadStatistics)
+    {
+        pendingStatistics.merge(downloadedPath, downloadStatistics, DownloadStatistics::add);
+    }
+
+    public int getPendingEntries()
+    {
+        return pendingStatistics.size();
+    }
+
+    /**
+     * Writes all the pending statistics into the database. This is done periodically, but also can be forced (in tests,
+     * for example).
+     *
+     * @return the number of flushed {@link ArtifactEntry} statistics
+     */
+    public synchronized int flush()
+    {
+        if (pendingStatistics.isEmpty())
+        {
+            return 0;
+        }
+
+        Map<DownloadedPath, DownloadStatistics> batch = new HashMap<>();
+        List<DownloadedPath> downloadedPaths = new ArrayList<>(pendingStatistics.keySet());
+        for (DownloadedPath downloadedPath : downloadedPaths)
+        {
+            // The entry is removed atomically, so the concurrent downloads will be recorded into the new entry.
+            DownloadStatistics downloadStatistics = pendingStatistics.remove(downloadedPath);
+            if (downloadStatistics != null)
+            {
+                batch.put(downloadedPath, downloadStatistics);
+            }
+        }
+
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(t -> {
+                batch.forEach(this::updateArtifactEntry);
+                return null;
+            });
+        }
+        catch (RuntimeException e)
+        {
+            // The statistics should be flushed next time.
+            batch.forEach(this::record);
+
+            throw e;
+        }
+
+        logger.debug(String.format("Flushed download statistics for [%s] artifacts.", batch.size()));
+
+        return batch.size();
+    }
+
+    private void updateArtifactEntry(DownloadedPath downloadedPath,
+                                     DownloadStatistics downloadStatistics)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(downloadedPath.storageId,
+                                                                           downloadedPath.repositoryId,
+                                                                           downloadedPath.path);
+        if (artifactEntry == null)
+        {
+            logger.debug(String.format("No [%s] found for downloaded path [%s].",
+                                       ArtifactEntry.class.getSimpleName(),
+                                       downloadedPath));
+
+            return;
+        }
+
+        Date lastUsed = new Date(downloadStatistics.lastUsed);
+        if (artifactEntry.getLastUsed() == null || artifactEntry.getLastUsed().before(lastUsed))
+        {
+            artifactEntry.setLastUsed(lastUsed);
+        }
+        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + downloadStatistics.downloadCount);
+
+        artifactEntryService.save(artifactEntry);
+    }
+
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to flush artifact download statistics.", e);
+        }
+    }
+
+    private static class DownloadedPath
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String path;
+
+        private DownloadedPath(String storageId,
+                               String repositoryId,
+                               String path)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof DownloadedPath))
+            {
+                return false;
+            }
+
+            DownloadedPath that = (DownloadedPath) o;
+
+            return Objects.equals(storageId, that.storageId) &&
+                   Objects.equals(repositoryId, that.repositoryId) &&
+                   Objects.equals(path, that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(storageId, repositoryId, path);
+        }
+
+        @Override
+        public String toString()
+        {
+            return storageId + ":" + repositoryId + ":" + path;
+        }
+
+    }
+
+    private static class DownloadStatistics
+    {
+
+        private final int downloadCount;
+
+        private final long lastUsed;
+
+        private DownloadStatistics(int downloadCount,
+                                   long lastUsed)
+        {
+            this.downloadCount = downloadCount;
+            this.lastUsed = lastUsed;
+        }
+
+        private DownloadStatistics add(DownloadStatistics other)
+        {
+            return new DownloadStatistics(downloadCount + other.downloadCount, Math.max(lastUsed, other.lastUsed));
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes all the bytes, which are read from the source stream, to the target stream, so that the archive can be listed
+ * by the {@link ArchiveListingFunction} while it's being stored, without reading the stored archive again.
+ * <br>
+ * The bytes which are skipped by the archive readers are read and written as well, and the rest of the source stream
+ * is written on {@link #close()}, so every byte of the source stream is read once and written once, in order. The
+ * source and the target streams are not closed.
+ */
+public class ArchiveListingInputStream
+        extends InputStream
+{
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream source;
+
+    private final OutputStream target;
+
+    private long byteCount;
+
+    private IOException writeException;
+
+    private boolean closed;
+
+    public ArchiveListingInputStream(InputStream source,
+                                     OutputStream target)
+    {
+        this.source = source;
+        this.target = target;
+    }
+
+    @Override
+    public int read()
+        throws IOException
+    {
+        int result = source.read();
+        if (result != -1)
+        {
+            write(new byte[]{ (byte) result }, 0, 1);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b,
+                    int off,
+                    int len)
+        throws IOException
+    {
+        int result = source.read(b, off, len);
+        if (result > 0)
+        {
+            write(b, off, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public long skip(long n)
+        throws IOException
+    {
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(n, 0))];
+
+        long result = 0;
+        while (result < n)
+        {
+            int count = read(buffer, 0, (int) Math.min(buffer.length, n - result));
+            if (count == -1)
+            {
+                break;
+            }
+            result += count;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int available()
+        throws IOException
+    {
+        return source.available();
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Writes the rest of the source stream to the target stream.
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (read(buffer, 0, buffer.length) != -1)
+        {
+            // write the rest of the stream
+        }
+    }
+
+    /**
+     * @return the number of the bytes written to the target stream
+     */
+    public long getByteCount()
+    {
+        return byteCount;
+    }
+
+    /**
+     * @return the exception, which was thrown by the target stream, so that the archive listing failures can be told
+     *         apart from the storage failures
+     */
+    public IOException getWriteException()
+    {
+        return writeException;
+    }
+
+    private void write(byte[] b,
+                       int off,
+                       int len)
+        throws IOException
+    {
+        try
+        {
+            target.write(b, off, len);
+        }
+        catch (IOException e)
+        {
+            writeException = e;
+            throw e;
+        }
+        byteCount += len;
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Set;
+
+/**
+ * The {@link ArchiveListingFunction} of a single archive type, which is able to list the archive from a stream, so
+ * that the archive can be listed while it's being stored.
+ */
+@FunctionalInterface
+public interface ArchiveStreamListingFunction
+        extends ArchiveListingFunction
+{
+
+    /**
+     * Lists the filenames of the archive, which is read from the stream.
+     */
+    Set<String> listFilenames(InputStream is)
+            throws IOException;
+
+    @Override
+    default Set<String> listFilenames(RepositoryPath path)
+            throws IOException
+    {
+        try (InputStream is = Files.newInputStream(path))
+        {
+            return listFilenames(is);
+        }
+    }
+
+}
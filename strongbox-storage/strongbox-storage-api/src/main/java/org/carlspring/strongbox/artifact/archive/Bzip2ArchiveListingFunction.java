@@ -5,7 +5,6 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -17,17 +16,16 @@ import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
  * @author Przemyslaw Fusik
  */
 public enum Bzip2ArchiveListingFunction
-        implements ArchiveListingFunction
+        implements ArchiveStreamListingFunction
 {
 
     INSTANCE;
 
     @Override
-    public Set<String> listFilenames(final RepositoryPath path)
+    public Set<String> listFilenames(final InputStream is)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
-             BufferedInputStream bis = new BufferedInputStream(is);
+        try (BufferedInputStream bis = new BufferedInputStream(is);
              BZip2CompressorInputStream bzIs = new BZip2CompressorInputStream(bis);
              ArchiveInputStream tarIs = new TarArchiveInputStream(bzIs))
         {
@@ -14,9 +14,9 @@ public class CompositeArchiveListingFunction
         implements ArchiveListingFunction
 {
 
-    private final Set<ArchiveListingFunction> leafs;
+    private final Set<ArchiveStreamListingFunction> leafs;
 
-    public CompositeArchiveListingFunction(final Set<ArchiveListingFunction> leafs)
+    public CompositeArchiveListingFunction(final Set<ArchiveStreamListingFunction> leafs)
     {
         Objects.requireNonNull(leafs, "Set of archive listing functions should not be null");
         this.leafs = leafs;
@@ -27,7 +27,7 @@ public class CompositeArchiveListingFunction
             throws IOException
     {
         final Set<String> result = new HashSet<>();
-        for (final ArchiveListingFunction leaf : leafs)
+        for (final ArchiveStreamListingFunction leaf : leafs)
         {
             if (leaf.supports(path))
             {
@@ -37,6 +37,17 @@ public class CompositeArchiveListingFunction
         return result;
     }
 
+    /**
+     * The archive type can't be resolved by a stream, so a stream is listed by the leaf function, which supports the
+     * path of the archive.
+     *
+     * @return the first leaf function, which supports the path, or <code>null</code>
+     */
+    public ArchiveStreamListingFunction getLeaf(final RepositoryPath path)
+    {
+        return leafs.stream().filter(leaf -> leaf.supports(path)).findFirst().orElse(null);
+    }
+
     @Override
     public boolean supports(final RepositoryPath path)
     {
@@ -37,6 +37,11 @@ public class ArtifactEntry
                            CascadeType.REFRESH })
     private AbstractArtifactCoordinates artifactCoordinates;
 
+    /**
+     * The lower-cased <code>name=value</code> coordinate keys, which are indexed for the exact coordinate search.
+     */
+    private Set<String> coordinateSearchKeys;
+
     @ManyToMany(targetEntity = ArtifactTagEntry.class)
     private Set<ArtifactTag> tagSet;
 
@@ -87,6 +92,41 @@ public class ArtifactEntry
     public void setArtifactCoordinates(ArtifactCoordinates artifactCoordinates)
     {
         this.artifactCoordinates = (AbstractArtifactCoordinates) artifactCoordinates;
+        this.coordinateSearchKeys = calculateCoordinateSearchKeys(artifactCoordinates);
+    }
+
+    public Set<String> getCoordinateSearchKeys()
+    {
+        return coordinateSearchKeys;
+    }
+
+    protected void setCoordinateSearchKeys(Set<String> coordinateSearchKeys)
+    {
+        this.coordinateSearchKeys = coordinateSearchKeys;
+    }
+
+    public static String calculateCoordinateSearchKey(String coordinate,
+                                                      String value)
+    {
+        return coordinate + "=" + value.toLowerCase();
+    }
+
+    private static Set<String> calculateCoordinateSearchKeys(ArtifactCoordinates artifactCoordinates)
+    {
+        if (artifactCoordinates == null)
+        {
+            return null;
+        }
+
+        Set<String> result = new HashSet<>();
+        ((Map<String, String>) artifactCoordinates.getCoordinates()).forEach((coordinate, value) -> {
+            if (value != null)
+            {
+                result.add(calculateCoordinateSearchKey(coordinate, value));
+            }
+        });
+
+        return result;
     }
 
     public Set<ArtifactTag> getTagSet()
@@ -18,6 +18,7 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.Selector;
+import org.carlspring.strongbox.domain.ArtifactArchiveListing;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
@@ -219,9 +220,26 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         repositoryPath.artifactEntry = null;
         if (artifactEntry == null)
         {
+            // The entry of the redeployed artifact is kept, but it should describe the new content.
+            ArtifactEntry storedArtifactEntry = repositoryPath.getArtifactEntry();
+            if (storedArtifactEntry != null)
+            {
+                setContentAttributes(storedArtifactEntry, ctx);
+                artifactEntryService.save(storedArtifactEntry);
+            }
+
             return;
         }
         
+        setContentAttributes(artifactEntry, ctx);
+
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
+        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
+    }
+
+    private void setContentAttributes(ArtifactEntry artifactEntry,
+                                      RepositoryStreamWriteContext ctx)
+    {
         CountingOutputStream cos = StreamUtils.findSource(CountingOutputStream.class, ctx.getStream());
         artifactEntry.setSizeInBytes(cos.getByteCount());
 
@@ -229,8 +247,14 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         artifactEntry.getChecksums().clear();
         artifactEntry.getChecksums().putAll(los.getDigestMap());
 
-        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
-        repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
+        // The listing of the previously stored content is replaced, even if the new content could not be listed.
+        ArtifactArchiveListing artifactArchiveListing = null;
+        if (los.getArchiveFilenames() != null)
+        {
+            artifactArchiveListing = new ArtifactArchiveListing();
+            artifactArchiveListing.setFilenames(los.getArchiveFilenames());
+        }
+        artifactEntry.setArtifactArchiveListing(artifactArchiveListing);
     }
 
     protected ArtifactEntry provideArtifactEntry(RepositoryPath repositoryPath) throws IOException
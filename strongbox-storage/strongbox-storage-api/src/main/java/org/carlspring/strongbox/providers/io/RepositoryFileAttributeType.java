@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.providers.io;
 
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 public enum RepositoryFileAttributeType
 {
@@ -27,6 +28,16 @@ public enum RepositoryFileAttributeType
     
     STORAGE_ID("storageId");
 
+    private static final Map<String, RepositoryFileAttributeType> NAMES = new HashMap<>();
+
+    static
+    {
+        for (RepositoryFileAttributeType attributeType : values())
+        {
+            NAMES.put(attributeType.getName(), attributeType);
+        }
+    }
+
     private String name;
 
     private RepositoryFileAttributeType(String name)
@@ -41,10 +52,13 @@ public enum RepositoryFileAttributeType
 
     public static RepositoryFileAttributeType of(String s)
     {
-        return Arrays.stream(values())
-                     .filter(e -> e.getName().equals(s))
-                     .findFirst()
-                     .orElseThrow(() -> new IllegalArgumentException(s));
+        RepositoryFileAttributeType result = NAMES.get(s);
+        if (result == null)
+        {
+            throw new IllegalArgumentException(s);
+        }
+
+        return result;
     }
 
 }
@@ -0,0 +1,91 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded node local cache of the {@link RepositoryFileAttributeType}s, which depend only on the path itself and
+ * don't change while the file exists, so that they are shared across the {@link RepositoryPath} instances (and the
+ * requests).
+ * <br>
+ * The {@link RepositoryFileAttributeType#COORDINATES} are not cached here, because the coordinates are mutable
+ * entities, which are stored along with the artifact entries.
+ */
+@Component
+public class RepositoryFileAttributesCache
+{
+
+    private static final Set<RepositoryFileAttributeType> CACHEABLE_ATTRIBUTES = Collections.unmodifiableSet(
+            EnumSet.of(RepositoryFileAttributeType.ARTIFACT,
+                       RepositoryFileAttributeType.CHECKSUM,
+                       RepositoryFileAttributeType.METADATA));
+
+    private final Map<RepositoryFileAttributeType, Cache<URI, Object>> caches = new EnumMap<>(
+            RepositoryFileAttributeType.class);
+
+    public RepositoryFileAttributesCache(@Value("${strongbox.repositoryFileAttributes.cache.size:100000}") long maximumSize)
+    {
+        for (RepositoryFileAttributeType attributeType : CACHEABLE_ATTRIBUTES)
+        {
+            caches.put(attributeType, CacheBuilder.newBuilder()
+                                                  .maximumSize(maximumSize)
+                                                  .expireAfterAccess(1, TimeUnit.HOURS)
+                                                  .build());
+        }
+    }
+
+    public static boolean isCacheable(RepositoryFileAttributeType attributeType)
+    {
+        return CACHEABLE_ATTRIBUTES.contains(attributeType);
+    }
+
+    /**
+     * @return the cached attribute value, or <code>null</code> if it's not cached (or not cacheable)
+     */
+    public Object get(RepositoryPath path,
+                      RepositoryFileAttributeType attributeType)
+    {
+        Cache<URI, Object> cache = caches.get(attributeType);
+
+        return cache == null ? null : cache.getIfPresent(path.toUri());
+    }
+
+    public void put(RepositoryPath path,
+                    RepositoryFileAttributeType attributeType,
+                    Object value)
+    {
+        Cache<URI, Object> cache = caches.get(attributeType);
+        if (cache == null || value == null)
+        {
+            return;
+        }
+
+        cache.put(path.toUri(), value);
+    }
+
+    public void invalidate(RepositoryPath path)
+    {
+        URI uri = path.toUri();
+        for (Cache<URI, Object> cache : caches.values())
+        {
+            cache.invalidate(uri);
+        }
+    }
+
+    public long size()
+    {
+        return caches.values().stream().mapToLong(Cache::size).sum();
+    }
+
+}
@@ -10,11 +10,10 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 /**
  * This utility class contains common methods to work with {@link RepositoryPath}
@@ -31,31 +30,31 @@ public abstract class RepositoryFiles
     public static Boolean isChecksum(RepositoryPath path)
         throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.CHECKSUM));
+        return path.getAttribute(RepositoryFileAttributeType.CHECKSUM);
     }
 
     public static Boolean isMetadata(RepositoryPath path)
         throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.METADATA));
+        return path.getAttribute(RepositoryFileAttributeType.METADATA);
     }
 
     public static Boolean isTrash(RepositoryPath path)
         throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.TRASH));
+        return path.getAttribute(RepositoryFileAttributeType.TRASH);
     }
 
     public static Boolean isTemp(RepositoryPath path)
         throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.TEMP));
+        return path.getAttribute(RepositoryFileAttributeType.TEMP);
     }
     
     public static Boolean isArtifact(RepositoryPath path)
         throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.ARTIFACT));
+        return path.getAttribute(RepositoryFileAttributeType.ARTIFACT);
     }
 
     public static boolean wasModifiedAfter(RepositoryPath path,
@@ -69,20 +68,19 @@ public abstract class RepositoryFiles
     public static Boolean hasExpired(RepositoryPath path)
             throws IOException
     {
-        return (Boolean) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.EXPIRED));
+        return path.getAttribute(RepositoryFileAttributeType.EXPIRED);
     }
 
     public static ArtifactCoordinates readCoordinates(RepositoryPath path)
         throws IOException
     {
-        return (ArtifactCoordinates) Files.getAttribute(path,
-                                                        formatAttributes(RepositoryFileAttributeType.COORDINATES));
+        return path.getAttribute(RepositoryFileAttributeType.COORDINATES);
     }
 
     public static URL readResourceUrl(RepositoryPath path)
         throws IOException
     {
-        return (URL) Files.getAttribute(path, formatAttributes(RepositoryFileAttributeType.RESOURCE_URL));
+        return path.getAttribute(RepositoryFileAttributeType.RESOURCE_URL);
     }
     
     public static String formatAttributes(RepositoryFileAttributeType... attributeTypes)
@@ -109,12 +107,16 @@ public abstract class RepositoryFiles
         String attributesLocal = attributes.replace(schemePrefix, "").trim();
         if (attributesLocal.equals("*"))
         {
-            return Arrays.stream(RepositoryFileAttributeType.values())
-                         .collect(Collectors.toSet());
+            return EnumSet.allOf(RepositoryFileAttributeType.class);
         }
-        return Arrays.stream(attributesLocal.split(","))
-                     .map(e -> RepositoryFileAttributeType.of(e))
-                     .collect(Collectors.toSet());
+
+        Set<RepositoryFileAttributeType> result = EnumSet.noneOf(RepositoryFileAttributeType.class);
+        for (String attribute : attributesLocal.split(","))
+        {
+            result.add(RepositoryFileAttributeType.of(attribute));
+        }
+
+        return result;
     }
 
     public static URI relativizeUri(RepositoryPath p)
@@ -17,7 +17,7 @@ import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchEvent.Modifier;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -40,7 +40,7 @@ public class RepositoryPath
     
     protected ArtifactEntry artifactEntry;
     
-    protected Map<RepositoryFileAttributeType, Object> cachedAttributes = new HashMap<>();
+    protected Map<RepositoryFileAttributeType, Object> cachedAttributes = new EnumMap<>(RepositoryFileAttributeType.class);
     
     protected URI uri;
     
@@ -63,6 +63,16 @@ public class RepositoryPath
         return artifactEntry;
     }
 
+    /**
+     * Resolves the strongbox attribute directly, without the <code>"strongbox:xxx"</code> attribute string
+     * formatting and parsing, which is done by {@link java.nio.file.Files#getAttribute(Path, String, LinkOption...)}.
+     */
+    public <T> T getAttribute(RepositoryFileAttributeType attributeType)
+        throws IOException
+    {
+        return getFileSystem().provider().readRepositoryFileAttribute(this, attributeType);
+    }
+
     public LayoutFileSystem getFileSystem()
     {
         return fileSystem;
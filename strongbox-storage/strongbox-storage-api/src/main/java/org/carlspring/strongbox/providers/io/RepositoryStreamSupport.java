@@ -3,7 +3,10 @@ package org.carlspring.strongbox.providers.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -185,6 +188,8 @@ public class RepositoryStreamSupport
             extends ProxyInputStream
     {
 
+        private long transferredBytes;
+
         protected RepositoryInputStream(Path path,
                                         InputStream in) throws IOException
         {
@@ -227,6 +232,46 @@ public class RepositoryStreamSupport
             }
         }
 
+        /**
+         * Transfers the file content into the target channel directly from the {@link FileChannel}, bypassing the
+         * stream decorators (digests, byte ranges), so that the content doesn't need to be copied through the
+         * intermediate buffers where possible.
+         * <br>
+         * Should be used instead of reading the stream, when the digests are not needed.
+         *
+         * @return the number of bytes transferred
+         */
+        public long transferTo(long position,
+                               long count,
+                               WritableByteChannel target)
+            throws IOException
+        {
+            if (transferredBytes == 0 && ((CountingInputStream) in).getByteCount() == 0)
+            {
+                callback.onBeforeRead((RepositoryStreamReadContext) ctx);
+            }
+
+            long transferred = 0;
+            try (FileChannel channel = FileChannel.open(ctx.getPath(), StandardOpenOption.READ))
+            {
+                while (transferred < count)
+                {
+                    long n = channel.transferTo(position + transferred, count - transferred, target);
+                    if (n <= 0)
+                    {
+                        // The file is shorter than expected.
+                        break;
+                    }
+
+                    transferred += n;
+                }
+            }
+
+            transferredBytes += transferred;
+
+            return transferred;
+        }
+
         @Override
         public void close()
             throws IOException
@@ -234,7 +279,7 @@ public class RepositoryStreamSupport
             try
             {
                 super.close();
-                if (((CountingInputStream) in).getByteCount() > 0) 
+                if (((CountingInputStream) in).getByteCount() > 0 || transferredBytes > 0)
                 {
                     callback.onAfterRead((RepositoryStreamReadContext) ctx);
                 }
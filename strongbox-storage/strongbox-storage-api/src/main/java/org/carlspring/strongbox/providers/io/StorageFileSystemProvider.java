@@ -520,8 +520,7 @@ public abstract class StorageFileSystemProvider
 
         RepositoryFileAttributes repositoryFileAttributes = new RepositoryFileAttributes(targetAttributes,
                 getRepositoryFileAttributes((RepositoryPath) path,
-                                            RepositoryFiles.parseAttributes("*")
-                                                           .toArray(new RepositoryFileAttributeType[] {})));
+                                            RepositoryFileAttributeType.values()));
 
         return (A) repositoryFileAttributes;
     }
@@ -585,6 +584,38 @@ public abstract class StorageFileSystemProvider
         return result;
     }
 
+    /**
+     * Typed access to the single strongbox attribute, the resolved value is cached within the {@link RepositoryPath}.
+     *
+     * @see RepositoryPath#getAttribute(RepositoryFileAttributeType)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readRepositoryFileAttribute(RepositoryPath repositoryPath,
+                                             RepositoryFileAttributeType attributeType)
+        throws IOException
+    {
+        Object value = repositoryPath.cachedAttributes.get(attributeType);
+        if (value != null)
+        {
+            return (T) value;
+        }
+
+        value = resolveRepositoryFileAttribute(repositoryPath, attributeType);
+        if (value != null)
+        {
+            repositoryPath.cachedAttributes.put(attributeType, value);
+        }
+
+        return (T) value;
+    }
+
+    protected Object resolveRepositoryFileAttribute(RepositoryPath repositoryPath,
+                                                    RepositoryFileAttributeType attributeType)
+        throws IOException
+    {
+        return getRepositoryFileAttributes(repositoryPath, attributeType).get(attributeType);
+    }
+
     protected abstract Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryRelativePath,
                                                                                             RepositoryFileAttributeType... attributeTypes)
         throws IOException;
@@ -651,11 +682,17 @@ public abstract class StorageFileSystemProvider
     }
 
     
-    private class TempOutputStream extends ProxyOutputStream
+    /**
+     * Writes into the {@link TempRepositoryPath}, which is moved into the original location once the stream has been
+     * closed, unless the write has been aborted.
+     */
+    public class TempOutputStream extends ProxyOutputStream
     {
 
         private TempRepositoryPath path;
 
+        private boolean aborted;
+
         public TempOutputStream(TempRepositoryPath path,
                                 OpenOption... options)
             throws IOException
@@ -673,7 +710,10 @@ public abstract class StorageFileSystemProvider
 
             try
             {
-                moveFromTemporaryDirectory(path);
+                if (!aborted)
+                {
+                    moveFromTemporaryDirectory(path);
+                }
             } 
             finally
             {
@@ -684,6 +724,14 @@ public abstract class StorageFileSystemProvider
             }
         }
 
+        /**
+         * Discards the written content, so that the original location is left as it was.
+         */
+        public void abort()
+        {
+            aborted = true;
+        }
+
     }
 
     private static class LayoutDirectoryStreamFilter implements Filter<Path>
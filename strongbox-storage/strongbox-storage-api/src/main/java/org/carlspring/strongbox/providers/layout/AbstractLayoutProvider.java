@@ -15,7 +15,7 @@ import javax.inject.Inject;
 
 import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.carlspring.strongbox.artifact.ArtifactGroup;
-import org.carlspring.strongbox.artifact.archive.ArchiveListingFunction;
+import org.carlspring.strongbox.artifact.archive.ArchiveStreamListingFunction;
 import org.carlspring.strongbox.artifact.archive.Bzip2ArchiveListingFunction;
 import org.carlspring.strongbox.artifact.archive.CompositeArchiveListingFunction;
 import org.carlspring.strongbox.artifact.archive.TarArchiveListingFunction;
@@ -48,7 +48,7 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractLayoutProvider.class);
 
-    private static final ArchiveListingFunction ARCHIVE_LISTING_FUNCTION = new CompositeArchiveListingFunction(
+    private static final CompositeArchiveListingFunction ARCHIVE_LISTING_FUNCTION = new CompositeArchiveListingFunction(
             ImmutableSet.of(
                 ZipArchiveListingFunction.INSTANCE,
                 TarGzArchiveListingFunction.INSTANCE,
@@ -225,6 +225,12 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
         return Collections.emptySet();
     }
 
+    @Override
+    public ArchiveStreamListingFunction getArchiveListingFunction(final RepositoryPath repositoryPath)
+    {
+        return ARCHIVE_LISTING_FUNCTION.getLeaf(repositoryPath);
+    }
+
     @Override
     public Set<ArtifactGroup> getArtifactGroups(RepositoryPath path)
             throws IOException
@@ -9,9 +9,11 @@ import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -28,6 +30,7 @@ import org.carlspring.strongbox.io.LazyOutputStream;
 import org.carlspring.strongbox.io.LazyOutputStream.OutputStreamSupplier;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributesCache;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
@@ -51,6 +54,8 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
 
     private static final Logger logger = LoggerFactory.getLogger(LayoutFileSystemProvider.class);
 
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
     @Inject
     private ArtifactEventListenerRegistry artifactEventListenerRegistry;
     
@@ -60,6 +65,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private RepositoryFileAttributesCache repositoryFileAttributesCache;
+
 
     public LayoutFileSystemProvider(FileSystemProvider storageFileSystemProvider)
     {
@@ -204,28 +212,37 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     }
 
     
-    protected void writeChecksum(RepositoryPath path,
-                                 boolean force)
+    /**
+     * Writes the checksums of the file, which are calculated in a single pass over the file. The file is not read at
+     * all if all the checksums exist and the regeneration is not forced.
+     */
+    public void writeChecksum(RepositoryPath path,
+                              boolean force)
             throws IOException
     {
+        Set<String> digestAlgorithmSet = path.getFileSystem()
+                                             .getDigestAlgorithmSet()
+                                             .stream()
+                                             .filter(a -> force || !Files.exists(getChecksumPath(path, a)))
+                                             .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (digestAlgorithmSet.isEmpty())
+        {
+            return;
+        }
+
         try (InputStream is = newInputStream(path))
         {
-            byte[] buffer = new byte[1024];
-            while (is.read(buffer) > 0)
+            byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+            while (is.read(buffer) != -1)
             {
                 //calculate checksum while reading the stream
             }
-            Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+            LayoutInputStream layoutInputStream = StreamUtils.findSource(LayoutInputStream.class, is);
             digestAlgorithmSet.stream()
                               .forEach(p ->
                                        {
-                                           String checksum = StreamUtils.findSource(LayoutInputStream.class, is)
-                                                                        .getMessageDigestAsHexadecimalString(p);
+                                           String checksum = layoutInputStream.getMessageDigestAsHexadecimalString(p);
                                            RepositoryPath checksumPath = getChecksumPath(path, p);
-                                           if (Files.exists(checksumPath) && !force)
-                                           {
-                                               return;
-                                           }
                                            try
                                            {
                                                Files.write(checksumPath, checksum.getBytes());
@@ -261,6 +278,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         super.delete(path, force);
         if (!directory)
         {
+            repositoryFileAttributesCache.invalidate(repositoryPath);
             artifactEventListenerRegistry.dispatchArtifactPathDeletedEvent(path);
         }
 
@@ -341,6 +359,33 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         logger.debug("The trash for " + storage.getId() + ":" + repository.getId() + " has been undeleted.");
     }
 
+    @Override
+    protected Object resolveRepositoryFileAttribute(RepositoryPath repositoryPath,
+                                                    RepositoryFileAttributeType attributeType)
+        throws IOException
+    {
+        // The provider can be created outside of the Spring context.
+        if (repositoryFileAttributesCache == null || !RepositoryFileAttributesCache.isCacheable(attributeType))
+        {
+            return super.resolveRepositoryFileAttribute(repositoryPath, attributeType);
+        }
+
+        Object value = repositoryFileAttributesCache.get(repositoryPath, attributeType);
+        if (value != null)
+        {
+            return value;
+        }
+
+        value = super.resolveRepositoryFileAttribute(repositoryPath, attributeType);
+        // The path which doesn't exist yet can become a directory.
+        if (value != null && Files.isRegularFile(repositoryPath))
+        {
+            repositoryFileAttributesCache.put(repositoryPath, attributeType, value);
+        }
+
+        return value;
+    }
+
     @Override
     protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryRelativePath,
                                                                                    RepositoryFileAttributeType... attributeTypes)
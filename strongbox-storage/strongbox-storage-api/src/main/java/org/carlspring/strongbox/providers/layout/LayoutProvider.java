@@ -6,6 +6,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 
 import org.carlspring.strongbox.artifact.ArtifactGroup;
+import org.carlspring.strongbox.artifact.archive.ArchiveStreamListingFunction;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.repository.RepositoryManagementStrategy;
@@ -20,6 +21,12 @@ public interface LayoutProvider<T extends ArtifactCoordinates>
     @Nonnull
     Set<String> listArchiveFilenames(RepositoryPath repositoryPath);
 
+    /**
+     * @return the function, which lists the archive filenames of the path content while it's being stored, or
+     *         <code>null</code> if the path is not a supported archive
+     */
+    ArchiveStreamListingFunction getArchiveListingFunction(RepositoryPath repositoryPath);
+
     Set<String> getDefaultArtifactCoordinateValidators();
 
     String getAlias();
@@ -1,32 +1,50 @@
 package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
-import java.util.Date;
 
-import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.artifact.ArtifactDownloadStatisticsCollector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records the artifact downloads into {@link ArtifactDownloadStatisticsCollector}, which then updates the
+ * {@link ArtifactEntry} download statistics in batches.
+ */
 @Component
-public class ArtifactDownloadingEventHandler extends AsyncArtifactEntryHandler
+public class ArtifactDownloadingEventHandler
 {
 
-    public ArtifactDownloadingEventHandler()
-    {
-        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING);
-    }
+    @Inject
+    private ArtifactDownloadStatisticsCollector artifactDownloadStatisticsCollector;
 
-    @Override
-    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath) throws IOException
+    @AsyncEventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
     {
-        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
-        
-        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + 1);
-        artifactEntry.setLastUsed(new Date());
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING.getType() != event.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        if (!RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
 
-        return artifactEntry;
+        // The ArtifactEntry is looked up once the statistics are flushed, not on each download.
+        Repository repository = repositoryPath.getRepository();
+        artifactDownloadStatisticsCollector.recordDownload(repository.getStorage().getId(),
+                                                           repository.getId(),
+                                                           RepositoryFiles.relativizePath(repositoryPath));
     }
 
 }
@@ -3,15 +3,21 @@ package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -31,6 +37,10 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryFetchExecutor;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryFetchExecutor.MemberFetch;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache.GroupRepositoryPathResolution;
 import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
 import org.carlspring.strongbox.storage.Storage;
@@ -58,6 +68,12 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
 
     @Inject
     private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Inject
+    private GroupRepositoryFetchExecutor groupRepositoryFetchExecutor;
     
     @PersistenceContext
     private EntityManager entityManager;
@@ -88,12 +104,58 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         {
             return result;
         }
-        
-        return resolvePathTraversal(repositoryPath);
+
+        GroupRepositoryPathResolution resolution = groupRepositoryPathResolutionCache.get(repositoryPath);
+        if (resolution.isCached())
+        {
+            if (!resolution.isFound())
+            {
+                return null;
+            }
+
+            result = resolvePathFromResolvedMember(repositoryPath, resolution);
+            if (result != null)
+            {
+                return result;
+            }
+
+            resolution.invalidate();
+        }
+
+        result = resolvePathTraversal(repositoryPath);
+        resolution.resolve(result);
+
+        return result;
+    }
+
+    private RepositoryPath resolvePathFromResolvedMember(RepositoryPath repositoryPath,
+                                                         GroupRepositoryPathResolution resolution)
+        throws IOException
+    {
+        Storage storage = getConfiguration().getStorage(resolution.getStorageId());
+        Repository subRepository = storage == null ? null : storage.getRepository(resolution.getRepositoryId());
+        if (subRepository == null || !subRepository.isInService())
+        {
+            return null;
+        }
+
+        RepositoryPath result = resolvePathFromGroupMemberOrTraverse(repositoryPathResolver.resolve(subRepository,
+                                                                                                    repositoryPath));
+        if (result != null)
+        {
+            logger.debug(String.format("Located cached artifact: [%s]", result));
+        }
+
+        return result;
     }
     
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath) throws IOException
     {
+        if (groupRepositoryFetchExecutor.isParallelResolutionEnabled())
+        {
+            return resolvePathParallel(repositoryPath);
+        }
+
         Repository groupRepository = repositoryPath.getRepository();
         Storage storage = groupRepository.getStorage();
         
@@ -127,6 +189,142 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         return null;
     }
 
+    /**
+     * Resolves the path with the same member repository order as {@link #resolvePathTraversal(RepositoryPath)}, but
+     * checks the local member repositories first and then fetches the path from the proxy member repositories, which
+     * are ordered before the first local match, concurrently.
+     * <br>
+     * Each proxy member repository fetch is waited for no longer than the member timeout, counted from the start of
+     * that fetch, so a slow member doesn't use up the time of the members which are ordered after it.
+     * <br>
+     * The losing fetches are not interrupted (so they either complete or fail as usual, without leaving partially
+     * stored files), while the fetches which have not been started yet are cancelled.
+     */
+    private RepositoryPath resolvePathParallel(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        List<RepositoryPath> memberPaths = new ArrayList<>();
+        collectMemberPaths(repositoryPath, memberPaths, new HashSet<>());
+
+        int localIndex = -1;
+        for (int i = 0; i < memberPaths.size(); i++)
+        {
+            if (RepositoryFiles.artifactExists(memberPaths.get(i)))
+            {
+                localIndex = i;
+                break;
+            }
+        }
+
+        int remoteCount = localIndex < 0 ? memberPaths.size() : localIndex;
+        List<MemberFetch<RepositoryPath>> remoteFetches = new ArrayList<>(remoteCount);
+        for (int i = 0; i < remoteCount; i++)
+        {
+            RepositoryPath memberPath = memberPaths.get(i);
+            remoteFetches.add(memberPath.getRepository().isProxyRepository()
+                    ? groupRepositoryFetchExecutor.submit(() -> resolvePathFromGroupMemberOrTraverse(memberPath))
+                    : null);
+        }
+
+        try
+        {
+            for (int i = 0; i < remoteCount; i++)
+            {
+                MemberFetch<RepositoryPath> remoteFetch = remoteFetches.get(i);
+                if (remoteFetch == null)
+                {
+                    continue;
+                }
+
+                RepositoryPath result = awaitMemberFetch(memberPaths.get(i), remoteFetch);
+                if (result != null)
+                {
+                    logger.debug(String.format("Located artifact: [%s]", result));
+
+                    return result;
+                }
+            }
+        }
+        finally
+        {
+            remoteFetches.stream().filter(Objects::nonNull).forEach(MemberFetch::cancel);
+        }
+
+        if (localIndex < 0)
+        {
+            return null;
+        }
+
+        RepositoryPath result = resolvePathFromGroupMemberOrTraverse(memberPaths.get(localIndex));
+        logger.debug(String.format("Located artifact: [%s]", result));
+
+        return result;
+    }
+
+    private void collectMemberPaths(RepositoryPath repositoryPath,
+                                    List<RepositoryPath> memberPaths,
+                                    Set<String> memberRepositories)
+        throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        Storage storage = groupRepository.getStorage();
+
+        for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
+        {
+            String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
+            String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+            Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
+            if (!subRepository.isInService())
+            {
+                continue;
+            }
+
+            RepositoryPath memberPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+            if (artifactRoutingRulesChecker.isDenied(groupRepository, memberPath))
+            {
+                continue;
+            }
+
+            if (getAlias().equals(subRepository.getType()))
+            {
+                collectMemberPaths(memberPath, memberPaths, memberRepositories);
+            }
+            else if (memberRepositories.add(sId + ":" + rId))
+            {
+                memberPaths.add(memberPath);
+            }
+        }
+    }
+
+    private RepositoryPath awaitMemberFetch(RepositoryPath memberPath,
+                                            MemberFetch<RepositoryPath> memberFetch)
+        throws IOException
+    {
+        try
+        {
+            return memberFetch.await();
+        }
+        catch (TimeoutException e)
+        {
+            logger.warn(String.format("Timed out to resolve path [%s]", memberPath));
+
+            return null;
+        }
+        catch (ExecutionException e)
+        {
+            logger.error(String.format("Failed to resolve path [%s]", memberPath), e.getCause());
+
+            return null;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted to resolve path [%s]", memberPath));
+        }
+    }
+
     private RepositoryPath resolvePathDirectlyFromGroupPathIfPossible(final RepositoryPath artifactPath)
     {
         if (Files.exists(artifactPath))
@@ -12,6 +12,8 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPathFetchCoalescer;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryStreamingFetch;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -43,6 +45,9 @@ public class ProxyRepositoryProvider
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
+    @Inject
+    private ProxyRepositoryPathFetchCoalescer proxyRepositoryPathFetchCoalescer;
+
     @Inject
     private HostedRepositoryProvider hostedRepositoryProvider;
 
@@ -67,10 +72,19 @@ public class ProxyRepositoryProvider
         throws IOException
     {
         RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
+        ProxyRepositoryStreamingFetch streamingFetch = targetPath == null ?
+                                                       proxyRepositoryArtifactResolver.getStreamingFetch(repositoryPath) :
+                                                       null;
 
-        if (targetPath == null)
+        if (streamingFetch != null)
+        {
+            // The artifact is being fetched right now, so we just join the fetch without any locks.
+            targetPath = proxyRepositoryArtifactResolver.awaitStreamingFetch(streamingFetch);
+        }
+        else if (targetPath == null)
         {
-            targetPath = resolvePathExclusive(repositoryPath);
+            targetPath = proxyRepositoryPathFetchCoalescer.fetch(repositoryPath,
+                                                                 () -> resolvePathExclusive(repositoryPath));
         }
         else if (RepositoryFiles.hasExpired(targetPath))
         {
@@ -0,0 +1,208 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import javax.inject.Inject;
+import java.time.Clock;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor for the concurrent member repository fetches of the group repositories. It's used for the artifact
+ * resolution only if the parallel group repository resolution is enabled, and always for the fetches of the group
+ * repository <code>maven-metadata.xml</code> in the member repositories.
+ * <br>
+ * If all the threads are busy and the queue is full, then the fetch is done by the requesting thread. The fetches which
+ * are submitted by the executor threads themselves (nested group repositories) are also done by the requesting thread,
+ * so that the executor threads never wait for each other.
+ */
+@Component
+public class GroupRepositoryFetchExecutor
+        implements DisposableBean
+{
+
+    private final boolean parallelResolutionEnabled;
+
+    private final long memberTimeoutMillis;
+
+    private final Clock clock;
+
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public GroupRepositoryFetchExecutor(@Value("${strongbox.group.parallelResolution.enabled:false}") boolean parallelResolutionEnabled,
+                                        @Value("${strongbox.group.parallelResolution.threads:16}") int threads,
+                                        @Value("${strongbox.group.parallelResolution.queueSize:256}") int queueSize,
+                                        @Value("${strongbox.group.parallelResolution.memberTimeoutSeconds:30}") long memberTimeoutSeconds)
+    {
+        this(parallelResolutionEnabled, threads, queueSize, memberTimeoutSeconds, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock
+     *            the time source of the member timeouts
+     */
+    GroupRepositoryFetchExecutor(boolean parallelResolutionEnabled,
+                                 int threads,
+                                 int queueSize,
+                                 long memberTimeoutSeconds,
+                                 Clock clock)
+    {
+        this.parallelResolutionEnabled = parallelResolutionEnabled;
+        this.memberTimeoutMillis = TimeUnit.SECONDS.toMillis(memberTimeoutSeconds);
+        this.clock = clock;
+
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                          new LinkedBlockingQueue<>(queueSize),
+                                          new GroupRepositoryFetchThreadFactory(),
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public boolean isParallelResolutionEnabled()
+    {
+        return parallelResolutionEnabled;
+    }
+
+    /**
+     * @return how long each member repository fetch is waited for, counted from the start of the fetch
+     */
+    public long getMemberTimeoutMillis()
+    {
+        return memberTimeoutMillis;
+    }
+
+    public <T> MemberFetch<T> submit(Callable<T> fetch)
+    {
+        MemberFetch<T> result = new MemberFetch<>(memberTimeoutMillis, clock);
+        Callable<T> task = () -> {
+            result.startedAt = clock.millis();
+
+            return fetch.call();
+        };
+
+        if (Thread.currentThread() instanceof GroupRepositoryFetchThread)
+        {
+            FutureTask<T> future = new FutureTask<>(task);
+            future.run();
+
+            result.future = future;
+        }
+        else
+        {
+            result.future = executor.submit(task);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+    }
+
+    /**
+     * The member repository fetch, which is submitted to the executor.
+     */
+    public static class MemberFetch<T>
+    {
+
+        private final long timeoutMillis;
+
+        private final Clock clock;
+
+        private final long submittedAt;
+
+        private volatile long startedAt;
+
+        private Future<T> future;
+
+        private MemberFetch(long timeoutMillis,
+                            Clock clock)
+        {
+            this.timeoutMillis = timeoutMillis;
+            this.clock = clock;
+            this.submittedAt = clock.millis();
+        }
+
+        /**
+         * Waits for the fetch no longer than the member timeout counted from the start of the fetch, so that the
+         * fetches which are awaited one after another (or which were queued) get the same time to complete as the
+         * first one. The fetch which has not been started yet is waited for the member timeout counted from its
+         * submission, and for the member timeout counted from the start, if it's started meanwhile.
+         */
+        public T await()
+            throws InterruptedException, ExecutionException, TimeoutException
+        {
+            long deadline = (startedAt > 0 ? startedAt : submittedAt) + timeoutMillis;
+            while (true)
+            {
+                try
+                {
+                    return future.get(Math.max(0, deadline - clock.millis()), TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException e)
+                {
+                    // The fetch may have been started while it was awaited, so it still has time to complete.
+                    long started = startedAt;
+                    if (started == 0 || started + timeoutMillis <= clock.millis())
+                    {
+                        throw e;
+                    }
+
+                    deadline = started + timeoutMillis;
+                }
+            }
+        }
+
+        /**
+         * Cancels the fetch, if it has not been started yet.
+         */
+        public void cancel()
+        {
+            future.cancel(false);
+        }
+
+    }
+
+    private static class GroupRepositoryFetchThreadFactory
+            implements ThreadFactory
+    {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r)
+        {
+            Thread thread = new GroupRepositoryFetchThread(r, "group-repository-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+
+    }
+
+    private static class GroupRepositoryFetchThread
+            extends Thread
+    {
+
+        private GroupRepositoryFetchThread(Runnable target,
+                                           String name)
+        {
+            super(target, name);
+        }
+
+    }
+
+}
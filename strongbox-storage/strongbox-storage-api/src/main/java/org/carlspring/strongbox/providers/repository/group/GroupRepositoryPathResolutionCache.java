@@ -0,0 +1,244 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Node local cache of the group repository path resolutions, which maps the path within the group repository to the
+ * (non group) member repository which has the path, or to "not found" for a short time.
+ * <br>
+ * The resolutions are cached by the relative path, so the resolutions of all the group repositories are invalidated
+ * when the path is stored, updated or deleted in any repository. All the resolutions are invalidated when the
+ * configuration (group members or routing rules) changes.
+ */
+@Component
+public class GroupRepositoryPathResolutionCache
+{
+
+    private final Cache<String, PathResolutions> cache;
+
+    private final long notFoundTtlMillis;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder notFoundHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public GroupRepositoryPathResolutionCache(@Value("${strongbox.group.pathResolutionCache.size:100000}") long maximumSize,
+                                              @Value("${strongbox.group.pathResolutionCache.notFoundTtlSeconds:30}") long notFoundTtlSeconds)
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterAccess(1, TimeUnit.HOURS)
+                            .build();
+        notFoundTtlMillis = TimeUnit.SECONDS.toMillis(notFoundTtlSeconds);
+    }
+
+    /**
+     * @param repositoryPath
+     *            the path within the group repository
+     * @return the cached resolution, which is also used to cache the resolution, if it's not cached yet
+     */
+    public GroupRepositoryPathResolution get(RepositoryPath repositoryPath)
+    {
+        PathResolutions pathResolutions;
+        try
+        {
+            pathResolutions = cache.get(repositoryPath.relativize().toString(), PathResolutions::new);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        Repository groupRepository = repositoryPath.getRepository();
+        String groupRepositoryKey = groupRepository.getStorage().getId() + ":" + groupRepository.getId();
+
+        GroupRepositoryPathResolution result = new GroupRepositoryPathResolution(pathResolutions,
+                                                                                 groupRepositoryKey);
+        if (!result.isCached())
+        {
+            misses.increment();
+        }
+        else if (result.isFound())
+        {
+            hits.increment();
+        }
+        else
+        {
+            notFoundHits.increment();
+        }
+
+        return result;
+    }
+
+    public void invalidate(RepositoryPath repositoryPath)
+    {
+        cache.invalidate(repositoryPath.relativize().toString());
+    }
+
+    public void invalidateAll()
+    {
+        cache.invalidateAll();
+    }
+
+    public long size()
+    {
+        return cache.size();
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getNotFoundHits()
+    {
+        return notFoundHits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        invalidate(event.getPath());
+    }
+
+    private static class PathResolutions
+    {
+
+        private final ConcurrentMap<String, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    }
+
+    private static class Resolution
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final long expiresAt;
+
+        private Resolution(String storageId,
+                           String repositoryId,
+                           long expiresAt)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    /**
+     * The resolution of the path within the group repository.
+     */
+    public class GroupRepositoryPathResolution
+    {
+
+        private final PathResolutions pathResolutions;
+
+        private final String groupRepositoryKey;
+
+        private final Resolution resolution;
+
+        private GroupRepositoryPathResolution(PathResolutions pathResolutions,
+                                              String groupRepositoryKey)
+        {
+            this.pathResolutions = pathResolutions;
+            this.groupRepositoryKey = groupRepositoryKey;
+
+            Resolution resolutionLocal = pathResolutions.resolutions.get(groupRepositoryKey);
+            if (resolutionLocal != null && resolutionLocal.expiresAt < System.currentTimeMillis())
+            {
+                pathResolutions.resolutions.remove(groupRepositoryKey, resolutionLocal);
+                resolutionLocal = null;
+            }
+            this.resolution = resolutionLocal;
+        }
+
+        public boolean isCached()
+        {
+            return resolution != null;
+        }
+
+        public boolean isFound()
+        {
+            return resolution != null && resolution.repositoryId != null;
+        }
+
+        public String getStorageId()
+        {
+            return resolution == null ? null : resolution.storageId;
+        }
+
+        public String getRepositoryId()
+        {
+            return resolution == null ? null : resolution.repositoryId;
+        }
+
+        /**
+         * Caches the resolved path, or "not found", if the path is <code>null</code>.
+         * <br>
+         * If the path was invalidated after this resolution was taken from the cache, then the resolution is not
+         * cached anymore, because it could have been resolved before the path change.
+         */
+        public void resolve(RepositoryPath resolvedPath)
+        {
+            if (resolvedPath == null)
+            {
+                pathResolutions.resolutions.put(groupRepositoryKey,
+                                                new Resolution(null, null,
+                                                               System.currentTimeMillis() + notFoundTtlMillis));
+
+                return;
+            }
+
+            Repository repository = resolvedPath.getRepository();
+            pathResolutions.resolutions.put(groupRepositoryKey,
+                                            new Resolution(repository.getStorage().getId(), repository.getId(),
+                                                           Long.MAX_VALUE));
+        }
+
+        /**
+         * Removes the resolution, if the resolved member repository doesn't have the path anymore.
+         */
+        public void invalidate()
+        {
+            if (resolution != null)
+            {
+                pathResolutions.resolutions.remove(groupRepositoryKey, resolution);
+            }
+        }
+
+    }
+
+}
@@ -1,10 +1,13 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPathFetchCoalescer.RepositoryPathFetch;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.ImmutableRepository;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -12,15 +15,25 @@ import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.HttpHeaders;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Files;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,6 +41,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class ProxyRepositoryArtifactResolver
+        implements InitializingBean, DisposableBean
 {
     private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryArtifactResolver.class);
 
@@ -46,6 +60,98 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    /**
+     * If enabled, the remote artifacts are served to the clients while they are being stored into the proxy
+     * repository cache, see {@link ProxyRepositoryStreamingFetch}.
+     */
+    @Value("${strongbox.proxy.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    @Value("${strongbox.proxy.streaming.threadsNumber:16}")
+    private int streamingThreadsNumber;
+
+    private final ConcurrentMap<URI, ProxyRepositoryStreamingFetch> streamingFetches = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Boolean> streamingResolution = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ThreadPoolExecutor streamingExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        // If all the threads are busy the fetch will be done within the caller thread, as it was without streaming.
+        streamingExecutor = new ThreadPoolExecutor(streamingThreadsNumber,
+                                                   streamingThreadsNumber,
+                                                   60L,
+                                                   TimeUnit.SECONDS,
+                                                   new SynchronousQueue<>(),
+                                                   new ThreadPoolExecutor.CallerRunsPolicy());
+        streamingExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        streamingExecutor.shutdown();
+    }
+
+    /**
+     * @return the {@link ProxyRepositoryStreamingFetch} which is currently in progress for the path, or
+     *         <code>null</code> if there is no such fetch.
+     */
+    public ProxyRepositoryStreamingFetch getStreamingFetch(RepositoryPath repositoryPath)
+    {
+        if (repositoryPath == null || streamingFetches.isEmpty())
+        {
+            return null;
+        }
+
+        return streamingFetches.get(repositoryPath.toUri());
+    }
+
+    /**
+     * Resolves the path within the scope, where the artifact which is being fetched from remote is resolved as soon as
+     * the remote repository starts to provide its bytes. Should only be used by the callers which serve the artifact
+     * with {@link ProxyRepositoryStreamingFetch#newInputStream()}, the other callers always wait till the fetch has
+     * been completed, so they never resolve the path which doesn't exist yet.
+     */
+    public RepositoryPath resolveStreaming(RepositoryPathFetch resolution)
+        throws IOException
+    {
+        if (streamingResolution.get())
+        {
+            return resolution.fetch();
+        }
+
+        streamingResolution.set(Boolean.TRUE);
+        try
+        {
+            return resolution.fetch();
+        }
+        finally
+        {
+            streamingResolution.remove();
+        }
+    }
+
+    /**
+     * Waits for the streaming fetch, see {@link #resolveStreaming(RepositoryPathFetch)}.
+     */
+    public RepositoryPath awaitStreamingFetch(ProxyRepositoryStreamingFetch streamingFetch)
+        throws IOException
+    {
+        if (streamingResolution.get())
+        {
+            streamingFetch.awaitStarted();
+        }
+        else
+        {
+            streamingFetch.awaitCompleted();
+        }
+
+        return streamingFetch.getRepositoryPath();
+    }
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
@@ -65,6 +171,11 @@ public class ProxyRepositoryArtifactResolver
             return null;
         }
 
+        if (streamingEnabled && RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return fetchRemoteResourceStreaming(repositoryPath, remoteRepository);
+        }
+
         RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
 
         ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
@@ -81,6 +192,101 @@ public class ProxyRepositoryArtifactResolver
         }
     }
 
+    /**
+     * Starts the remote fetch in background and returns the path as soon as the remote repository starts to provide
+     * the artifact bytes, so the clients don't need to wait till the whole artifact has been stored, see
+     * {@link #awaitStreamingFetch(ProxyRepositoryStreamingFetch)}.
+     * <br>
+     * Concurrent requests for the same path join the fetch which is already in progress.
+     */
+    private RepositoryPath fetchRemoteResourceStreaming(RepositoryPath repositoryPath,
+                                                        RemoteRepository remoteRepository)
+        throws IOException
+    {
+        URI streamingFetchKey = repositoryPath.toUri();
+        ProxyRepositoryStreamingFetch streamingFetch = new ProxyRepositoryStreamingFetch(repositoryPath);
+
+        ProxyRepositoryStreamingFetch existingStreamingFetch = streamingFetches.putIfAbsent(streamingFetchKey,
+                                                                                            streamingFetch);
+        if (existingStreamingFetch != null)
+        {
+            logger.debug(String.format("Join streaming fetch for [%s].", repositoryPath));
+
+            streamingFetch = existingStreamingFetch;
+        }
+        else
+        {
+            try
+            {
+                streamingFetch.prepare();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                streamingFetch.fail(e);
+                streamingFetches.remove(streamingFetchKey, streamingFetch);
+
+                throw e;
+            }
+
+            RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+            ProxyRepositoryStreamingFetch newStreamingFetch = streamingFetch;
+
+            streamingExecutor.execute(() -> doFetchStreaming(newStreamingFetch, client, streamingFetchKey));
+        }
+
+        return awaitStreamingFetch(streamingFetch);
+    }
+
+    private void doFetchStreaming(ProxyRepositoryStreamingFetch streamingFetch,
+                                  RestArtifactResolver client,
+                                  URI streamingFetchKey)
+    {
+        RepositoryPath repositoryPath = streamingFetch.getRepositoryPath();
+        try
+        {
+            // Note that the lock should be acquired within the thread which actually does the fetch.
+            ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+            Lock lock = lockSource.writeLock();
+            lock.lock();
+
+            ProxyRepositoryInputStream remoteIs = new ProxyRepositoryInputStream(client, repositoryPath);
+
+            // The streamed bytes are served before they can be validated, so the artifact is only moved into the cache
+            // if it matches the remote checksums.
+            try (InputStream is = new BufferedInputStream(
+                    streamingFetch.tee(new RemoteChecksumValidatingInputStream(remoteIs, client, repositoryPath))))
+            {
+                streamingFetch.setRemoteHeaders(remoteIs.getResponseHeader(HttpHeaders.CONTENT_LENGTH),
+                                                remoteIs.getResponseHeader(HttpHeaders.ETAG),
+                                                remoteIs.getResponseHeader(HttpHeaders.LAST_MODIFIED));
+
+                doFetch(repositoryPath, is);
+            }
+            finally
+            {
+                lock.unlock();
+            }
+
+            streamingFetch.complete();
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.debug(String.format("Path [%s] was not found in remote.", repositoryPath));
+
+            streamingFetch.fail(e);
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to fetch [%s] from remote.", repositoryPath), e);
+
+            streamingFetch.fail(e);
+        }
+        finally
+        {
+            streamingFetches.remove(streamingFetchKey, streamingFetch);
+        }
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
@@ -10,6 +10,7 @@ import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactStreamFetcher.RemoteArtifactInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +95,15 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return super.available();
     }
 
+    /**
+     * @return the header of the current remote response, or <code>null</code> if there is no such header
+     */
+    public String getResponseHeader(String name)
+        throws IOException
+    {
+        return ((RemoteArtifactInputStream) in).getConnection().getResponse().getHeaderString(name);
+    }
+
     @Override
     public void close()
         throws IOException
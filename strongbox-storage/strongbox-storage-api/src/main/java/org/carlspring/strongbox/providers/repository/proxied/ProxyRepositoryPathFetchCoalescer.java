@@ -0,0 +1,127 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces the concurrent proxy repository fetches of the same path, so that there is only one fetch in progress
+ * per path within the node.
+ * <br>
+ * The first caller (leader) does the actual fetch, while the other callers (followers) just wait for the leader's
+ * result without taking any distributed locks. Both the negative results and the failures are shared with the
+ * followers as well.
+ */
+@Component
+public class ProxyRepositoryPathFetchCoalescer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryPathFetchCoalescer.class);
+
+    private final ConcurrentMap<URI, CompletableFuture<Boolean>> fetches = new ConcurrentHashMap<>();
+
+    private final LongAdder leaderFetches = new LongAdder();
+
+    private final LongAdder followerFetches = new LongAdder();
+
+    public RepositoryPath fetch(RepositoryPath repositoryPath,
+                                RepositoryPathFetch fetch)
+        throws IOException
+    {
+        URI fetchKey = repositoryPath.toUri();
+        CompletableFuture<Boolean> leaderFetch = new CompletableFuture<>();
+
+        CompletableFuture<Boolean> existingFetch = fetches.putIfAbsent(fetchKey, leaderFetch);
+        if (existingFetch != null)
+        {
+            followerFetches.increment();
+
+            return awaitLeader(repositoryPath, existingFetch);
+        }
+
+        leaderFetches.increment();
+        try
+        {
+            RepositoryPath result = fetch.fetch();
+            leaderFetch.complete(result != null);
+
+            return result;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            leaderFetch.completeExceptionally(e);
+
+            throw e;
+        }
+        finally
+        {
+            fetches.remove(fetchKey, leaderFetch);
+        }
+    }
+
+    private RepositoryPath awaitLeader(RepositoryPath repositoryPath,
+                                       CompletableFuture<Boolean> leaderFetch)
+        throws IOException
+    {
+        logger.debug(String.format("Waiting for the fetch in progress for [%s].", repositoryPath));
+
+        Boolean found;
+        try
+        {
+            found = leaderFetch.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s].", repositoryPath));
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            else if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IOException(cause);
+        }
+
+        // Note that the follower should use its own path instance, because the paths are not thread safe.
+        return Boolean.TRUE.equals(found) ? repositoryPath : null;
+    }
+
+    public long getLeaderFetches()
+    {
+        return leaderFetches.sum();
+    }
+
+    public long getFollowerFetches()
+    {
+        return followerFetches.sum();
+    }
+
+    @FunctionalInterface
+    public interface RepositoryPathFetch
+    {
+
+        RepositoryPath fetch()
+            throws IOException;
+    }
+
+}
@@ -0,0 +1,344 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents the remote artifact fetch which is being stored into the proxy repository cache while its bytes are
+ * already served to the clients.
+ * <br>
+ * The remote bytes are stored by the regular {@link ProxyRepositoryArtifactResolver} routine, so they are written into
+ * the {@link TempRepositoryPath} first and moved into the original location once the store has been completed. The
+ * streams provided by {@link #newInputStream()} follow the temporary file as it grows, and, since the file is moved
+ * atomically, just continue reading the same file till the end after the store has been completed.
+ * <br>
+ * Only the callers which serve the artifact bytes to the clients follow the fetch as it goes, the other callers wait
+ * till the fetch has been completed with {@link #awaitCompleted()}.
+ */
+public class ProxyRepositoryStreamingFetch
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryStreamingFetch.class);
+
+    private static final long PROGRESS_AWAIT_MILLIS = 100L;
+
+    private final RepositoryPath repositoryPath;
+
+    private volatile RepositoryPath tempPath;
+
+    private final Object monitor = new Object();
+
+    private volatile boolean started;
+
+    private volatile boolean done;
+
+    private volatile Throwable failure;
+
+    private volatile String contentLength;
+
+    private volatile String eTag;
+
+    private volatile String lastModified;
+
+    public ProxyRepositoryStreamingFetch(RepositoryPath repositoryPath)
+    {
+        this.repositoryPath = repositoryPath;
+    }
+
+    /**
+     * Prepares the temporary location, which the fetch is stored into. Should be called once by the caller which
+     * actually does the fetch, before the fetch is started.
+     */
+    public void prepare()
+        throws IOException
+    {
+        tempPath = TempRepositoryPath.of(repositoryPath);
+    }
+
+    public RepositoryPath getRepositoryPath()
+    {
+        return repositoryPath;
+    }
+
+    /**
+     * @return the <code>Content-Length</code> header of the remote response, or <code>null</code> if it's unknown
+     */
+    public String getContentLength()
+    {
+        return contentLength;
+    }
+
+    /**
+     * @return the <code>ETag</code> header of the remote response, or <code>null</code> if it's unknown
+     */
+    public String getETag()
+    {
+        return eTag;
+    }
+
+    /**
+     * @return the <code>Last-Modified</code> header of the remote response, or <code>null</code> if it's unknown
+     */
+    public String getLastModified()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Should be called before the remote bytes are read, so that the headers are known to the clients once the fetch
+     * has been started.
+     */
+    public void setRemoteHeaders(String contentLength,
+                                 String eTag,
+                                 String lastModified)
+    {
+        this.contentLength = contentLength;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public boolean isDone()
+    {
+        return done;
+    }
+
+    /**
+     * Decorates the remote stream to notify the clients about the bytes which were received from remote.
+     */
+    public InputStream tee(InputStream remoteInputStream)
+    {
+        return new FilterInputStream(remoteInputStream)
+        {
+
+            @Override
+            public int read()
+                throws IOException
+            {
+                return onProgress(super.read());
+            }
+
+            @Override
+            public int read(byte[] b,
+                            int off,
+                            int len)
+                throws IOException
+            {
+                return onProgress(super.read(b, off, len));
+            }
+
+        };
+    }
+
+    private int onProgress(int result)
+    {
+        started = true;
+        signal();
+
+        return result;
+    }
+
+    public void complete()
+    {
+        done = true;
+        signal();
+    }
+
+    public void fail(Throwable cause)
+    {
+        failure = cause;
+        done = true;
+        signal();
+    }
+
+    private void signal()
+    {
+        synchronized (monitor)
+        {
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Waits till the remote repository starts to provide the artifact bytes, or till the fetch fails.
+     */
+    public void awaitStarted()
+        throws IOException
+    {
+        while (!started && !done)
+        {
+            awaitProgress();
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Waits till the artifact has been stored, or till the fetch fails.
+     */
+    public void awaitCompleted()
+        throws IOException
+    {
+        while (!done)
+        {
+            awaitProgress();
+        }
+
+        checkFailure();
+    }
+
+    private void awaitProgress()
+        throws InterruptedIOException
+    {
+        synchronized (monitor)
+        {
+            try
+            {
+                monitor.wait(PROGRESS_AWAIT_MILLIS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException(String.format("Interrupted while streaming [%s].", repositoryPath));
+            }
+        }
+    }
+
+    private void checkFailure()
+        throws IOException
+    {
+        Throwable cause = failure;
+        if (cause == null)
+        {
+            return;
+        }
+        if (cause instanceof IOException)
+        {
+            throw (IOException) cause;
+        }
+
+        throw new IOException(String.format("Failed to fetch [%s] from remote.", repositoryPath), cause);
+    }
+
+    public InputStream newInputStream()
+    {
+        return new StreamingFetchInputStream();
+    }
+
+    private class StreamingFetchInputStream extends InputStream
+    {
+
+        private FileChannel channel;
+
+        private long position;
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            byte[] b = new byte[1];
+            int n;
+            while ((n = read(b, 0, 1)) == 0)
+            {
+                // Read till we have a byte or the end of the stream
+            }
+
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            while (true)
+            {
+                // Note that we should check the state before the read, because the file can be completed in between.
+                boolean completed = done;
+                checkFailure();
+
+                FileChannel source = getChannel(completed);
+                if (source != null)
+                {
+                    int n = source.read(buffer, position);
+                    if (n > 0)
+                    {
+                        position += n;
+
+                        return n;
+                    }
+                    else if (completed)
+                    {
+                        return -1;
+                    }
+                }
+
+                awaitProgress();
+            }
+        }
+
+        private FileChannel getChannel(boolean completed)
+            throws IOException
+        {
+            if (channel != null)
+            {
+                return channel;
+            }
+
+            // The temporary file can contain the bytes from previous attempts until the store started.
+            RepositoryPath source = completed ? repositoryPath : (started ? tempPath : null);
+            if (source == null)
+            {
+                return null;
+            }
+
+            try
+            {
+                channel = FileChannel.open(source, StandardOpenOption.READ);
+            }
+            catch (NoSuchFileException e)
+            {
+                if (completed)
+                {
+                    throw e;
+                }
+
+                // The temporary file has been moved just now, so we will open the target next time.
+                logger.debug(String.format("The path [%s] was not found while streaming [%s].", source, repositoryPath));
+            }
+
+            return channel;
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (channel != null)
+            {
+                channel.close();
+            }
+        }
+
+    }
+
+}
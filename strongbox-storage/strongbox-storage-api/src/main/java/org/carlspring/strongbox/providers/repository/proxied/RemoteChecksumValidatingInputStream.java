@@ -0,0 +1,133 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.client.CloseableRestResponse;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.io.LayoutInputStream;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Validates the digests of the remote artifact against the checksums provided by the remote repository, once the
+ * artifact has been read till the end.
+ * <br>
+ * The mismatch is reported by the last read, so the artifact store fails before the artifact is moved from the
+ * temporary location, and the mismatching artifact is never served from the proxy repository cache. The checksums
+ * which are not provided by the remote repository are not validated.
+ */
+public class RemoteChecksumValidatingInputStream
+        extends LayoutInputStream
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChecksumValidatingInputStream.class);
+
+    private final RestArtifactResolver client;
+
+    private final RepositoryPath repositoryPath;
+
+    private boolean validated;
+
+    public RemoteChecksumValidatingInputStream(InputStream is,
+                                               RestArtifactResolver client,
+                                               RepositoryPath repositoryPath)
+        throws NoSuchAlgorithmException
+    {
+        super(is, repositoryPath.getFileSystem().getDigestAlgorithmSet());
+
+        this.client = client;
+        this.repositoryPath = repositoryPath;
+    }
+
+    @Override
+    public int read()
+        throws IOException
+    {
+        int ch = super.read();
+        if (ch == -1)
+        {
+            validate();
+        }
+
+        return ch;
+    }
+
+    @Override
+    public int read(byte[] bytes,
+                    int off,
+                    int len)
+        throws IOException
+    {
+        int numberOfBytesRead = super.read(bytes, off, len);
+        if (numberOfBytesRead == -1)
+        {
+            validate();
+        }
+
+        return numberOfBytesRead;
+    }
+
+    @Override
+    public int read(byte[] bytes)
+        throws IOException
+    {
+        return read(bytes, 0, bytes.length);
+    }
+
+    private void validate()
+        throws IOException
+    {
+        if (validated)
+        {
+            return;
+        }
+        validated = true;
+
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+        for (String algorithm : getDigests().keySet())
+        {
+            String remoteChecksum = fetchRemoteChecksum(provider.getChecksumPath(repositoryPath, algorithm));
+            if (remoteChecksum == null)
+            {
+                logger.debug(String.format("No remote [%s] checksum for [%s].", algorithm, repositoryPath));
+
+                continue;
+            }
+
+            String checksum = getMessageDigestAsHexadecimalString(algorithm);
+            if (!checksum.equalsIgnoreCase(remoteChecksum))
+            {
+                throw new IOException(String.format("The [%s] checksum [%s] of [%s] doesn't match the remote checksum [%s].",
+                                                    algorithm, checksum, repositoryPath, remoteChecksum));
+            }
+        }
+    }
+
+    private String fetchRemoteChecksum(RepositoryPath checksumPath)
+        throws IOException
+    {
+        String resource = RepositoryFiles.resolveResource(checksumPath).toString();
+        try (CloseableRestResponse closeableRestResponse = client.get(resource))
+        {
+            Response response = closeableRestResponse.getResponse();
+            if (response.getStatus() != 200 || response.getEntity() == null)
+            {
+                return null;
+            }
+
+            // The checksum can be followed by the file name.
+            String content = StringUtils.trimToNull(response.readEntity(String.class));
+
+            return content == null ? null : content.split("\\s+")[0];
+        }
+    }
+
+}
@@ -77,4 +77,17 @@ public interface ArtifactEntryService
                                   String repositoryId,
                                   String path);
 
+    /**
+     * Updates the coordinate search keys of the next batch of {@link ArtifactEntry}s, which were stored without the
+     * keys. The exact coordinate search starts to use the keys once all the entries are updated.
+     *
+     * @param lastId
+     *            the ID of the last entry of the previous batch, or <code>null</code> for the first batch
+     * @param batchSize
+     *            the maximum number of entries to update
+     * @return the ID of the last entry of this batch, or <code>null</code> if all the entries are updated
+     */
+    String updateCoordinateSearchKeys(String lastId,
+                                      int batchSize);
+
 }
@@ -7,6 +7,7 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -15,6 +16,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 
 import org.apache.commons.io.IOUtils;
+import org.carlspring.strongbox.artifact.archive.ArchiveListingInputStream;
+import org.carlspring.strongbox.artifact.archive.ArchiveStreamListingFunction;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
@@ -27,7 +30,9 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider.TempOutputStream;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
 import org.carlspring.strongbox.storage.Storage;
@@ -113,7 +118,22 @@ public class ArtifactManagementService
         
         try (final RepositoryOutputStream aos = artifactResolutionService.getOutputStream(repositoryPath))
         {
-            result = writeArtifact(repositoryPath, is, aos);
+            try
+            {
+                result = writeArtifact(repositoryPath, is, aos);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                // The artifact was not written completely (e.g. the remote repository failed in the middle of the
+                // stream), so it should not replace the stored one.
+                TempOutputStream tos = StreamUtils.findSource(TempOutputStream.class, aos);
+                if (tos != null)
+                {
+                    tos.abort();
+                }
+
+                throw e;
+            }
             logger.debug(String.format("Stored [%s] bytes for [%s].", result, repositoryPath));
             aos.flush();
         }
@@ -166,7 +186,8 @@ public class ArtifactManagementService
             artifactEventListenerRegistry.dispatchArtifactUploadingEvent(repositoryPath);
         }
         
-        long totalAmountOfBytes = IOUtils.copy(is, os);
+        long totalAmountOfBytes = Boolean.TRUE.equals(checksumAttribute) ? IOUtils.copy(is, os)
+                : writeAndListArchive(repositoryPath, is, os, aos);
 
         URI repositoryPathId = repositoryPath.toUri();
         Map<String, String> digestMap = aos.getDigestMap();
@@ -191,6 +212,48 @@ public class ArtifactManagementService
         return totalAmountOfBytes;
     }
 
+    /**
+     * Writes the artifact and lists its archive filenames (if it's a supported archive) in the same pass, so that the
+     * stored archive is not read again to list it.
+     */
+    private long writeAndListArchive(RepositoryPath repositoryPath,
+                                     InputStream is,
+                                     OutputStream os,
+                                     LayoutOutputStream aos)
+            throws IOException
+    {
+        LayoutProvider layoutProvider = layoutProviderRegistry.getProvider(repositoryPath.getRepository().getLayout());
+        ArchiveStreamListingFunction archiveListingFunction = layoutProvider == null ? null
+                : layoutProvider.getArchiveListingFunction(repositoryPath);
+        if (archiveListingFunction == null)
+        {
+            return IOUtils.copy(is, os);
+        }
+
+        ArchiveListingInputStream archiveIs = new ArchiveListingInputStream(is, os);
+        try
+        {
+            aos.setArchiveFilenames(archiveListingFunction.listFilenames(archiveIs));
+        }
+        catch (IOException e)
+        {
+            if (archiveIs.getWriteException() != null)
+            {
+                throw e;
+            }
+
+            aos.setArchiveFilenames(Collections.emptySet());
+            logger.warn(String.format("Unable to list filenames in archive path %s using %s", repositoryPath,
+                                      archiveListingFunction), e);
+        }
+        finally
+        {
+            archiveIs.close();
+        }
+
+        return archiveIs.getByteCount();
+    }
+
     private void writeChecksums(RepositoryPath repositoryPath,
                                 Map<String, String> digestMap)
     {
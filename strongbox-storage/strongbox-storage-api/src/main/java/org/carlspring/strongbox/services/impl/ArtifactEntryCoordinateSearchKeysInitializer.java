@@ -0,0 +1,89 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.event.EventTaskExecutor;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import ca.thoughtwire.lock.DistributedLockService;
+
+/**
+ * Updates the coordinate search keys of the {@link org.carlspring.strongbox.domain.ArtifactEntry}s, which were stored
+ * without the keys, within the {@link EventTaskExecutor}, so that the startup is not delayed by the large repositories.
+ * The exact coordinate search checks the coordinate values until all the entries are updated.
+ * <br>
+ * The update is guarded by the cluster wide lock, so the entries are updated by a single node, while the other nodes
+ * wait for it and then only find out that there is nothing left to update.
+ */
+@Component
+class ArtifactEntryCoordinateSearchKeysInitializer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryCoordinateSearchKeysInitializer.class);
+
+    private static final String LOCK_NAME = "artifact-entry-coordinate-search-keys";
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private EventTaskExecutor eventTaskExecutor;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    @Value("${strongbox.artifactEntry.coordinateSearchKeys.batchSize:1000}")
+    private int batchSize;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void contextRefreshed()
+    {
+        if (!started.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        eventTaskExecutor.execute(this::updateCoordinateSearchKeys);
+    }
+
+    private void updateCoordinateSearchKeys()
+    {
+        Lock lock = DistributedLockService.newHazelcastLockService(hazelcastInstance)
+                                          .getReentrantReadWriteLock(LOCK_NAME)
+                                          .writeLock();
+        lock.lock();
+        try
+        {
+            String lastId = null;
+            do
+            {
+                lastId = artifactEntryService.updateCoordinateSearchKeys(lastId, batchSize);
+            }
+            while (lastId != null);
+
+            logger.debug("Coordinate search keys are up to date.");
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to update the coordinate search keys.", e);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import org.apache.commons.lang3.time.DateUtils;
@@ -35,6 +36,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    /**
+     * The exact coordinate search uses the indexed coordinate search keys only after the entries, which were stored
+     * without the keys, are updated.
+     */
+    private volatile boolean coordinateSearchKeysComplete;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -77,7 +84,8 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             orderBy = "uuid";
         }
 
-        coordinates = prepareParameterMap(coordinates, strict);
+        boolean searchKeys = strict && coordinateSearchKeysComplete;
+        coordinates = prepareParameterMap(coordinates, strict, searchKeys);
 
         Map<String, ArtifactTagEntry> tagMap = tagSet.stream()
                                                      .collect(Collectors.toMap(t -> String.format("%sTag", t.getName().replaceAll("-", "")),
@@ -85,7 +93,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
         String sQuery = buildCoordinatesQuery(toList(storageId, repositoryId), coordinates.keySet(), tagMap.keySet(),
                                               skip,
-                                              limit, orderBy, strict);
+                                              limit, orderBy, strict, searchKeys);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
@@ -165,8 +173,9 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                  Map<String, String> coordinates,
                                  boolean strict)
     {
-        coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
+        boolean searchKeys = strict && coordinateSearchKeysComplete;
+        coordinates = prepareParameterMap(coordinates, strict, searchKeys);
+        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict, searchKeys);
         sQuery = sQuery.replace("*", "count(distinct(artifactCoordinates))");
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
@@ -197,8 +206,9 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                Map<String, String> coordinates,
                                boolean strict)
     {
-        coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
+        boolean searchKeys = strict && coordinateSearchKeysComplete;
+        coordinates = prepareParameterMap(coordinates, strict, searchKeys);
+        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict, searchKeys);
         sQuery = sQuery.replace("*", "count(*)");
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
@@ -246,7 +256,8 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                            int skip,
                                            int limit,
                                            String orderBy,
-                                           boolean strict)
+                                           boolean strict,
+                                           boolean searchKeys)
     {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT * FROM ").append(getEntityClass().getSimpleName());
@@ -256,11 +267,7 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         StringBuffer c1 = new StringBuffer();
         parameterNameSet.stream()
                         .forEach(e -> c1.append(c1.length() > 0 ? " AND " : "")
-                                        .append("artifactCoordinates.coordinates.")
-                                        .append(e)
-                                        .append(".toLowerCase()")
-                                        .append(strict ? " = " : " like ")
-                                        .append(String.format(":%s", e)));
+                                        .append(coordinateCondition(e, strict, searchKeys)));
         sb.append(" WHERE ").append(c1.length() > 0 ? c1.append(" AND ").toString() : " true = true AND ");
 
         //REPOSITORIES
@@ -301,6 +308,25 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return sb.toString();
     }
 
+    /**
+     * The exact match uses the indexed coordinate search keys (if all the entries have them), while the substring match
+     * needs to check the coordinate values.
+     */
+    private String coordinateCondition(String coordinate,
+                                       boolean strict,
+                                       boolean searchKeys)
+    {
+        if (searchKeys)
+        {
+            return String.format("coordinateSearchKeys CONTAINS :%s", coordinate);
+        }
+
+        return String.format("artifactCoordinates.coordinates.%s.toLowerCase()%s:%s",
+                             coordinate,
+                             strict ? " = " : " like ",
+                             coordinate);
+    }
+
     public String calculateStorageAndRepositoryCondition(Pair<String, String> storageRepositoryPairArray,
                                                          int idx)
     {
@@ -332,13 +358,17 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     }
 
     private Map<String, String> prepareParameterMap(Map<String, String> coordinates,
-                                                    boolean strict)
+                                                    boolean strict,
+                                                    boolean searchKeys)
     {
         return coordinates.entrySet()
                           .stream()
                           .filter(e -> e.getValue() != null)
                           .collect(Collectors.toMap(Map.Entry::getKey,
-                                                    e -> calculateParameterValue(e, strict)));
+                                                    e -> searchKeys ?
+                                                         ArtifactEntry.calculateCoordinateSearchKey(e.getKey(),
+                                                                                                    e.getValue()) :
+                                                         calculateParameterValue(e, strict)));
     }
 
     private String calculateParameterValue(Entry<String, String> e,
@@ -372,6 +402,42 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                        .orElse(null);
     }
 
+    @Override
+    public String updateCoordinateSearchKeys(String lastId,
+                                             int batchSize)
+    {
+        String sQuery = String.format("SELECT * FROM %s WHERE coordinateSearchKeys IS NULL%s ORDER BY @rid LIMIT %s",
+                                      getEntityClass().getSimpleName(),
+                                      lastId == null ? "" : " AND @rid > :lastId",
+                                      batchSize);
+
+        Map<String, Object> params = new HashMap<>();
+        if (lastId != null)
+        {
+            params.put("lastId", new ORecordId(lastId));
+        }
+
+        OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
+        List<ArtifactEntry> resultList = getDelegate().command(oQuery).execute(params);
+
+        String result = null;
+        for (ArtifactEntry artifactEntry : resultList)
+        {
+            // The search keys are calculated from the coordinates on save.
+            save(artifactEntry);
+            result = artifactEntry.getObjectId();
+        }
+
+        if (resultList.size() < batchSize)
+        {
+            coordinateSearchKeysComplete = true;
+
+            return null;
+        }
+
+        return result;
+    }
+
     @Override
     public void delete(String id)
     {
@@ -1,23 +1,39 @@
 package org.carlspring.strongbox.services.impl;
 
-import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
-import org.carlspring.strongbox.artifact.locator.handlers.ArtifactLocationGenerateChecksumOperation;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.services.ChecksumService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -29,6 +45,8 @@ public class ChecksumServiceImpl
 {
     private final Logger logger = LoggerFactory.getLogger(ChecksumServiceImpl.class);
 
+    private static final int PROGRESS_LOG_INTERVAL = 10000;
+
     @Inject
     private ConfigurationManager configurationManager;
     
@@ -38,6 +56,37 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.checksum.regeneration.threads:4}")
+    private int threads;
+
+    @Value("${strongbox.checksum.regeneration.queueSize:1000}")
+    private int queueSize;
+
+    private ThreadPoolExecutor checksumExecutor;
+
+    @PostConstruct
+    private void init()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+        checksumExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                  new ArrayBlockingQueue<>(queueSize),
+                                                  r -> {
+                                                      Thread thread = new Thread(r, "checksum-regeneration-" +
+                                                                                    threadNumber.incrementAndGet());
+                                                      thread.setDaemon(true);
+
+                                                      return thread;
+                                                  },
+                                                  new ThreadPoolExecutor.CallerRunsPolicy());
+        checksumExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    private void close()
+    {
+        checksumExecutor.shutdown();
+    }
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
@@ -61,17 +110,185 @@ public class ChecksumServiceImpl
                                                     .map(p -> repositoryPathResolver.resolve(repository, basePath))
                                                     .orElseGet(() -> repositoryPathResolver.resolve(repository));
         
-        ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
-        operation.setBasePath(repositoryBasePath);
-        operation.setForceRegeneration(forceRegeneration);
+        RepositoryPath startingPath = Files.isDirectory(repositoryBasePath) ? repositoryBasePath
+                : repositoryBasePath.getParent();
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
-        locator.locateArtifactDirectories();
+        ChecksumRegeneration regeneration = new ChecksumRegeneration(startingPath, forceRegeneration);
+        try
+        {
+            Files.walkFileTree(startingPath, regeneration);
+        }
+        finally
+        {
+            regeneration.await();
+        }
+
+        logger.info("Regenerated checksums in [{}]: [{}] files checked, [{}] failed, in [{}] ms.",
+                    startingPath, regeneration.checked, regeneration.failed, regeneration.getElapsedMillis());
     }
 
     public Configuration getConfiguration()
     {
         return configurationManager.getConfiguration();
     }
+
+    /**
+     * Walks the directory tree (without sorting it) and regenerates the checksums of the files, which are within the
+     * directories containing the metadata, on the bounded executor. If all the executor threads are busy and the queue
+     * is full, then the checksums are regenerated by the walking thread, so the walk never gets far ahead of the I/O.
+     */
+    private class ChecksumRegeneration
+            extends SimpleFileVisitor<Path>
+    {
+
+        private final RepositoryPath startingPath;
+
+        private final boolean forceRegeneration;
+
+        private final long startTime = System.currentTimeMillis();
+
+        /**
+         * Whether the files of the directory (and its sub-directories) need the checksums, by the directory depth.
+         */
+        private final Deque<Boolean> checksumDirectories = new ArrayDeque<>();
+
+        /**
+         * The number of the submitted checksum regenerations which have not completed yet. It's not bounded by the
+         * executor queue, as the checksums are regenerated by the walking thread when the queue is full.
+         */
+        private final AtomicLong pending = new AtomicLong();
+
+        private final AtomicLong checked = new AtomicLong();
+
+        private final AtomicLong failed = new AtomicLong();
+
+        private ChecksumRegeneration(RepositoryPath startingPath,
+                                     boolean forceRegeneration)
+        {
+            this.startingPath = startingPath;
+            this.forceRegeneration = forceRegeneration;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir,
+                                                 BasicFileAttributes attrs)
+            throws IOException
+        {
+            boolean parentChecksumDirectory = !checksumDirectories.isEmpty() && checksumDirectories.peek();
+            // Skip directories which start with a dot (like, for example: .index)
+            boolean hidden = !dir.equals(startingPath) && dir.getFileName().toString().startsWith(".");
+
+            checksumDirectories.push(parentChecksumDirectory || !hidden && containsMetadata((RepositoryPath) dir));
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file,
+                                         BasicFileAttributes attrs)
+            throws IOException
+        {
+            RepositoryPath path = (RepositoryPath) file;
+            if (!attrs.isRegularFile() || !checksumDirectories.peek() ||
+                Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
+            {
+                return FileVisitResult.CONTINUE;
+            }
+
+            pending.incrementAndGet();
+            checksumExecutor.execute(() -> {
+                try
+                {
+                    LayoutFileSystemProvider provider = (LayoutFileSystemProvider) path.getFileSystem().provider();
+                    provider.writeChecksum(path, forceRegeneration);
+                }
+                catch (Exception e)
+                {
+                    failed.incrementAndGet();
+                    logger.error(String.format("Failed to write checksum for [%s]", path), e);
+                }
+                finally
+                {
+                    long count = checked.incrementAndGet();
+                    if (count % PROGRESS_LOG_INTERVAL == 0)
+                    {
+                        logger.info("Regenerating checksums in [{}]: [{}] files checked, last [{}].",
+                                    startingPath, count, path);
+                    }
+                    if (pending.decrementAndGet() == 0)
+                    {
+                        synchronized (pending)
+                        {
+                            pending.notifyAll();
+                        }
+                    }
+                }
+            });
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file,
+                                               IOException e)
+        {
+            logger.error(String.format("Failed to read [%s]", file), e);
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir,
+                                                  IOException e)
+        {
+            checksumDirectories.pop();
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        private boolean containsMetadata(RepositoryPath dir)
+            throws IOException
+        {
+            try (Stream<Path> pathStream = Files.list(dir))
+            {
+                return pathStream.anyMatch(p -> {
+                    try
+                    {
+                        return Boolean.TRUE.equals(RepositoryFiles.isMetadata((RepositoryPath) p));
+                    }
+                    catch (IOException e)
+                    {
+                        logger.error(String.format("Failed to read attributes for [%s]", p), e);
+                    }
+                    return false;
+                });
+            }
+        }
+
+        private void await()
+        {
+            synchronized (pending)
+            {
+                while (pending.get() > 0)
+                {
+                    try
+                    {
+                        pending.wait();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+
+                        return;
+                    }
+                }
+            }
+        }
+
+        private long getElapsedMillis()
+        {
+            return System.currentTimeMillis() - startTime;
+        }
+
+    }
 }
@@ -7,6 +7,7 @@ import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry
 import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.MutableStorage;
@@ -55,6 +56,9 @@ public class ConfigurationManagementServiceImpl
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
     /**
      * Yes, this is a state object.
      * It is protected by the {@link #configurationLock} here
@@ -64,6 +68,14 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * The immutable copy of the {@link #configuration}, which is built once per modification, while the
+     * {@link #configurationLock} is held, and is shared by all the readers.
+     *
+     * @see #modifyInLock(Consumer, boolean)
+     */
+    private volatile Configuration configurationSnapshot;
+
     @PostConstruct
     public void init()
     {
@@ -102,17 +114,7 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
-        final Lock readLock = configurationLock.readLock();
-        readLock.lock();
-
-        try
-        {
-            return new Configuration(configuration);
-        }
-        finally
-        {
-            readLock.unlock();
-        }
+        return configurationSnapshot;
     }
 
     @Override
@@ -571,6 +573,11 @@ public class ConfigurationManagementServiceImpl
         {
             operation.accept(configuration);
 
+            configurationSnapshot = new Configuration(configuration);
+
+            // The group members and the routing rules can be changed by any of the operations.
+            groupRepositoryPathResolutionCache.invalidateAll();
+
             if (storeInFile)
             {
                 configurationFileManager.store(configuration);
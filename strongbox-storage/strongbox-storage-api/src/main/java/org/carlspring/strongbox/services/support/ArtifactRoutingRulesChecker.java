@@ -4,15 +4,11 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
 import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,74 +22,32 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    /**
+     * The routing rules of the latest configuration snapshot, which is replaced on every configuration change.
+     */
+    private volatile CompiledRoutingRules compiledRoutingRules = new CompiledRoutingRules(null);
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final List<RoutingRule> denyRules = routingRules.getDenied();
-        final List<RoutingRule> acceptRules = routingRules.getAccepted();
-
-        return fitsRoutingRules(groupRepository, repositoryPath, denyRules) &&
-               !fitsRoutingRules(groupRepository, repositoryPath, acceptRules);
-    }
-
-    private boolean fitsRoutingRules(Repository groupRepository,
-                                     RepositoryPath repositoryPath,
-                                     List<RoutingRule> routingRules)
-            throws IOException
-    {
-
         String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
 
-        return routingRules.stream()
-                           .filter(routingRule -> repositoryMatchesExactly(groupRepository, routingRule)
-                                                  || repositoryStorageIdMatches(groupRepository.getStorage().getId(),
-                                                                                routingRule)
-                                                  || repositoryIdMatches(groupRepository.getId(), routingRule)
-                                                  || allMatches(routingRule))
-                           .filter(routingRule -> routingRule.getRegex().matcher(artifactPath).matches())
-                           .flatMap(routingRule -> routingRule.getRepositories().stream())
-                           .filter(routingRuleRepository ->
-                                           repositoryMatchesExactly(subRepository, routingRuleRepository)
-                                           || repositoryStorageIdMatches(subRepository.getStorage().getId(),
-                                                                         routingRuleRepository)
-                                           || repositoryIdMatches(subRepository.getId(), routingRuleRepository)
-                                           || allMatches(routingRuleRepository))
-                           .findFirst()
-                           .isPresent();
+        return getCompiledRoutingRules().isDenied(groupRepository, repositoryPath.getRepository(), artifactPath);
     }
 
-
-    private boolean repositoryMatchesExactly(Repository repository,
-                                             RepositoryIdentifiable repositoryIdentifiable)
+    private CompiledRoutingRules getCompiledRoutingRules()
     {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(repository.getStorage().getId())) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repository.getId()));
-    }
+        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
 
-    private boolean repositoryStorageIdMatches(String storageId,
-                                               RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(storageId)) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
-    }
+        CompiledRoutingRules result = compiledRoutingRules;
+        if (result.getRoutingRules() != routingRules)
+        {
+            result = new CompiledRoutingRules(routingRules);
+            compiledRoutingRules = result;
+        }
 
-    private boolean repositoryIdMatches(String repositoryId,
-                                        RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repositoryId));
+        return result;
     }
 
-    private boolean allMatches(RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
-    }
 }
@@ -52,6 +52,14 @@ public class ArtifactStoredEventListener extends AsyncArtifactEntryHandler
             return null;
         }
         
+        // The archive filenames are listed while the archive is being stored, unless it's stored by other means. The
+        // listing is empty if the stored archive could not be listed, so it's not read again only to fail again.
+        ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
+        if (artifactArchiveListing != null)
+        {
+            return null;
+        }
+
         final Repository repository = repositoryPath.getRepository();
         final LayoutProvider layoutProvider = layoutProviderRegistry.getProvider(repository.getLayout());
         final Set<String> archiveFilenames = layoutProvider.listArchiveFilenames(repositoryPath);
@@ -60,7 +68,6 @@ public class ArtifactStoredEventListener extends AsyncArtifactEntryHandler
             return null;
         }
 
-        ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
         if (artifactArchiveListing == null)
         {
             artifactArchiveListing = new ArtifactArchiveListing();
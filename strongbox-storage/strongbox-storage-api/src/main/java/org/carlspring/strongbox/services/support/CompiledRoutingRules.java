@@ -0,0 +1,190 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The {@link RoutingRules} of one configuration snapshot, which are pre-filtered by the group repository and the
+ * member repository, so that only the path patterns are left to check for each member repository path.
+ * <br>
+ * The rules of each group and member repository pair are filtered once, when the pair is checked for the first time.
+ *
+ * @see ArtifactRoutingRulesChecker
+ */
+class CompiledRoutingRules
+{
+
+    private final RoutingRules routingRules;
+
+    private final List<CompiledRoutingRule> denyRules;
+
+    private final List<CompiledRoutingRule> acceptRules;
+
+    private final Map<String, MemberRoutingRules> memberRoutingRules = new ConcurrentHashMap<>();
+
+    CompiledRoutingRules(RoutingRules routingRules)
+    {
+        this.routingRules = routingRules;
+
+        if (routingRules == null)
+        {
+            this.denyRules = Collections.emptyList();
+            this.acceptRules = Collections.emptyList();
+        }
+        else
+        {
+            this.denyRules = compile(routingRules.getDenied());
+            this.acceptRules = compile(routingRules.getAccepted());
+        }
+    }
+
+    private static List<CompiledRoutingRule> compile(List<RoutingRule> routingRules)
+    {
+        List<CompiledRoutingRule> result = new ArrayList<>(routingRules.size());
+        for (RoutingRule routingRule : routingRules)
+        {
+            result.add(new CompiledRoutingRule(routingRule));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the routing rules, which this instance was compiled from
+     */
+    RoutingRules getRoutingRules()
+    {
+        return routingRules;
+    }
+
+    boolean isDenied(Repository groupRepository,
+                     Repository subRepository,
+                     String artifactPath)
+    {
+        String storageId = StringUtils.trimToEmpty(groupRepository.getStorage().getId());
+        String repositoryId = StringUtils.trimToEmpty(groupRepository.getId());
+        String subStorageId = StringUtils.trimToEmpty(subRepository.getStorage().getId());
+        String subRepositoryId = StringUtils.trimToEmpty(subRepository.getId());
+
+        String key = storageId + ":" + repositoryId + ">" + subStorageId + ":" + subRepositoryId;
+
+        return memberRoutingRules.computeIfAbsent(key,
+                                                  k -> new MemberRoutingRules(storageId, repositoryId,
+                                                                              subStorageId, subRepositoryId))
+                                 .isDenied(artifactPath);
+    }
+
+    private class MemberRoutingRules
+    {
+
+        private final List<Pattern> denyPatterns;
+
+        private final List<Pattern> acceptPatterns;
+
+        private MemberRoutingRules(String storageId,
+                                   String repositoryId,
+                                   String subStorageId,
+                                   String subRepositoryId)
+        {
+            this.denyPatterns = filter(denyRules, storageId, repositoryId, subStorageId, subRepositoryId);
+            this.acceptPatterns = filter(acceptRules, storageId, repositoryId, subStorageId, subRepositoryId);
+        }
+
+        private List<Pattern> filter(List<CompiledRoutingRule> routingRules,
+                                     String storageId,
+                                     String repositoryId,
+                                     String subStorageId,
+                                     String subRepositoryId)
+        {
+            List<Pattern> result = new ArrayList<>();
+            for (CompiledRoutingRule routingRule : routingRules)
+            {
+                if (routingRule.group.matches(storageId, repositoryId) &&
+                    routingRule.repositories.stream().anyMatch(r -> r.matches(subStorageId, subRepositoryId)))
+                {
+                    result.add(routingRule.regex);
+                }
+            }
+
+            return result.isEmpty() ? Collections.emptyList() : result;
+        }
+
+        private boolean isDenied(String artifactPath)
+        {
+            return matches(denyPatterns, artifactPath) && !matches(acceptPatterns, artifactPath);
+        }
+
+        private boolean matches(List<Pattern> patterns,
+                                String artifactPath)
+        {
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(artifactPath).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+    private static class CompiledRoutingRule
+    {
+
+        private final RepositoryMatcher group;
+
+        private final Pattern regex;
+
+        private final List<RepositoryMatcher> repositories;
+
+        private CompiledRoutingRule(RoutingRule routingRule)
+        {
+            this.group = new RepositoryMatcher(routingRule);
+            this.regex = routingRule.getRegex();
+
+            List<RepositoryMatcher> repositories = new ArrayList<>(routingRule.getRepositories().size());
+            routingRule.getRepositories().forEach(r -> repositories.add(new RepositoryMatcher(r)));
+            this.repositories = repositories;
+        }
+
+    }
+
+    /**
+     * Matches the repositories by the storage id and the repository id, where the empty id matches any id.
+     */
+    private static class RepositoryMatcher
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private RepositoryMatcher(RepositoryIdentifiable repositoryIdentifiable)
+        {
+            this.storageId = StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId());
+            this.repositoryId = StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId());
+        }
+
+        private boolean matches(String storageId,
+                                String repositoryId)
+        {
+            return (this.storageId.isEmpty() || this.storageId.equals(storageId)) &&
+                   (this.repositoryId.isEmpty() || this.repositoryId.equals(repositoryId));
+        }
+
+    }
+
+}
@@ -3,6 +3,7 @@ package org.carlspring.strongbox.storage.search;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
 
@@ -16,6 +17,10 @@ public class SearchResults
     @JsonProperty("artifact")
     private Set<SearchResult> results = new LinkedHashSet<>();
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("continuationToken")
+    private String continuationToken;
+
 
     public SearchResults()
     {
@@ -31,6 +36,19 @@ public class SearchResults
         this.results = results;
     }
 
+    /**
+     * @return the token of the following page, if the results are keyset paginated and there can be more results
+     */
+    public String getContinuationToken()
+    {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken)
+    {
+        this.continuationToken = continuationToken;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,234 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArchiveListingInputStreamTest
+{
+
+    private static final Set<String> FILENAMES = new HashSet<>(Arrays.asList("META-INF/MANIFEST.MF",
+                                                                             "org/carlspring/Foo.class",
+                                                                             "org/carlspring/bar.bin"));
+
+    @Test
+    public void testZipIsListedWhileWritten()
+        throws IOException
+    {
+        assertListedWhileWritten(ZipArchiveListingFunction.INSTANCE, zip());
+    }
+
+    @Test
+    public void testTarIsListedWhileWritten()
+        throws IOException
+    {
+        assertListedWhileWritten(TarArchiveListingFunction.INSTANCE, tar(out -> out));
+    }
+
+    @Test
+    public void testTarGzIsListedWhileWritten()
+        throws IOException
+    {
+        assertListedWhileWritten(TarGzArchiveListingFunction.INSTANCE, tar(GzipCompressorOutputStream::new));
+    }
+
+    @Test
+    public void testTarBz2IsListedWhileWritten()
+        throws IOException
+    {
+        assertListedWhileWritten(Bzip2ArchiveListingFunction.INSTANCE, tar(BZip2CompressorOutputStream::new));
+    }
+
+    @Test
+    public void testCorruptArchiveIsWritten()
+        throws IOException
+    {
+        byte[] content = "not a gzip stream".getBytes(StandardCharsets.UTF_8);
+
+        SingleReadInputStream source = new SingleReadInputStream(content);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        ArchiveListingInputStream archiveIs = new ArchiveListingInputStream(source, target);
+        try
+        {
+            assertThrows(IOException.class, () -> TarGzArchiveListingFunction.INSTANCE.listFilenames(archiveIs));
+        }
+        finally
+        {
+            archiveIs.close();
+        }
+
+        assertArrayEquals(content, target.toByteArray());
+        assertEquals(content.length, archiveIs.getByteCount());
+    }
+
+    private void assertListedWhileWritten(ArchiveStreamListingFunction archiveListingFunction,
+                                          byte[] archive)
+        throws IOException
+    {
+        SingleReadInputStream source = new SingleReadInputStream(archive);
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        Set<String> filenames;
+        ArchiveListingInputStream archiveIs = new ArchiveListingInputStream(source, target);
+        try
+        {
+            filenames = archiveListingFunction.listFilenames(archiveIs);
+        }
+        finally
+        {
+            archiveIs.close();
+        }
+
+        assertEquals(FILENAMES, filenames);
+        assertArrayEquals(archive, target.toByteArray());
+        assertEquals(archive.length, archiveIs.getByteCount());
+        assertEquals(archive.length, source.bytesRead);
+        assertFalse(source.closed);
+    }
+
+    private byte[] zip()
+        throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ArchiveOutputStream zos = new ZipArchiveOutputStream(result))
+        {
+            for (String filename : FILENAMES)
+            {
+                zos.putArchiveEntry(new ZipArchiveEntry(filename));
+                zos.write(content(filename));
+                zos.closeArchiveEntry();
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    private byte[] tar(CompressorFunction compressor)
+        throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ArchiveOutputStream tos = new TarArchiveOutputStream(compressor.apply(result)))
+        {
+            for (String filename : FILENAMES)
+            {
+                byte[] content = content(filename);
+
+                TarArchiveEntry entry = new TarArchiveEntry(filename);
+                entry.setSize(content.length);
+
+                tos.putArchiveEntry(entry);
+                tos.write(content);
+                tos.closeArchiveEntry();
+            }
+        }
+
+        return result.toByteArray();
+    }
+
+    private byte[] content(String filename)
+    {
+        // Large enough for the archive readers to skip the entry content.
+        byte[] result = new byte[64 * 1024];
+        new Random(filename.hashCode()).nextBytes(result);
+
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface CompressorFunction
+    {
+
+        OutputStream apply(OutputStream out)
+            throws IOException;
+
+    }
+
+    /**
+     * Fails if the content is read again, in any way other than reading it through.
+     */
+    private static class SingleReadInputStream
+            extends ByteArrayInputStream
+    {
+
+        private long bytesRead;
+
+        private boolean closed;
+
+        private SingleReadInputStream(byte[] buf)
+        {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read()
+        {
+            int result = super.read();
+            if (result != -1)
+            {
+                bytesRead++;
+            }
+
+            return result;
+        }
+
+        @Override
+        public synchronized int read(byte[] b,
+                                     int off,
+                                     int len)
+        {
+            int result = super.read(b, off, len);
+            if (result > 0)
+            {
+                bytesRead += result;
+            }
+
+            return result;
+        }
+
+        @Override
+        public synchronized long skip(long n)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+
+        @Override
+        public synchronized void reset()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+
+    }
+
+}
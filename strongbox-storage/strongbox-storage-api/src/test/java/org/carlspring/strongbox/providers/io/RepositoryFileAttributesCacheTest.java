@@ -0,0 +1,57 @@
+package org.carlspring.strongbox.providers.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class RepositoryFileAttributesCacheTest
+{
+
+    @Test
+    public void testImmutableAttributesCached()
+    {
+        RepositoryFileAttributesCache cache = new RepositoryFileAttributesCache(100);
+        RepositoryPath path = mockPath("org/carlspring/foo/1.0/foo-1.0.jar");
+
+        cache.put(path, RepositoryFileAttributeType.ARTIFACT, Boolean.TRUE);
+        cache.put(path, RepositoryFileAttributeType.CHECKSUM, Boolean.FALSE);
+        cache.put(path, RepositoryFileAttributeType.EXPIRED, Boolean.FALSE);
+
+        RepositoryPath samePath = mockPath("org/carlspring/foo/1.0/foo-1.0.jar");
+        assertEquals(Boolean.TRUE, cache.get(samePath, RepositoryFileAttributeType.ARTIFACT));
+        assertEquals(Boolean.FALSE, cache.get(samePath, RepositoryFileAttributeType.CHECKSUM));
+        assertNull(cache.get(samePath, RepositoryFileAttributeType.EXPIRED));
+        assertNull(cache.get(mockPath("org/carlspring/foo/1.0/foo-1.0.pom"), RepositoryFileAttributeType.ARTIFACT));
+
+        cache.invalidate(samePath);
+        assertNull(cache.get(path, RepositoryFileAttributeType.ARTIFACT));
+        assertNull(cache.get(path, RepositoryFileAttributeType.CHECKSUM));
+    }
+
+    @Test
+    public void testCacheBounded()
+    {
+        RepositoryFileAttributesCache cache = new RepositoryFileAttributesCache(2);
+
+        for (int i = 0; i < 10; i++)
+        {
+            cache.put(mockPath("foo-" + i + ".jar"), RepositoryFileAttributeType.ARTIFACT, Boolean.TRUE);
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    private RepositoryPath mockPath(String path)
+    {
+        RepositoryPath result = Mockito.mock(RepositoryPath.class);
+        Mockito.doReturn(URI.create("strongbox:/storage0/releases/" + path)).when(result).toUri();
+
+        return result;
+    }
+
+}
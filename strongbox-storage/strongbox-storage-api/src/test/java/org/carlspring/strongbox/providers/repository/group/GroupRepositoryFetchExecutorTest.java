@@ -0,0 +1,213 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryFetchExecutor.MemberFetch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The member timeouts are counted by the {@link TestClock}, which is moved by the tests, so the fetches are never
+ * waited for the real timeout.
+ */
+public class GroupRepositoryFetchExecutorTest
+{
+
+    private static final long MEMBER_TIMEOUT_SECONDS = 10;
+
+    private TestClock clock;
+
+    private GroupRepositoryFetchExecutor executor;
+
+    @BeforeEach
+    public void setUp()
+    {
+        clock = new TestClock();
+    }
+
+    @AfterEach
+    public void shutdown()
+    {
+        if (executor != null)
+        {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testTimedOutMemberFallsBackToNextMember()
+        throws Exception
+    {
+        executor = new GroupRepositoryFetchExecutor(true, 2, 16, MEMBER_TIMEOUT_SECONDS, clock);
+
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MemberFetch<String> slowFetch = executor.submit(() -> {
+            slowStarted.countDown();
+            release.await();
+
+            return "slow";
+        });
+        assertTrue(slowStarted.await(30, TimeUnit.SECONDS));
+
+        clock.advance(TimeUnit.SECONDS.toMillis(MEMBER_TIMEOUT_SECONDS / 2));
+        MemberFetch<String> fastFetch = executor.submit(() -> "fast");
+
+        try
+        {
+            // The slow member has used up its timeout.
+            clock.advance(TimeUnit.SECONDS.toMillis(MEMBER_TIMEOUT_SECONDS / 2));
+            assertThrows(TimeoutException.class, slowFetch::await);
+
+            // The next member started later, so it still has the time to complete.
+            assertEquals("fast", fastFetch.await());
+        }
+        finally
+        {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testEachMemberHasItsOwnTimeout()
+        throws Exception
+    {
+        // A single thread, so the second fetch starts only after the first one completes.
+        executor = new GroupRepositoryFetchExecutor(true, 1, 16, MEMBER_TIMEOUT_SECONDS, clock);
+
+        CountDownLatch firstRelease = new CountDownLatch(1);
+        MemberFetch<String> firstFetch = executor.submit(() -> {
+            firstRelease.await();
+
+            return "first";
+        });
+
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch secondRelease = new CountDownLatch(1);
+        MemberFetch<String> secondFetch = executor.submit(() -> {
+            secondStarted.countDown();
+            secondRelease.await();
+
+            return "second";
+        });
+
+        clock.advance(TimeUnit.SECONDS.toMillis(MEMBER_TIMEOUT_SECONDS / 2));
+        firstRelease.countDown();
+        assertEquals("first", firstFetch.await());
+
+        // The timeout counted from the submission of the second fetch has passed, while the timeout counted from its
+        // start has not.
+        assertTrue(secondStarted.await(30, TimeUnit.SECONDS));
+        clock.advance(TimeUnit.SECONDS.toMillis(MEMBER_TIMEOUT_SECONDS) * 4 / 5);
+        secondRelease.countDown();
+        assertEquals("second", secondFetch.await());
+    }
+
+    @Test
+    public void testNotStartedMemberTimesOut()
+        throws Exception
+    {
+        executor = new GroupRepositoryFetchExecutor(true, 1, 16, MEMBER_TIMEOUT_SECONDS, clock);
+
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+
+            return "blocking";
+        });
+        MemberFetch<String> queuedFetch = executor.submit(() -> "queued");
+
+        try
+        {
+            clock.advance(TimeUnit.SECONDS.toMillis(MEMBER_TIMEOUT_SECONDS));
+            assertThrows(TimeoutException.class, queuedFetch::await);
+        }
+        finally
+        {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testCancelledMemberIsNotStarted()
+        throws Exception
+    {
+        executor = new GroupRepositoryFetchExecutor(true, 1, 16, MEMBER_TIMEOUT_SECONDS, clock);
+
+        CountDownLatch release = new CountDownLatch(1);
+        MemberFetch<String> blockingFetch = executor.submit(() -> {
+            release.await();
+
+            return "blocking";
+        });
+
+        AtomicBoolean cancelledFetchStarted = new AtomicBoolean();
+        MemberFetch<String> cancelledFetch = executor.submit(() -> {
+            cancelledFetchStarted.set(true);
+
+            return "cancelled";
+        });
+        MemberFetch<String> nextFetch = executor.submit(() -> "next");
+
+        cancelledFetch.cancel();
+        release.countDown();
+
+        // The single thread runs the fetches in the submission order, so the cancelled fetch would run before the
+        // next one.
+        assertEquals("blocking", blockingFetch.await());
+        assertEquals("next", nextFetch.await());
+        assertFalse(cancelledFetchStarted.get());
+    }
+
+    private static class TestClock
+            extends Clock
+    {
+
+        private final AtomicLong millis = new AtomicLong(System.currentTimeMillis());
+
+        void advance(long duration)
+        {
+            millis.addAndGet(duration);
+        }
+
+        @Override
+        public long millis()
+        {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return Instant.ofEpochMilli(millis());
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            return this;
+        }
+
+    }
+
+}
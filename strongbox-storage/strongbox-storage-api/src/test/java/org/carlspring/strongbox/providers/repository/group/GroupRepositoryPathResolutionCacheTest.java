@@ -0,0 +1,137 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache.GroupRepositoryPathResolution;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class GroupRepositoryPathResolutionCacheTest
+{
+
+    private static final String PATH = "org/carlspring/foo/1.0/foo-1.0.jar";
+
+    @Test
+    public void testResolutionCached()
+    {
+        GroupRepositoryPathResolutionCache cache = new GroupRepositoryPathResolutionCache(100, 30);
+
+        GroupRepositoryPathResolution resolution = cache.get(mockPath("group-1", PATH));
+        assertFalse(resolution.isCached());
+        resolution.resolve(mockPath("releases-3", PATH));
+
+        resolution = cache.get(mockPath("group-1", PATH));
+        assertTrue(resolution.isFound());
+        assertEquals("storage0", resolution.getStorageId());
+        assertEquals("releases-3", resolution.getRepositoryId());
+
+        // Each group repository has its own resolution.
+        resolution = cache.get(mockPath("group-2", PATH));
+        assertFalse(resolution.isCached());
+        resolution.resolve(null);
+
+        resolution = cache.get(mockPath("group-2", PATH));
+        assertTrue(resolution.isCached());
+        assertFalse(resolution.isFound());
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getNotFoundHits());
+        assertEquals(2, cache.getMisses());
+
+        // The path change in any repository invalidates the resolutions of all the group repositories.
+        cache.invalidate(mockPath("releases-1", PATH));
+        assertFalse(cache.get(mockPath("group-1", PATH)).isCached());
+        assertFalse(cache.get(mockPath("group-2", PATH)).isCached());
+    }
+
+    @Test
+    public void testNotFoundExpired()
+    {
+        GroupRepositoryPathResolutionCache cache = new GroupRepositoryPathResolutionCache(100, 0);
+
+        cache.get(mockPath("group-1", PATH)).resolve(null);
+        sleep();
+
+        assertFalse(cache.get(mockPath("group-1", PATH)).isCached());
+    }
+
+    @Test
+    public void testInvalidatedResolutionNotCached()
+    {
+        GroupRepositoryPathResolutionCache cache = new GroupRepositoryPathResolutionCache(100, 30);
+
+        GroupRepositoryPathResolution resolution = cache.get(mockPath("group-1", PATH));
+        // The path is stored while the group repository members are being traversed.
+        cache.invalidate(mockPath("releases-1", PATH));
+        resolution.resolve(null);
+
+        assertFalse(cache.get(mockPath("group-1", PATH)).isCached());
+    }
+
+    @Test
+    public void testManyGroupsResolvedOnce()
+    {
+        GroupRepositoryPathResolutionCache cache = new GroupRepositoryPathResolutionCache(1000, 30);
+
+        int groupCount = 20;
+        int pathCount = 50;
+        for (int i = 0; i < 10; i++)
+        {
+            for (int g = 0; g < groupCount; g++)
+            {
+                for (int p = 0; p < pathCount; p++)
+                {
+                    String path = "org/carlspring/foo/1." + p + "/foo-1." + p + ".jar";
+
+                    GroupRepositoryPathResolution resolution = cache.get(mockPath("group-" + g, path));
+                    if (!resolution.isCached())
+                    {
+                        resolution.resolve(p % 2 == 0 ? mockPath("releases-" + g, path) : null);
+                    }
+                }
+            }
+        }
+
+        assertEquals(groupCount * pathCount, cache.getMisses());
+        assertEquals(9 * groupCount * pathCount / 2, cache.getHits());
+        assertEquals(9 * groupCount * pathCount / 2, cache.getNotFoundHits());
+    }
+
+    private RepositoryPath mockPath(String repositoryId,
+                                    String path)
+    {
+        Storage storage = Mockito.mock(Storage.class);
+        Mockito.doReturn("storage0").when(storage).getId();
+
+        Repository repository = Mockito.mock(Repository.class);
+        Mockito.doReturn(repositoryId).when(repository).getId();
+        Mockito.doReturn(storage).when(repository).getStorage();
+
+        RepositoryPath relativePath = Mockito.mock(RepositoryPath.class);
+        Mockito.doReturn(path).when(relativePath).toString();
+
+        RepositoryPath result = Mockito.mock(RepositoryPath.class);
+        Mockito.doReturn(relativePath).when(result).relativize();
+        Mockito.doReturn(repository).when(result).getRepository();
+
+        return result;
+    }
+
+    private void sleep()
+    {
+        try
+        {
+            Thread.sleep(5);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProxyRepositoryPathFetchCoalescerTest
+{
+
+    private static final URI PATH_URI = URI.create("strongbox:/storage-common-proxies/maven-central/org/carlspring/test.jar");
+
+    private ProxyRepositoryPathFetchCoalescer coalescer;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp()
+    {
+        coalescer = new ProxyRepositoryPathFetchCoalescer();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFollowerSharesLeaderResult()
+        throws Exception
+    {
+        RepositoryPath leaderPath = mockPath();
+        RepositoryPath followerPath = mockPath();
+
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        Future<RepositoryPath> leaderResult = executor.submit(() -> coalescer.fetch(leaderPath, () -> {
+            leaderStarted.countDown();
+            awaitFollower();
+
+            return leaderPath;
+        }));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        RepositoryPath result = coalescer.fetch(followerPath, () -> {
+            throw new IllegalStateException("The follower should not fetch.");
+        });
+
+        assertSame(leaderPath, leaderResult.get(10, TimeUnit.SECONDS));
+        assertSame(followerPath, result);
+        assertEquals(1, coalescer.getLeaderFetches());
+        assertEquals(1, coalescer.getFollowerFetches());
+    }
+
+    @Test
+    public void testFollowerSharesNegativeResult()
+        throws Exception
+    {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        executor.submit(() -> coalescer.fetch(mockPath(), () -> {
+            leaderStarted.countDown();
+            awaitFollower();
+
+            return null;
+        }));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        assertNull(coalescer.fetch(mockPath(), () -> {
+            throw new IllegalStateException("The follower should not fetch.");
+        }));
+    }
+
+    @Test
+    public void testFollowerSharesFailure()
+        throws Exception
+    {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        executor.submit(() -> coalescer.fetch(mockPath(), () -> {
+            leaderStarted.countDown();
+            awaitFollower();
+
+            throw new IOException("Remote repository is not available.");
+        }));
+        assertTrue(leaderStarted.await(10, TimeUnit.SECONDS));
+
+        IOException e = assertThrows(IOException.class, () -> coalescer.fetch(mockPath(), () -> {
+            throw new IllegalStateException("The follower should not fetch.");
+        }));
+        assertEquals("Remote repository is not available.", e.getMessage());
+    }
+
+    @Test
+    public void testSequentialFetchesAreNotCoalesced()
+        throws Exception
+    {
+        RepositoryPath path = mockPath();
+
+        coalescer.fetch(path, () -> path);
+        coalescer.fetch(path, () -> path);
+
+        assertEquals(2, coalescer.getLeaderFetches());
+        assertEquals(0, coalescer.getFollowerFetches());
+    }
+
+    private RepositoryPath mockPath()
+    {
+        RepositoryPath path = mock(RepositoryPath.class);
+        when(path.toUri()).thenReturn(PATH_URI);
+
+        return path;
+    }
+
+    /**
+     * Blocks the leader until the follower has joined its fetch.
+     */
+    private void awaitFollower()
+        throws IOException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.getFollowerFetches() == 0)
+        {
+            if (System.nanoTime() - deadline > 0)
+            {
+                throw new IOException("The follower has not joined the fetch.");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+}
@@ -319,6 +319,30 @@ public class ArtifactEntryServiceTest
         assertEquals(Long.valueOf(1), c);
     }
 
+    /**
+     * Make sure that the exact coordinate search, which uses the coordinate search keys, ignores the case.
+     */
+    @Test
+    public void searchByExactCoordinateShouldIgnoreCase()
+    {
+        String lastId = null;
+        do
+        {
+            lastId = artifactEntryService.updateCoordinateSearchKeys(lastId, 100);
+        }
+        while (lastId != null);
+
+        String path = String.format("%s/%s/%s/%s", groupId, artifactId, "1.2.3", "jar");
+        NullArtifactCoordinates coordinates = new NullArtifactCoordinates(path.toUpperCase());
+
+        List<ArtifactEntry> result = artifactEntryService.findArtifactList(storageId, repositoryId, coordinates.getCoordinates(), true);
+        assertEquals(1, result.size());
+        assertEquals(path, ((NullArtifactCoordinates) result.get(0).getArtifactCoordinates()).getPath());
+
+        Long c = artifactEntryService.countArtifacts(storageId, repositoryId, coordinates.getCoordinates(), true);
+        assertEquals(Long.valueOf(1), c);
+    }
+
     public void displayAllEntries()
     {
         List<ArtifactEntry> result = findAll();
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -39,7 +40,13 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     private OutputStream cacheOutputStream;
     private Function<OutputStreamFunction, ?> cacheOutputStreamTemplate = this::doWithOutputStream;
     private Map<String, String> digestMap;
-    
+
+    /**
+     * The archive filenames, which are listed while the archive is being written, or <code>null</code> if the content
+     * was not listed. The filenames are empty if the archive could not be listed.
+     */
+    private Set<String> archiveFilenames;
+
     public LayoutOutputStream(OutputStream source)
             throws NoSuchAlgorithmException
     {
@@ -86,6 +93,16 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
         return digestMap;
     }
 
+    public Set<String> getArchiveFilenames()
+    {
+        return archiveFilenames;
+    }
+
+    public void setArchiveFilenames(Set<String> archiveFilenames)
+    {
+        this.archiveFilenames = archiveFilenames;
+    }
+
     protected String stringifyDigest(Function<byte[], String> digestStringifier,
                                      byte[] d)
     {
@@ -5,7 +5,6 @@ import org.carlspring.strongbox.providers.io.RepositoryPath;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -16,16 +15,15 @@ import org.apache.commons.compress.archivers.jar.JarArchiveInputStream;
  * @author Przemyslaw Fusik
  */
 public enum JarArchiveListingFunction
-        implements ArchiveListingFunction
+        implements ArchiveStreamListingFunction
 {
     INSTANCE;
 
     @Override
-    public Set<String> listFilenames(final RepositoryPath path)
+    public Set<String> listFilenames(final InputStream is)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
-             BufferedInputStream bis = new BufferedInputStream(is);
+        try (BufferedInputStream bis = new BufferedInputStream(is);
              ArchiveInputStream ais = new JarArchiveInputStream(bis))
         {
             return getEntryNames(ais);
@@ -0,0 +1,62 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the existing hosted repository metadata up to date with the stored and deleted artifacts, by applying just
+ * the artifact version to the metadata (see {@link org.carlspring.strongbox.storage.metadata.MavenMetadataManager#addArtifact(RepositoryPath)}).
+ * The full metadata rebuild is still available to repair the metadata.
+ */
+@Component
+public class MavenArtifactMetadataEventListener
+        extends BaseMavenArtifactEventListener
+{
+
+    @Inject
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        final Repository repository = getRepository(event);
+
+        if (!Maven2LayoutProvider.ALIAS.equals(repository.getLayout()) || !repository.isHostedRepository())
+        {
+            return;
+        }
+
+        boolean stored = event.getType() == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType();
+        if (!stored && event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        try
+        {
+            if (stored && !RepositoryFiles.isArtifact(path))
+            {
+                return;
+            }
+
+            List<RepositoryPath> metadataPaths = stored ? mavenMetadataManager.addArtifact(path)
+                                                        : mavenMetadataManager.removeArtifact(path);
+            metadataPaths.forEach(artifactEventListenerRegistry::dispatchArtifactMetadataStoredEvent);
+        }
+        catch (IOException e)
+        {
+            logger.error("Unable to update the metadata of file " + path, e);
+        }
+    }
+
+}
@@ -7,23 +7,41 @@ import org.carlspring.strongbox.providers.repository.GroupRepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryFetchExecutor;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryFetchExecutor.MemberFetch;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
+ * Fetches the group repository <code>maven-metadata.xml</code> in the member repositories, so that the expired proxy
+ * repository metadata is fetched from the remote repositories and merged into the group repository metadata.
+ * <br>
+ * If the member refresh interval is configured, then the member repository metadata is fetched at most once per interval
+ * for each group repository path, as the group repository metadata is updated anyway when the member repository
+ * metadata is stored. The interval delays the refresh of the expired proxy repository metadata, so it's disabled by
+ * default.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -47,6 +65,19 @@ public class MavenGroupRepositoryPathFetchEventListener
     @Inject
     private RepositoryProviderRegistry repositoryProviderRegistry;
 
+    @Inject
+    private GroupRepositoryFetchExecutor groupRepositoryFetchExecutor;
+
+    private final Cache<String, Boolean> refreshedPaths;
+
+    public MavenGroupRepositoryPathFetchEventListener(@Value("${strongbox.maven.groupMetadata.memberRefreshIntervalSeconds:0}") long memberRefreshIntervalSeconds)
+    {
+        refreshedPaths = CacheBuilder.newBuilder()
+                                     .maximumSize(10000)
+                                     .expireAfterWrite(memberRefreshIntervalSeconds, TimeUnit.SECONDS)
+                                     .build();
+    }
+
     @EventListener
     public void handle(final GroupRepositoryPathFetchEvent event)
             throws IOException
@@ -62,7 +93,15 @@ public class MavenGroupRepositoryPathFetchEventListener
             return;
         }
 
+        // The group repository metadata is fetched in the member repositories again, if it doesn't exist yet.
+        String refreshedPathKey = repositoryPath.toUri().toString();
+        if (refreshedPaths.getIfPresent(refreshedPathKey) != null && Files.exists(repositoryPath))
+        {
+            return;
+        }
+
         fetchInSubRepositories(repositoryPath);
+        refreshedPaths.put(refreshedPathKey, Boolean.TRUE);
     }
 
     /**
@@ -99,19 +138,38 @@ public class MavenGroupRepositoryPathFetchEventListener
         fetchPathsInParallel(fetchActions);
     }
 
+    /**
+     * Fetches the paths on the bounded {@link GroupRepositoryFetchExecutor} and waits for them to complete, but no
+     * longer than the configured member repository timeout for each of them.
+     */
     private void fetchPathsInParallel(final List<Callable<Path>> fetchActions)
     {
-        fetchActions
-                .parallelStream()
-                .forEach(action -> {
-                    try
-                    {
-                        action.call();
-                    }
-                    catch (Exception e)
-                    {
-                        logger.error(e.getMessage(), e);
-                    }
-                });
+        List<MemberFetch<Path>> fetches = new ArrayList<>(fetchActions.size());
+        for (Callable<Path> fetchAction : fetchActions)
+        {
+            fetches.add(groupRepositoryFetchExecutor.submit(fetchAction));
+        }
+
+        for (MemberFetch<Path> fetch : fetches)
+        {
+            try
+            {
+                fetch.await();
+            }
+            catch (TimeoutException e)
+            {
+                logger.warn("Timed out waiting for the member repository metadata fetch.");
+            }
+            catch (ExecutionException e)
+            {
+                logger.error(e.getCause().getMessage(), e.getCause());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                return;
+            }
+        }
     }
 }
@@ -3,6 +3,7 @@ package org.carlspring.strongbox.providers.layout;
 
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.artifact.archive.ArchiveStreamListingFunction;
 import org.carlspring.strongbox.artifact.archive.JarArchiveListingFunction;
 import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
 import org.carlspring.strongbox.providers.io.LayoutFileSystem;
@@ -38,6 +39,11 @@ public class Maven2LayoutProvider
 
     public static final String ALIAS = MavenArtifactCoordinates.LAYOUT_NAME;
 
+    /**
+     * How long the stored <code>maven-metadata.xml</code> is used before it's considered as expired.
+     */
+    public static final long METADATA_EXPIRATION_SECONDS = 10;
+
     private static final Logger logger = LoggerFactory.getLogger(Maven2LayoutProvider.class);
 
     @Inject
@@ -97,11 +103,11 @@ public class Maven2LayoutProvider
 
                     break;
                 case EXPIRED:
-                    final Instant tenSecondsAgo = Instant.now().minus(10, ChronoUnit.SECONDS);
+                    final Instant expiredBefore = Instant.now().minus(METADATA_EXPIRATION_SECONDS, ChronoUnit.SECONDS);
                     value = BooleanUtils.isTrue((Boolean) value) || (isMavenMetadata(repositoryPath)
                                                                      &&
                                                                      !RepositoryFiles.wasModifiedAfter(repositoryPath,
-                                                                                                       tenSecondsAgo));
+                                                                                                       expiredBefore));
 
                     result.put(attributeType, value);
 
@@ -166,6 +172,12 @@ public class Maven2LayoutProvider
         return Collections.emptySet();
     }
 
+    @Override
+    public ArchiveStreamListingFunction getArchiveListingFunction(final RepositoryPath repositoryPath)
+    {
+        return JarArchiveListingFunction.INSTANCE.supports(repositoryPath) ? JarArchiveListingFunction.INSTANCE : null;
+    }
+
     public boolean requiresGroupAggregation(final RepositoryPath repositoryPath)
     {
         return isMavenMetadata(repositoryPath) &&
@@ -121,7 +121,7 @@ public class IndexedMavenRepositoryFeatures
         IndexingContext context = repositoryIndexer.getIndexingContext();
 
         ScanningRequest scanningRequest = new ScanningRequest(context,
-                                                              new ReindexArtifactScanningListener(repositoryIndexer.getIndexer()),
+                                                              new ReindexArtifactScanningListener(repositoryIndexer),
                                                               path != null ? path : ".");
 
         ScanningResult scan = repositoryIndexer.getScanner().scan(scanningRequest);
@@ -151,6 +151,8 @@ public class IndexedMavenRepositoryFeatures
                 throw new ArtifactStorageException("Target repository not found!");
             }
 
+            // The source index is merged from its directory, so its pending changes are committed first.
+            sourceIndex.commit();
             targetIndex.getIndexingContext().merge(FSDirectory.open(sourceIndex.getIndexDir()));
         }
         catch (IOException e)
@@ -4,12 +4,10 @@ import java.io.IOException;
 
 import org.apache.maven.index.ArtifactContext;
 import org.apache.maven.index.ArtifactScanningListener;
-import org.apache.maven.index.Indexer;
 import org.apache.maven.index.ScanningResult;
 import org.apache.maven.index.context.IndexingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import static java.util.Arrays.asList;
 
 /**
  * @author carlspring
@@ -24,12 +22,12 @@ public class ReindexArtifactScanningListener
 
     private IndexingContext context;
 
-    private Indexer indexer;
+    private RepositoryIndexer repositoryIndexer;
 
 
-    public ReindexArtifactScanningListener(Indexer indexer)
+    public ReindexArtifactScanningListener(RepositoryIndexer repositoryIndexer)
     {
-        this.indexer = indexer;
+        this.repositoryIndexer = repositoryIndexer;
     }
 
     @Override
@@ -44,6 +42,15 @@ public class ReindexArtifactScanningListener
     {
         result.setTotalFiles(totalFiles);
 
+        try
+        {
+            repositoryIndexer.commit();
+        }
+        catch (IOException ex)
+        {
+            logger.error("Artifact index commit error", ex);
+        }
+
         logger.debug("Scanning finished; total files: {}; has exception: {}",
                      result.getTotalFiles(),
                      result.hasExceptions());
@@ -70,7 +77,7 @@ public class ReindexArtifactScanningListener
                          context.getId(),
                          context.getIndexDirectory().toString() );
 
-            getIndexer().addArtifactsToIndex(asList(ac), context);
+            repositoryIndexer.addArtifactToIndex(ac);
 
             totalFiles++;
         }
@@ -80,14 +87,14 @@ public class ReindexArtifactScanningListener
         }
     }
 
-    public Indexer getIndexer()
+    public RepositoryIndexer getRepositoryIndexer()
     {
-        return indexer;
+        return repositoryIndexer;
     }
 
-    public void setIndexer(Indexer indexer)
+    public void setRepositoryIndexer(RepositoryIndexer repositoryIndexer)
     {
-        this.indexer = indexer;
+        this.repositoryIndexer = repositoryIndexer;
     }
 
 }
@@ -6,14 +6,19 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
 
@@ -31,18 +36,58 @@ public class RepositoryIndexManager
      * K: storageId:repositoryId:type[local|remote]
      * V: index
      */
-    private Map<String, RepositoryIndexer> indexes = new LinkedHashMap<>();
+    private Map<String, RepositoryIndexer> indexes = new ConcurrentHashMap<>();
 
     @Inject
     private ConfigurationManager configurationManager;
 
+    @Value("${strongbox.maven.index.commit.intervalSeconds:5}")
+    private long commitIntervalSeconds;
+
+    private ScheduledExecutorService commitExecutor;
+
     public RepositoryIndexManager()
     {
     }
 
+    /**
+     * The indexers commit their changes in batches, so the remaining pending changes are committed periodically.
+     */
+    @PostConstruct
+    private void init()
+    {
+        commitExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "repository-index-commit");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        commitExecutor.scheduleWithFixedDelay(this::commitIndexers,
+                                              commitIntervalSeconds,
+                                              commitIntervalSeconds,
+                                              TimeUnit.SECONDS);
+    }
+
+    private void commitIndexers()
+    {
+        indexes.forEach((contextId, repositoryIndexer) ->
+                        {
+                            try
+                            {
+                                repositoryIndexer.commit();
+                            }
+                            catch (Exception e)
+                            {
+                                logger.error("Unable to commit indexer for contextId " + contextId, e);
+                            }
+                        });
+    }
+
     @PreDestroy
     private void close()
     {
+        commitExecutor.shutdown();
+
         indexes.forEach((contextId, repositoryIndexer) ->
                         {
                             try
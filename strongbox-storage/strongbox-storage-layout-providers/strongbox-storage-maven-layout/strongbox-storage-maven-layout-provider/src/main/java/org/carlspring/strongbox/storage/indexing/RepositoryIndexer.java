@@ -9,14 +9,17 @@ import org.carlspring.strongbox.storage.search.SearchResult;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BooleanQuery.Builder;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.apache.maven.index.Scanner;
 import org.apache.maven.index.*;
 import org.apache.maven.index.context.IndexCreator;
@@ -42,6 +45,12 @@ public class RepositoryIndexer
 
     private Indexer indexer;
 
+    private IndexerEngine indexerEngine;
+
+    private int maxPendingChanges = 1;
+
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
     private Scanner scanner;
 
     private List<IndexCreator> indexers;
@@ -82,15 +91,8 @@ public class RepositoryIndexer
             {
                 return;
             }
-            final ArtifactInfo artifactInfo = artifactContext.getArtifactInfo();
 
-            // preserve duplicates
-            if (CollectionUtils.isNotEmpty(
-                    search(artifactInfo)))
-            {
-                return;
-            }
-            getIndexer().addArtifactToIndex(artifactContext, indexingContext);
+            addArtifactToIndex(artifactContext);
         }
         catch (Exception e) // it's not really a critical problem, artifacts could be added to index later
         {
@@ -98,21 +100,72 @@ public class RepositoryIndexer
         }
     }
 
+    /**
+     * Adds or replaces the artifact document, which is keyed by the artifact <code>UINFO</code> term, so the unchanged
+     * artifacts are not indexed again. The change is visible to the searches right away, while it's committed along
+     * with the other pending changes.
+     */
+    public void addArtifactToIndex(final ArtifactContext artifactContext)
+            throws IOException
+    {
+        indexerEngine.update(indexingContext, artifactContext);
+
+        changed(1);
+    }
+
     public void delete(final Collection<ArtifactInfo> artifactInfos)
             throws IOException
     {
-        final List<ArtifactContext> delete = new ArrayList<>();
+        int deleted = 0;
         for (final ArtifactInfo artifactInfo : artifactInfos)
         {
             // preserve extra delete index records
-            if (CollectionUtils.isEmpty(search(artifactInfo)))
+            if (!exists(artifactInfo))
             {
                 continue;
             }
-            delete.add(new SafeArtifactContext(new ArtifactContext(null, null, null, artifactInfo, null)));
+
+            indexerEngine.remove(indexingContext,
+                                 new SafeArtifactContext(new ArtifactContext(null, null, null, artifactInfo, null)));
+            deleted++;
         }
 
-        getIndexer().deleteArtifactsFromIndex(delete, indexingContext);
+        changed(deleted);
+    }
+
+    /**
+     * Commits the pending index changes, if there are any.
+     */
+    public void commit()
+            throws IOException
+    {
+        if (pendingChanges.getAndSet(0) > 0)
+        {
+            indexingContext.commit();
+        }
+    }
+
+    private void changed(int changes)
+            throws IOException
+    {
+        if (changes > 0 && pendingChanges.addAndGet(changes) >= maxPendingChanges)
+        {
+            commit();
+        }
+    }
+
+    private boolean exists(final ArtifactInfo artifactInfo)
+            throws IOException
+    {
+        final IndexSearcher indexSearcher = indexingContext.acquireIndexSearcher();
+        try
+        {
+            return indexSearcher.count(new TermQuery(new Term(ArtifactInfo.UINFO, artifactInfo.getUinfo()))) > 0;
+        }
+        finally
+        {
+            indexingContext.releaseIndexSearcher(indexSearcher);
+        }
     }
 
     public Set<SearchResult> search(final ArtifactInfo artifactInfo)
@@ -307,12 +360,17 @@ public class RepositoryIndexer
     public void close()
             throws IOException
     {
+        commit();
         indexer.closeIndexingContext(indexingContext, false);
     }
 
     public void close(boolean deleteFiles)
             throws IOException
     {
+        if (!deleteFiles)
+        {
+            commit();
+        }
         indexingContext.close(deleteFiles);
     }
 
@@ -336,6 +394,31 @@ public class RepositoryIndexer
         this.indexer = indexer;
     }
 
+    public IndexerEngine getIndexerEngine()
+    {
+        return indexerEngine;
+    }
+
+    public void setIndexerEngine(IndexerEngine indexerEngine)
+    {
+        this.indexerEngine = indexerEngine;
+    }
+
+    public int getMaxPendingChanges()
+    {
+        return maxPendingChanges;
+    }
+
+    /**
+     * @param maxPendingChanges
+     *            the number of the index changes which are committed right away, while the fewer changes are
+     *            committed by the {@link RepositoryIndexManager} periodically
+     */
+    public void setMaxPendingChanges(int maxPendingChanges)
+    {
+        this.maxPendingChanges = maxPendingChanges;
+    }
+
     public Scanner getScanner()
     {
         return scanner;
@@ -13,11 +13,13 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
+import org.apache.maven.index.IndexerEngine;
 import org.apache.maven.index.context.IndexCreator;
 import org.apache.maven.index.context.IndexingContext;
 import org.apache.maven.index.creator.JarFileContentsIndexCreator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.stereotype.Component;
@@ -41,6 +43,12 @@ public class RepositoryIndexerFactory
     @Inject
     private ConfigurationManager configurationManager;
 
+    @Inject
+    private IndexerEngine indexerEngine;
+
+    @Value("${strongbox.maven.index.commit.maxPendingChanges:1000}")
+    private int maxPendingChanges;
+
     public RepositoryIndexer createRepositoryIndexer(String storageId,
                                                      String repositoryId,
                                                      String indexType,
@@ -66,6 +74,8 @@ public class RepositoryIndexerFactory
         repositoryIndexer.setIndexDir(indexDir);
         repositoryIndexer.setIndexingContext(indexingContext);
         repositoryIndexer.setIndexer(indexerConfiguration.getIndexer());
+        repositoryIndexer.setIndexerEngine(indexerEngine);
+        repositoryIndexer.setMaxPendingChanges(maxPendingChanges);
         repositoryIndexer.setScanner(indexerConfiguration.getScanner());
         repositoryIndexer.setConfiguration(configurationManager.getConfiguration());
         repositoryIndexer.setApplicationContext(applicationContext);
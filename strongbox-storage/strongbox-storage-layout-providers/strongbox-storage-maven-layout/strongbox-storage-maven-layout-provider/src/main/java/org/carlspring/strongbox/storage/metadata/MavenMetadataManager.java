@@ -18,28 +18,44 @@ import org.carlspring.strongbox.storage.repository.UnknownRepositoryTypeExceptio
 import javax.inject.Inject;
 import java.io.*;
 import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.Plugin;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
 import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
 import org.apache.maven.artifact.repository.metadata.Versioning;
 import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.index.artifact.Gav;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.codehaus.plexus.util.WriterFactory;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import static org.carlspring.strongbox.providers.layout.LayoutProviderRegistry.getLayoutProvider;
 
@@ -61,6 +77,15 @@ public class MavenMetadataManager
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    private final Cache<URI, CachedMetadata> metadataCache;
+
+    public MavenMetadataManager(@Value("${strongbox.maven.metadataCache.size:10000}") long metadataCacheSize)
+    {
+        metadataCache = CacheBuilder.newBuilder()
+                                    .maximumSize(metadataCacheSize)
+                                    .expireAfterAccess(1, TimeUnit.HOURS)
+                                    .build();
+    }
 
     public Metadata readMetadata(MavenArtifact artifact)
             throws IOException,
@@ -92,14 +117,33 @@ public class MavenMetadataManager
     public Metadata readMetadata(Path artifactBasePath)
             throws IOException, XmlPullParserException
     {
-        Path metadataPath = MetadataHelper.getMetadataPath(artifactBasePath);
-        Metadata metadata;
+        return readMetadataFile(MetadataHelper.getMetadataPath(artifactBasePath));
+    }
+
+    /**
+     * Reads the metadata file, the parsed metadata is cached until the file changes, so the callers get a copy of
+     * the cached metadata, which they are free to modify.
+     */
+    private Metadata readMetadataFile(Path metadataPath)
+            throws IOException, XmlPullParserException
+    {
+        BasicFileAttributes attributes = Files.readAttributes(metadataPath, BasicFileAttributes.class);
+        URI cacheKey = metadataPath.toUri();
 
+        CachedMetadata cachedMetadata = metadataCache.getIfPresent(cacheKey);
+        if (cachedMetadata != null && cachedMetadata.isUpToDate(attributes))
+        {
+            return cachedMetadata.metadata.clone();
+        }
+
+        Metadata metadata;
         try (InputStream is = Files.newInputStream(metadataPath))
         {
             metadata = readMetadata(is);
         }
 
+        metadataCache.put(cacheKey, new CachedMetadata(attributes, metadata.clone()));
+
         return metadata;
     }
 
@@ -141,6 +185,11 @@ public class MavenMetadataManager
 
                              os.flush();
                          }
+
+                         metadataCache.put(metadataPath.toUri(),
+                                           new CachedMetadata(Files.readAttributes(metadataPath,
+                                                                                   BasicFileAttributes.class),
+                                                              metadata.clone()));
                      }
                      catch (Exception ex)
                      {
@@ -150,6 +199,248 @@ public class MavenMetadataManager
         );
     }
 
+    /**
+     * Applies the stored artifact to the existing metadata (adds the version and the timestamped snapshot version),
+     * instead of regenerating the metadata by walking the artifact directories.
+     * <br>
+     * The metadata which doesn't exist yet is not created here, it's deployed by the client along with the artifact
+     * or generated by the metadata rebuild.
+     *
+     * @return the metadata paths which have been updated
+     */
+    public List<RepositoryPath> addArtifact(RepositoryPath artifactPath)
+            throws IOException
+    {
+        Gav artifact = MavenArtifactUtils.convertPathToGav(artifactPath);
+        if (artifact == null || artifact.getVersion() == null || artifact.isHash() || artifact.isSignature())
+        {
+            return Collections.emptyList();
+        }
+
+        RepositoryPath artifactBasePath = artifactPath.getParent().getParent();
+        String baseVersion = artifact.isSnapshot() ? ArtifactUtils.toSnapshotVersion(artifact.getVersion())
+                                                   : artifact.getVersion();
+
+        List<RepositoryPath> result = new ArrayList<>();
+        if (updateMetadata(artifactBasePath, null, MetadataType.ARTIFACT_ROOT_LEVEL,
+                           metadata -> addVersion(metadata, baseVersion)))
+        {
+            result.add(artifactBasePath.resolve(MetadataHelper.MAVEN_METADATA_XML));
+        }
+
+        if (ArtifactUtils.isSnapshot(baseVersion) && !baseVersion.equals(artifact.getVersion()) &&
+            updateMetadata(artifactBasePath, baseVersion, MetadataType.SNAPSHOT_VERSION_LEVEL,
+                           metadata -> addSnapshotVersion(metadata, artifact)))
+        {
+            result.add(artifactBasePath.resolve(baseVersion).resolve(MetadataHelper.MAVEN_METADATA_XML));
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes the deleted artifact from the existing metadata: the timestamped snapshot is removed from the snapshot
+     * version level metadata, and the version is removed from the artifact level metadata (with the latest and release
+     * versions recalculated), once the version directory doesn't contain any other artifacts.
+     *
+     * @return the metadata paths which have been updated
+     */
+    public List<RepositoryPath> removeArtifact(RepositoryPath artifactPath)
+            throws IOException
+    {
+        Gav artifact = MavenArtifactUtils.convertPathToGav(artifactPath);
+        if (artifact == null || artifact.getVersion() == null || artifact.isHash() || artifact.isSignature())
+        {
+            return Collections.emptyList();
+        }
+
+        RepositoryPath versionPath = artifactPath.getParent();
+        RepositoryPath artifactBasePath = versionPath.getParent();
+        String baseVersion = artifact.isSnapshot() ? ArtifactUtils.toSnapshotVersion(artifact.getVersion())
+                                                   : artifact.getVersion();
+
+        List<RepositoryPath> result = new ArrayList<>();
+        if (ArtifactUtils.isSnapshot(baseVersion) && !baseVersion.equals(artifact.getVersion()) &&
+            updateMetadata(artifactBasePath, baseVersion, MetadataType.SNAPSHOT_VERSION_LEVEL,
+                           metadata -> removeSnapshotVersion(metadata, artifact)))
+        {
+            result.add(versionPath.resolve(MetadataHelper.MAVEN_METADATA_XML));
+        }
+
+        if (!containsArtifacts(versionPath) &&
+            updateMetadata(artifactBasePath, null, MetadataType.ARTIFACT_ROOT_LEVEL,
+                           metadata -> removeVersion(metadata, baseVersion)))
+        {
+            result.add(artifactBasePath.resolve(MetadataHelper.MAVEN_METADATA_XML));
+        }
+
+        return result;
+    }
+
+    private boolean containsArtifacts(RepositoryPath versionPath)
+            throws IOException
+    {
+        if (!Files.isDirectory(versionPath))
+        {
+            return false;
+        }
+
+        try (Stream<Path> paths = Files.list(versionPath))
+        {
+            return paths.anyMatch(p -> {
+                try
+                {
+                    return RepositoryFiles.isArtifact((RepositoryPath) p);
+                }
+                catch (IOException e)
+                {
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        }
+    }
+
+    private boolean updateMetadata(RepositoryPath artifactBasePath,
+                                   String version,
+                                   MetadataType metadataType,
+                                   Predicate<Metadata> delta)
+            throws IOException
+    {
+        MutableBoolean updated = new MutableBoolean();
+        doInLock(artifactBasePath, path ->
+        {
+            Path metadataPath = MetadataHelper.getMetadataPath(artifactBasePath, version, metadataType);
+            if (!Files.exists(metadataPath))
+            {
+                return;
+            }
+
+            try
+            {
+                Metadata metadata = readMetadataFile(metadataPath);
+                if (!delta.test(metadata))
+                {
+                    return;
+                }
+
+                storeMetadata(artifactBasePath, version, metadata, metadataType);
+                updated.setTrue();
+            }
+            catch (IOException | XmlPullParserException e)
+            {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+
+        return updated.booleanValue();
+    }
+
+    private boolean addVersion(Metadata metadata,
+                               String version)
+    {
+        if (metadata.getVersioning() == null)
+        {
+            metadata.setVersioning(new Versioning());
+        }
+
+        Versioning versioning = metadata.getVersioning();
+        List<String> versions = versioning.getVersions();
+        if (versions.contains(version))
+        {
+            return false;
+        }
+
+        VersionComparator versionComparator = new VersionComparator();
+
+        versions.add(version);
+        versions.sort(versionComparator);
+
+        versioning.setLatest(versions.get(versions.size() - 1));
+        if (!ArtifactUtils.isSnapshot(version) &&
+            (versioning.getRelease() == null || versionComparator.compare(version, versioning.getRelease()) > 0))
+        {
+            versioning.setRelease(version);
+        }
+
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private boolean removeVersion(Metadata metadata,
+                                  String version)
+    {
+        Versioning versioning = metadata.getVersioning();
+        if (versioning == null || !versioning.getVersions().contains(version))
+        {
+            return false;
+        }
+
+        List<String> versions = versioning.getVersions();
+        versions.remove(version);
+        versions.sort(new VersionComparator());
+
+        versioning.setLatest(versions.isEmpty() ? null : versions.get(versions.size() - 1));
+        versioning.setRelease(versions.stream()
+                                      .filter(v -> !ArtifactUtils.isSnapshot(v))
+                                      .reduce((first, second) -> second)
+                                      .orElse(null));
+
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private boolean addSnapshotVersion(Metadata metadata,
+                                       Gav artifact)
+    {
+        if (metadata.getVersioning() == null)
+        {
+            metadata.setVersioning(new Versioning());
+        }
+
+        Versioning versioning = metadata.getVersioning();
+        List<SnapshotVersion> snapshotVersions = versioning.getSnapshotVersions();
+        if (snapshotVersions.stream().anyMatch(v -> isSnapshotVersionOf(v, artifact)))
+        {
+            return false;
+        }
+
+        snapshotVersions.add(MetadataHelper.createSnapshotVersion(artifact.getGroupId(), artifact.getArtifactId(),
+                                                                  artifact.getVersion(), artifact.getClassifier(),
+                                                                  artifact.getExtension()));
+        snapshotVersions.sort(new SnapshotVersionComparator());
+
+        MetadataHelper.setupSnapshotVersioning(versioning);
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private boolean removeSnapshotVersion(Metadata metadata,
+                                          Gav artifact)
+    {
+        Versioning versioning = metadata.getVersioning();
+        if (versioning == null || !versioning.getSnapshotVersions().removeIf(v -> isSnapshotVersionOf(v, artifact)))
+        {
+            return false;
+        }
+
+        MetadataHelper.setupSnapshotVersioning(versioning);
+        MetadataHelper.setLastUpdated(versioning);
+
+        return true;
+    }
+
+    private boolean isSnapshotVersionOf(SnapshotVersion snapshotVersion,
+                                        Gav artifact)
+    {
+        return artifact.getVersion().equals(snapshotVersion.getVersion()) &&
+               Objects.equals(StringUtils.defaultString(artifact.getClassifier()),
+                              StringUtils.defaultString(snapshotVersion.getClassifier())) &&
+               Objects.equals(artifact.getExtension(), snapshotVersion.getExtension());
+    }
+
     /**
      * Generate a metadata file for an artifact.
      */
@@ -386,7 +677,13 @@ public class MavenMetadataManager
     {
         doInLock(metadataBasePath, path ->
         {
-            metadata.merge(mergeMetadata);
+            // The unchanged metadata is not stored again, so that it keeps its last modified time (and ETag).
+            Metadata originalMetadata = metadata.clone();
+            if (!metadata.merge(mergeMetadata) || !isChangedByMerge(originalMetadata, metadata))
+            {
+                logger.debug("Metadata {} is up to date.", metadataBasePath);
+                return;
+            }
 
             Versioning versioning = metadata.getVersioning();
             if (versioning.getVersions() != null)
@@ -409,6 +706,84 @@ public class MavenMetadataManager
         });
     }
 
+    /**
+     * {@link Metadata#merge(Metadata)} reports a change whenever the merged metadata is not older than the target one,
+     * even if nothing but the last updated timestamp is taken from it, so the merged fields are compared instead.
+     */
+    private boolean isChangedByMerge(Metadata originalMetadata,
+                                     Metadata mergedMetadata)
+    {
+        if (!Objects.equals(originalMetadata.getVersion(), mergedMetadata.getVersion()) ||
+            !isSameList(originalMetadata.getPlugins(), mergedMetadata.getPlugins(), this::isSamePlugin))
+        {
+            return true;
+        }
+
+        Versioning originalVersioning = originalMetadata.getVersioning();
+        Versioning mergedVersioning = mergedMetadata.getVersioning();
+        if (originalVersioning == null || mergedVersioning == null)
+        {
+            return originalVersioning != mergedVersioning;
+        }
+
+        return !Objects.equals(originalVersioning.getLatest(), mergedVersioning.getLatest()) ||
+               !Objects.equals(originalVersioning.getRelease(), mergedVersioning.getRelease()) ||
+               !Objects.equals(originalVersioning.getVersions(), mergedVersioning.getVersions()) ||
+               !isSameSnapshot(originalVersioning.getSnapshot(), mergedVersioning.getSnapshot()) ||
+               !isSameList(originalVersioning.getSnapshotVersions(), mergedVersioning.getSnapshotVersions(),
+                           this::isSameSnapshotVersion);
+    }
+
+    private <T> boolean isSameList(List<T> list1,
+                                   List<T> list2,
+                                   BiPredicate<T, T> isSame)
+    {
+        if (list1.size() != list2.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < list1.size(); i++)
+        {
+            if (!isSame.test(list1.get(i), list2.get(i)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isSamePlugin(Plugin plugin1,
+                                 Plugin plugin2)
+    {
+        return Objects.equals(plugin1.getName(), plugin2.getName()) &&
+               Objects.equals(plugin1.getPrefix(), plugin2.getPrefix()) &&
+               Objects.equals(plugin1.getArtifactId(), plugin2.getArtifactId());
+    }
+
+    private boolean isSameSnapshot(Snapshot snapshot1,
+                                   Snapshot snapshot2)
+    {
+        if (snapshot1 == null || snapshot2 == null)
+        {
+            return snapshot1 == snapshot2;
+        }
+
+        return Objects.equals(snapshot1.getTimestamp(), snapshot2.getTimestamp()) &&
+               snapshot1.getBuildNumber() == snapshot2.getBuildNumber() &&
+               snapshot1.isLocalCopy() == snapshot2.isLocalCopy();
+    }
+
+    private boolean isSameSnapshotVersion(SnapshotVersion snapshotVersion1,
+                                          SnapshotVersion snapshotVersion2)
+    {
+        return Objects.equals(snapshotVersion1.getClassifier(), snapshotVersion2.getClassifier()) &&
+               Objects.equals(snapshotVersion1.getExtension(), snapshotVersion2.getExtension()) &&
+               Objects.equals(snapshotVersion1.getVersion(), snapshotVersion2.getVersion()) &&
+               Objects.equals(snapshotVersion1.getUpdated(), snapshotVersion2.getUpdated());
+    }
+
     private void doInLock(RepositoryPath metadataBasePath,
                           Consumer<Path> operation) throws IOException
     {
@@ -424,4 +799,33 @@ public class MavenMetadataManager
             lock.unlock();
         }
     }
+
+    private static class CachedMetadata
+    {
+
+        private final FileTime lastModifiedTime;
+
+        private final long size;
+
+        private final Object fileKey;
+
+        private final Metadata metadata;
+
+        private CachedMetadata(BasicFileAttributes attributes,
+                               Metadata metadata)
+        {
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.fileKey = attributes.fileKey();
+            this.metadata = metadata;
+        }
+
+        private boolean isUpToDate(BasicFileAttributes attributes)
+        {
+            return lastModifiedTime.equals(attributes.lastModifiedTime()) && size == attributes.size() &&
+                   Objects.equals(fileKey, attributes.fileKey());
+        }
+
+    }
+
 }
@@ -0,0 +1,153 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
+import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.providers.repository.GroupRepositoryProvider;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+
+import javax.inject.Inject;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.carlspring.strongbox.util.MessageDigestUtils.calculateChecksum;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+/**
+ * The group repository metadata with the member refresh interval, which is longer than the test.
+ */
+@SpringBootTest(properties = "strongbox.maven.groupMetadata.memberRefreshIntervalSeconds=3600")
+@ActiveProfiles({ "MockedRestArtifactResolverTestConfig",
+                  "test" })
+@ContextConfiguration(classes = Maven2LayoutProviderTestConfig.class)
+@Execution(CONCURRENT)
+public class MavenMetadataExpirationRefreshIntervalCaseTest
+        extends BaseMavenMetadataExpirationTest
+{
+
+    private static final String REPOSITORY_GROUP = "mvn-group-repo-snapshots-interval";
+
+    @Inject
+    private GroupRepositoryProvider groupRepositoryProvider;
+
+
+    @BeforeEach
+    public void initialize(TestInfo testInfo)
+            throws Exception
+    {
+        createRepository(STORAGE0,
+                         getRepositoryName(REPOSITORY_LOCAL_SOURCE, testInfo),
+                         RepositoryPolicyEnum.SNAPSHOT.getPolicy(),
+                         false);
+
+        createRepository(STORAGE0,
+                         getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                         RepositoryPolicyEnum.SNAPSHOT.getPolicy(),
+                         false);
+
+        mockHostedRepositoryMetadataUpdate(getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                           getRepositoryName(REPOSITORY_LOCAL_SOURCE, testInfo),
+                                           versionLevelMetadata,
+                                           artifactLevelMetadata,
+                                           testInfo);
+
+        createProxyRepository(STORAGE0,
+                              getRepositoryName(REPOSITORY_PROXY, testInfo),
+                              "http://localhost:48080/storages/" + STORAGE0 + "/" +
+                              getRepositoryName(REPOSITORY_HOSTED, testInfo) + "/");
+
+        createGroup(STORAGE0,
+                    getRepositoryName(REPOSITORY_GROUP, testInfo),
+                    getRepositoryName(REPOSITORY_PROXY, testInfo));
+
+        mockResolvingProxiedRemoteArtifactsToHostedRepository(testInfo);
+    }
+
+    @Test
+    public void groupRepositoryMetadataShouldBeRefreshedOncePerMemberRefreshInterval(TestInfo testInfo)
+            throws Exception
+    {
+        final RepositoryPath hostedPath = resolvePath(getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                                      true,
+                                                      "maven-metadata.xml",
+                                                      testInfo);
+        final RepositoryPath proxyPath = resolvePath(getRepositoryName(REPOSITORY_PROXY, testInfo),
+                                                     true,
+                                                     "maven-metadata.xml",
+                                                     testInfo);
+        final RepositoryPath groupPath = resolvePath(getRepositoryName(REPOSITORY_GROUP, testInfo),
+                                                     true,
+                                                     "maven-metadata.xml",
+                                                     testInfo);
+
+        groupRepositoryProvider.fetchPath(groupPath);
+
+        String sha1ProxyPathChecksum = readChecksum(resolveSiblingChecksum(proxyPath, EncryptionAlgorithmsEnum.SHA1));
+        assertNotNull(sha1ProxyPathChecksum);
+
+        mockHostedRepositoryMetadataUpdate(getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                           getRepositoryName(REPOSITORY_LOCAL_SOURCE, testInfo),
+                                           versionLevelMetadata,
+                                           artifactLevelMetadata,
+                                           testInfo);
+
+        final String calculatedHostedPathChecksum = calculateChecksum(hostedPath,
+                                                                      EncryptionAlgorithmsEnum.SHA1.getAlgorithm());
+        assertNotEquals(calculatedHostedPathChecksum, sha1ProxyPathChecksum);
+
+        // The expired proxy repository metadata is not fetched again within the member refresh interval.
+        Files.setLastModifiedTime(proxyPath, oneHourAgo());
+
+        groupRepositoryProvider.fetchPath(groupPath);
+
+        assertEquals(sha1ProxyPathChecksum,
+                     readChecksum(resolveSiblingChecksum(proxyPath, EncryptionAlgorithmsEnum.SHA1)));
+
+        // Unless the group repository metadata doesn't exist anymore.
+        Files.delete(groupPath);
+
+        RepositoryPath resolvedGroupPath = groupRepositoryProvider.fetchPath(groupPath);
+
+        sha1ProxyPathChecksum = readChecksum(resolveSiblingChecksum(proxyPath, EncryptionAlgorithmsEnum.SHA1));
+        assertEquals(calculatedHostedPathChecksum, sha1ProxyPathChecksum);
+        assertEquals(sha1ProxyPathChecksum,
+                     calculateChecksum(resolvedGroupPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm()));
+    }
+
+
+    @AfterEach
+    public void removeRepositories(TestInfo testInfo)
+            throws Exception
+    {
+        removeRepositories(getRepositories(testInfo));
+    }
+
+    private Set<MutableRepository> getRepositories(TestInfo testInfo)
+    {
+        Set<MutableRepository> repositories = new LinkedHashSet<>();
+        repositories.add(createRepositoryMock(STORAGE0,
+                                              getRepositoryName(REPOSITORY_HOSTED, testInfo),
+                                              Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0,
+                                              getRepositoryName(REPOSITORY_PROXY, testInfo),
+                                              Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0,
+                                              getRepositoryName(REPOSITORY_LOCAL_SOURCE, testInfo),
+                                              Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0,
+                                              getRepositoryName(REPOSITORY_GROUP, testInfo),
+                                              Maven2LayoutProvider.ALIAS));
+        return repositories;
+    }
+}
@@ -0,0 +1,244 @@
+package org.carlspring.strongbox.providers.repository;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Group.Rule;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The group repository resolution with the parallel member repository fetches enabled.
+ * <br>
+ * The proxy member repositories fetch from the mocked remote repositories, and the remote repository with the
+ * {@link #SLOW_REMOTE_URL} provides the first chunk of the artifact and then blocks till the test releases it.
+ */
+@SpringBootTest(properties = { "strongbox.group.parallelResolution.enabled=true",
+                               "strongbox.group.parallelResolution.memberTimeoutSeconds=2" })
+public class MavenGroupRepositoryProviderParallelResolutionTest
+        extends MockedRestArtifactResolverTestBase
+{
+
+    private static final String ARTIFACT_PATH = "com/artifacts/in/releases/parallel/foo/1.2.3/foo-1.2.3.jar";
+
+    private static final String SLOW_REMOTE_URL = "https://slow.example.org/maven2/";
+
+    private static final String REMOTE_URL = "https://repo.example.org/maven2/";
+
+    private static final CountDownLatch slowRemoteStarted = new CountDownLatch(1);
+
+    private static final CountDownLatch slowRemoteRelease = new CountDownLatch(1);
+
+    private static final ArtifactResolverContext remoteContext = new ArtifactResolverContext()
+    {
+
+        @Override
+        public InputStream getInputStream()
+        {
+            return open();
+        }
+
+        @Override
+        public InputStream getInputStream(String remoteRepositoryUrl)
+        {
+            return SLOW_REMOTE_URL.equals(remoteRepositoryUrl) ? new SlowArtifactInputStream() : open();
+        }
+
+    };
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Override
+    protected ArtifactResolverContext lookupArtifactResolverContext()
+    {
+        return remoteContext;
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
+    public void testMemberOrderPreferred(@MavenRepository(repositoryId = "grpt-parallel-tmop-1") Repository releases1,
+                                        @MavenRepository(repositoryId = "grpt-parallel-tmop-2") Repository releases2,
+                                        @TestRepository.Group({ "grpt-parallel-tmop-2",
+                                                                "grpt-parallel-tmop-1" }) @MavenRepository(repositoryId = "grpt-parallel-tmop-group") Repository releasesGroup,
+                                        @MavenTestArtifact(repositoryId = "grpt-parallel-tmop-1", id = "com.artifacts.in.releases.parallel:foo", versions = "1.2.3") Path a1,
+                                        @MavenTestArtifact(repositoryId = "grpt-parallel-tmop-2", id = "com.artifacts.in.releases.parallel:foo", versions = "1.2.3") Path a2)
+            throws Exception
+    {
+        RepositoryPath resolvedPath = resolve(releasesGroup);
+
+        assertNotNull(resolvedPath);
+        assertEquals("grpt-parallel-tmop-2", resolvedPath.getRepository().getId());
+    }
+
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
+    public void testDeniedMemberSkipped(@MavenRepository(repositoryId = "grpt-parallel-tdms-1") Repository releases1,
+                                        @MavenRepository(repositoryId = "grpt-parallel-tdms-2") Repository releases2,
+                                        @TestRepository.Group(repositories = { "grpt-parallel-tdms-1",
+                                                                               "grpt-parallel-tdms-2" },
+                                                              rules = { @Rule(repositories = { "grpt-parallel-tdms-1" },
+                                                                              pattern = ".*(com|org)/artifacts.in.releases.parallel.*",
+                                                                              type = RoutingRuleTypeEnum.DENY) })
+                                        @MavenRepository(repositoryId = "grpt-parallel-tdms-group") Repository releasesGroup,
+                                        @MavenTestArtifact(repositoryId = "grpt-parallel-tdms-1", id = "com.artifacts.in.releases.parallel:foo", versions = "1.2.3") Path a1,
+                                        @MavenTestArtifact(repositoryId = "grpt-parallel-tdms-2", id = "com.artifacts.in.releases.parallel:foo", versions = "1.2.3") Path a2)
+            throws Exception
+    {
+        RepositoryPath resolvedPath = resolve(releasesGroup);
+
+        assertNotNull(resolvedPath);
+        assertEquals("grpt-parallel-tdms-2", resolvedPath.getRepository().getId());
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testProxyMembersFetchedConcurrently(@MavenRepository(repositoryId = "grpt-parallel-tpmfc-1") @Remote(url = SLOW_REMOTE_URL) Repository slowProxy,
+                                                    @MavenRepository(repositoryId = "grpt-parallel-tpmfc-2") @Remote(url = REMOTE_URL) Repository proxy,
+                                                    @MavenRepository(repositoryId = "grpt-parallel-tpmfc-3") @Remote(url = REMOTE_URL) Repository losingProxy,
+                                                    @TestRepository.Group({ "grpt-parallel-tpmfc-1",
+                                                                            "grpt-parallel-tpmfc-2",
+                                                                            "grpt-parallel-tpmfc-3" }) @MavenRepository(repositoryId = "grpt-parallel-tpmfc-group") Repository proxyGroup)
+            throws Exception
+    {
+        RepositoryPath slowProxyPath = repositoryPathResolver.resolve(slowProxy, ARTIFACT_PATH);
+        RepositoryPath proxyPath = repositoryPathResolver.resolve(proxy, ARTIFACT_PATH);
+        RepositoryPath losingProxyPath = repositoryPathResolver.resolve(losingProxy, ARTIFACT_PATH);
+
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<RepositoryPath> resolution = client.submit(() -> resolve(proxyGroup));
+
+            // The first member is still fetching, when the group path is resolved from the next member, so the
+            // members are fetched concurrently, and the first one has timed out.
+            assertTrue(slowRemoteStarted.await(30, TimeUnit.SECONDS));
+            RepositoryPath resolvedPath = resolution.get(30, TimeUnit.SECONDS);
+            assertNotNull(resolvedPath);
+            assertEquals(proxy.getId(), resolvedPath.getRepository().getId());
+            assertFalse(Files.exists(slowProxyPath));
+        }
+        finally
+        {
+            slowRemoteRelease.countDown();
+            client.shutdownNow();
+        }
+
+        // The losing fetches are not interrupted, so they complete as usual and leave no temporary files.
+        await().atMost(30, TimeUnit.SECONDS)
+               .until(() -> Files.exists(slowProxyPath) && Files.exists(losingProxyPath));
+        for (RepositoryPath memberPath : new RepositoryPath[]{ slowProxyPath, proxyPath, losingProxyPath })
+        {
+            assertFalse(Files.exists(RepositoryFiles.temporary(memberPath)));
+        }
+    }
+
+    private RepositoryPath resolve(Repository groupRepository)
+            throws Exception
+    {
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(groupRepository.getType());
+
+        return (RepositoryPath) repositoryProvider.fetchPath(repositoryPathResolver.resolve(groupRepository,
+                                                                                            ARTIFACT_PATH));
+    }
+
+    private static InputStream open()
+    {
+        try
+        {
+            return jarArtifact.getInputStream();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Provides the first chunk of the artifact right away, and the rest once the test releases the remote.
+     */
+    private static class SlowArtifactInputStream
+            extends FilterInputStream
+    {
+
+        private boolean firstChunk = true;
+
+        SlowArtifactInputStream()
+        {
+            super(open());
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            beforeRead();
+
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            beforeRead();
+
+            return super.read(b, off, Math.min(len, BUF_SIZE));
+        }
+
+        private void beforeRead()
+            throws IOException
+        {
+            if (firstChunk)
+            {
+                firstChunk = false;
+                slowRemoteStarted.countDown();
+
+                return;
+            }
+
+            try
+            {
+                slowRemoteRelease.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new IOException(e);
+            }
+        }
+
+    }
+
+}
@@ -52,7 +52,8 @@ public abstract class MockedRestArtifactResolverTestBase
 
     protected static int BUF_SIZE = 8192;
 
-    private static ThreadLocal<ArtifactResolverContext> contextHolder = new ThreadLocal<ArtifactResolverContext>();
+    // Inheritable, so that the fetches which are done in the background threads use the context of the test as well.
+    private static ThreadLocal<ArtifactResolverContext> contextHolder = new InheritableThreadLocal<ArtifactResolverContext>();
     
     @BeforeEach
     public void setup()
@@ -140,10 +141,20 @@ public abstract class MockedRestArtifactResolverTestBase
         RestArtifactResolverFactory mockedArtifactResolverFactory()
         {
             RestArtifactResolverFactory artifactResolverFactory = Mockito.mock(RestArtifactResolverFactory.class);
+            Mockito.when(artifactResolverFactory.newInstance(ArgumentMatchers.any(RemoteRepository.class)))
+                   .then((i) -> mockArtifactResolver(i.getArgument(0)));
+
+            return artifactResolverFactory;
+        }
+
+        private static RestArtifactResolver mockArtifactResolver(RemoteRepository remoteRepository)
+        {
+            String remoteRepositoryUrl = remoteRepository.getUrl();
 
             Response response = Mockito.mock(Response.class);
-            Mockito.when(response.getEntity()).then((i) -> getContext().getInputStream());
-            Mockito.when(response.readEntity(InputStream.class)).then((i) -> getContext().getInputStream());
+            Mockito.when(response.getEntity()).then((i) -> getContext().getInputStream(remoteRepositoryUrl));
+            Mockito.when(response.readEntity(InputStream.class))
+                   .then((i) -> getContext().getInputStream(remoteRepositoryUrl));
             Mockito.when(response.getStatus()).thenReturn(200);
             Mockito.when(response.getHeaderString("Accept-Ranges"))
                    .then((invocation) -> getContext().isByteRangeRequestSupported() ? "bytes" : "none");
@@ -160,10 +171,7 @@ public abstract class MockedRestArtifactResolverTestBase
                    .then((a) -> createRemoteRepositoryConfiguration());
             Mockito.when(artifactResolver.isAlive()).thenReturn(true);
 
-            Mockito.when(artifactResolverFactory.newInstance(ArgumentMatchers.any(RemoteRepository.class)))
-                   .thenReturn(artifactResolver);
-            
-            return artifactResolverFactory;
+            return artifactResolver;
         }
 
         @Bean
@@ -192,7 +200,16 @@ interface ArtifactResolverContext
 {
 
     InputStream getInputStream();
-    
+
+    /**
+     * @param remoteRepositoryUrl
+     *            the URL of the remote repository, which the artifact is fetched from
+     */
+    default InputStream getInputStream(String remoteRepositoryUrl)
+    {
+        return getInputStream();
+    }
+
     default boolean isByteRangeRequestSupported()
     {
         return true;
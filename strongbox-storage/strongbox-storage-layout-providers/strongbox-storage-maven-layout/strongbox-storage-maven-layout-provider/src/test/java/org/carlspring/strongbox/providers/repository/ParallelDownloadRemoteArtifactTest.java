@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.providers.repository;
 
+import org.carlspring.strongbox.artifact.ArtifactDownloadStatisticsCollector;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
@@ -55,6 +56,9 @@ public class ParallelDownloadRemoteArtifactTest
     
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactDownloadStatisticsCollector artifactDownloadStatisticsCollector;
     
     public ParallelDownloadRemoteArtifactTest() throws IOException
     {
@@ -123,6 +127,8 @@ public class ParallelDownloadRemoteArtifactTest
 
         assertArrayEquals(expected, actual);
         
+        artifactDownloadStatisticsCollector.flush();
+
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(STORAGE0, REPOSITORY, path);
 
         assertNotNull(repositoryPath.getArtifactEntry());
@@ -0,0 +1,287 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.artifact.MavenArtifactUtils;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryStreamingFetch;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import javax.inject.Inject;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.io.ByteStreams;
+import org.apache.maven.artifact.Artifact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+/**
+ * The proxy repository fetches with the streaming enabled. The remote stream provides the first chunk of the artifact
+ * and then blocks, so the fetch is in progress till the test releases it.
+ * <br>
+ * The fetches are done within the background threads, which share the single remote context, so the test cases are
+ * executed one by one.
+ */
+@SpringBootTest(properties = "strongbox.proxy.streaming.enabled=true")
+@Execution(SAME_THREAD)
+public class ProxyRepositoryStreamingFetchTest
+        extends MockedRestArtifactResolverTestBase
+{
+
+    private static final String PROXY_REPOSITORY_URL = "https://repo.maven.apache.org/maven2/";
+
+    private static final ArtifactResolverContext remoteContext = new ArtifactResolverContext()
+    {
+
+        @Override
+        public InputStream getInputStream()
+        {
+            return new BlockingArtifactInputStream();
+        }
+
+        @Override
+        public boolean isByteRangeRequestSupported()
+        {
+            // The failed fetch is not resumed.
+            return !remoteFailure;
+        }
+
+    };
+
+    private static volatile CountDownLatch remoteRelease;
+
+    private static volatile boolean remoteFailure;
+
+    private static final AtomicInteger remoteReads = new AtomicInteger();
+
+    @Inject
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    private ExecutorService clients = Executors.newCachedThreadPool();
+
+    @Override
+    protected ArtifactResolverContext lookupArtifactResolverContext()
+    {
+        return remoteContext;
+    }
+
+    @BeforeEach
+    public void setUpRemote()
+    {
+        remoteRelease = new CountDownLatch(1);
+        remoteFailure = false;
+        remoteReads.set(0);
+    }
+
+    @AfterEach
+    public void releaseRemote()
+    {
+        remoteRelease.countDown();
+        clients.shutdownNow();
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testConcurrentClientsShareTheFetch(@MavenRepository(repositoryId = "prsft-concurrent") @Remote(url = PROXY_REPOSITORY_URL) Repository proxyRepository)
+        throws Exception
+    {
+        String path = artifactPath("org.apache.commons:commons-lang3:3.2");
+        RepositoryPath artifactPath = repositoryPathResolver.resolve(proxyRepository).resolve(path);
+        byte[] expected = ByteStreams.toByteArray(jarArtifact.getInputStream());
+
+        int concurrency = 4;
+        CountDownLatch resolved = new CountDownLatch(concurrency);
+        List<Future<byte[]>> downloads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++)
+        {
+            downloads.add(clients.submit(() -> download(proxyRepository, path, resolved)));
+        }
+
+        // Each client resolves the path while the fetch is still in progress.
+        assertTrue(resolved.await(30, TimeUnit.SECONDS));
+        assertNotNull(proxyRepositoryArtifactResolver.getStreamingFetch(artifactPath));
+        assertFalse(Files.exists(artifactPath));
+
+        // The other callers wait till the artifact has been stored.
+        Future<Long> storedSize = clients.submit(() -> {
+            RepositoryPath repositoryPath = artifactResolutionService.resolvePath(STORAGE0,
+                                                                                  proxyRepository.getId(),
+                                                                                  path);
+
+            return Files.size(repositoryPath);
+        });
+        assertFalse(storedSize.isDone());
+
+        remoteRelease.countDown();
+
+        for (Future<byte[]> download : downloads)
+        {
+            assertArrayEquals(expected, download.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(expected.length, storedSize.get(30, TimeUnit.SECONDS).longValue());
+        assertEquals(1, remoteReads.get());
+        assertTrue(Files.exists(artifactPath));
+    }
+
+    @Test
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    public void testRemoteFailureInTheMiddleOfTheStream(@MavenRepository(repositoryId = "prsft-failure") @Remote(url = PROXY_REPOSITORY_URL) Repository proxyRepository)
+        throws Exception
+    {
+        remoteFailure = true;
+
+        String path = artifactPath("org.apache.commons:commons-lang3:3.3");
+        RepositoryPath artifactPath = repositoryPathResolver.resolve(proxyRepository).resolve(path);
+
+        CountDownLatch resolved = new CountDownLatch(1);
+        Future<byte[]> download = clients.submit(() -> download(proxyRepository, path, resolved));
+
+        assertTrue(resolved.await(30, TimeUnit.SECONDS));
+
+        Future<RepositoryPath> waitingResolution = clients.submit(() -> artifactResolutionService.resolvePath(STORAGE0,
+                                                                                                             proxyRepository.getId(),
+                                                                                                             path));
+
+        remoteRelease.countDown();
+
+        Exception downloadFailure = assertThrows(Exception.class, () -> download.get(30, TimeUnit.SECONDS));
+        assertTrue(downloadFailure.getCause() instanceof IOException);
+        Exception resolutionFailure = assertThrows(Exception.class, () -> waitingResolution.get(30, TimeUnit.SECONDS));
+        assertTrue(resolutionFailure.getCause() instanceof IOException);
+
+        // Neither the partial artifact nor its temporary file are left.
+        assertFalse(Files.exists(artifactPath));
+        assertFalse(Files.exists(RepositoryFiles.temporary(artifactPath)));
+    }
+
+    private String artifactPath(String gavtc)
+    {
+        Artifact artifact = MavenArtifactTestUtils.getArtifactFromGAVTC(gavtc);
+
+        return MavenArtifactUtils.convertArtifactToPath(artifact);
+    }
+
+    /**
+     * Downloads the artifact the same way as the artifact controllers do.
+     */
+    private byte[] download(Repository proxyRepository,
+                            String path,
+                            CountDownLatch resolved)
+        throws IOException
+    {
+        RepositoryPath repositoryPath;
+        try
+        {
+            repositoryPath = proxyRepositoryArtifactResolver.resolveStreaming(
+                    () -> artifactResolutionService.resolvePath(STORAGE0, proxyRepository.getId(), path));
+        }
+        finally
+        {
+            resolved.countDown();
+        }
+
+        ProxyRepositoryStreamingFetch streamingFetch = proxyRepositoryArtifactResolver.getStreamingFetch(repositoryPath);
+        try (InputStream is = streamingFetch != null ? streamingFetch.newInputStream() :
+                              Files.newInputStream(repositoryPath))
+        {
+            return ByteStreams.toByteArray(is);
+        }
+    }
+
+    /**
+     * Provides the first chunk of the artifact right away, and the rest once the test releases the remote.
+     */
+    private static class BlockingArtifactInputStream
+            extends FilterInputStream
+    {
+
+        private long readCount;
+
+        BlockingArtifactInputStream()
+        {
+            super(open());
+        }
+
+        private static InputStream open()
+        {
+            try
+            {
+                return jarArtifact.getInputStream();
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            beforeRead();
+
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            beforeRead();
+
+            return super.read(b, off, Math.min(len, BUF_SIZE));
+        }
+
+        private void beforeRead()
+            throws IOException
+        {
+            if (readCount++ == 0)
+            {
+                remoteReads.incrementAndGet();
+
+                return;
+            }
+
+            try
+            {
+                remoteRelease.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new IOException(e);
+            }
+
+            if (remoteFailure)
+            {
+                throw new IOException("Connection lost.");
+            }
+        }
+
+    }
+
+}
@@ -68,6 +68,7 @@ public class RetryDownloadArtifactWithPermanentFailureStartingAtSomePointTest
 
         //then
         assertEquals("Connection lost.", exception.getMessage());
+        assertFalse(Files.exists(artifactPath));
     }
 
     static class PermanentBrokenArtifactInputStream
@@ -13,7 +13,11 @@ import org.carlspring.strongbox.testing.storage.repository.TestRepository;
 
 import javax.inject.Inject;
 import java.io.FileNotFoundException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.artifact.repository.metadata.Metadata;
@@ -62,6 +66,12 @@ public class MavenMetadataGroupRepositoryComponentOnUploadTest
 
     private static final String REPOSITORY_GROUP_AH = "group-repo-ah";
 
+    private static final String REPOSITORY_LEAF_UNCHANGED_1 = "leaf-repo-unchanged-1";
+
+    private static final String REPOSITORY_LEAF_UNCHANGED_2 = "leaf-repo-unchanged-2";
+
+    private static final String REPOSITORY_GROUP_UNCHANGED = "group-repo-unchanged";
+
     @Inject
     private MavenMetadataGroupRepositoryComponent mavenGroupRepositoryComponent;
 
@@ -201,5 +211,52 @@ public class MavenMetadataGroupRepositoryComponentOnUploadTest
         assertThat(metadata.getVersioning().getVersions().get(1), CoreMatchers.equalTo("1.2.2"));
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    @Test
+    public void whenUploadedMetadataChangesNothingGroupMetadataShouldNotBeStoredAgain(
+            @MavenRepository(repositoryId = REPOSITORY_LEAF_UNCHANGED_1) Repository repositoryLeaf1,
+            @MavenRepository(repositoryId = REPOSITORY_LEAF_UNCHANGED_2) Repository repositoryLeaf2,
+            @TestRepository.Group({ REPOSITORY_LEAF_UNCHANGED_1,
+                                    REPOSITORY_LEAF_UNCHANGED_2 })
+            @MavenRepository(repositoryId = REPOSITORY_GROUP_UNCHANGED) Repository repositoryGroup,
+            @MavenTestArtifact(repositoryId = REPOSITORY_LEAF_UNCHANGED_1, id = "com.artifacts.to.update.releases:unchanged-group", versions = { "1.2.1" })
+                    Path artifactLeaf1,
+            @MavenTestArtifact(repositoryId = REPOSITORY_LEAF_UNCHANGED_2, id = "com.artifacts.to.update.releases:unchanged-group", versions = { "1.2.2" })
+                    Path artifactLeaf2)
+            throws Exception
+    {
+        String artifactBasePath = "com/artifacts/to/update/releases/unchanged-group";
+
+        generateMavenMetadata(STORAGE0, REPOSITORY_LEAF_UNCHANGED_1);
+        generateMavenMetadata(STORAGE0, REPOSITORY_LEAF_UNCHANGED_2);
+
+        copyArtifactMetadata(REPOSITORY_LEAF_UNCHANGED_1, REPOSITORY_GROUP_UNCHANGED,
+                             FilenameUtils.normalize(artifactBasePath + "/maven-metadata.xml"));
+
+        RepositoryPath groupMetadataPath = repositoryPathResolver.resolve(repositoryGroup,
+                                                                          artifactBasePath + "/maven-metadata.xml");
+        FileTime lastModifiedTime = FileTime.from(Instant.now()
+                                                             .minus(1, ChronoUnit.HOURS)
+                                                             .truncatedTo(ChronoUnit.SECONDS));
+        Files.setLastModifiedTime(groupMetadataPath, lastModifiedTime);
+
+        // The group metadata already contains all the versions of the first leaf.
+        mavenGroupRepositoryComponent.updateGroupsContaining(repositoryPathResolver.resolve(repositoryLeaf1,
+                                                                                            artifactBasePath));
+
+        assertThat(Files.getLastModifiedTime(groupMetadataPath), CoreMatchers.equalTo(lastModifiedTime));
+
+        mavenGroupRepositoryComponent.updateGroupsContaining(repositoryPathResolver.resolve(repositoryLeaf2,
+                                                                                            artifactBasePath));
+
+        assertThat(Files.getLastModifiedTime(groupMetadataPath), CoreMatchers.not(lastModifiedTime));
+
+        Metadata metadata = mavenMetadataManager.readMetadata(repositoryPathResolver.resolve(repositoryGroup,
+                                                                                             artifactBasePath));
+        assertThat(metadata.getVersioning().getVersions().size(), CoreMatchers.equalTo(2));
+        assertThat(metadata.getVersioning().getVersions().get(0), CoreMatchers.equalTo("1.2.1"));
+        assertThat(metadata.getVersioning().getVersions().get(1), CoreMatchers.equalTo("1.2.2"));
+    }
 
 }
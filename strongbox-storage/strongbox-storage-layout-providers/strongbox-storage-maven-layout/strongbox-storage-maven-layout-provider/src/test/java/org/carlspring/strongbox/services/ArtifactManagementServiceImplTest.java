@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.services;
 
+import org.carlspring.strongbox.artifact.ArtifactDownloadStatisticsCollector;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
@@ -109,6 +110,9 @@ public class ArtifactManagementServiceImplTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDownloadStatisticsCollector artifactDownloadStatisticsCollector;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
     @Test
     public void testDeploymentToRepositoryWithForbiddenDeployments(@MavenRepository(repositoryId = AMSI_RELEASES_WITHOUT_DEPLOYMENT)
@@ -498,6 +502,8 @@ public class ArtifactManagementServiceImplTest
                                        i));
         }
 
+        artifactDownloadStatisticsCollector.flush();
+
         RepositoryPath repositoryPathResult = repositoryPathResolver.resolve(repository, path);
         ArtifactEntry artifactEntry = repositoryPathResult.getArtifactEntry();
 
@@ -647,6 +653,43 @@ public class ArtifactManagementServiceImplTest
         assertEquals(expectedChecksums, actualChecksums);
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class,
+                  ArtifactManagementTestExecutionListener.class })
+    public void testArchiveListingReplacedOnRedeployment(@MavenRepository(repositoryId = "archive-listing-redeployment")
+                                                         Repository repository,
+                                                         @MavenTestArtifact(resource = "org/carlspring/strongbox/strongbox-checksum-test/8.4/strongbox-checksum-test-8.4.jar")
+                                                         Path artifact)
+            throws Exception
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve("org/carlspring/strongbox/strongbox-checksum-test/8.4/strongbox-checksum-test-8.4.jar");
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        try (InputStream is = Files.newInputStream(artifact))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is);
+        }
+
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(STORAGE0, repository.getId(), path);
+
+        assertNotNull(artifactEntry.getArtifactArchiveListing());
+        assertFalse(artifactEntry.getArtifactArchiveListing().getFilenames().isEmpty());
+
+        // The content, which can't be listed, is stored, and the listing of the previous content is cleared.
+        byte[] content = "not a jar".getBytes(StandardCharsets.UTF_8);
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is);
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(repositoryPath));
+
+        artifactEntry = artifactEntryService.findOneArtifact(STORAGE0, repository.getId(), path);
+
+        assertNotNull(artifactEntry.getArtifactArchiveListing());
+        assertTrue(artifactEntry.getArtifactArchiveListing().getFilenames().isEmpty());
+    }
+
 
     private Long getResult(int i,
                            CountDownLatch storedSync, 
@@ -23,6 +23,8 @@ import org.carlspring.strongbox.testing.storage.repository.TestRepository;
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
@@ -57,6 +59,8 @@ public class ArtifactMetadataServiceReleasesTest
     private static final String R3 = "amsr-releases3";
     private static final String R4 = "amsr-releases4";
     private static final String R5 = "amsr-releases5";
+    private static final String R6 = "amsr-releases6";
+    private static final String R7 = "amsr-releases7";
 
 
     @Inject
@@ -65,6 +69,9 @@ public class ArtifactMetadataServiceReleasesTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
     @Test
     public void testReleaseMetadataRebuild(@TestRepository(repositoryId = R1,
@@ -287,6 +294,75 @@ public class ArtifactMetadataServiceReleasesTest
                      "Incorrect number of versions stored in metadata!");
     }
 
+    @ExtendWith({RepositoryManagementTestExecutionListener.class,ArtifactManagementTestExecutionListener.class})
+    @Test
+    public void testMetadataUpdatedOnArtifactStored(@TestRepository(repositoryId = R6,
+                                                                    layout = MavenArtifactCoordinates.LAYOUT_NAME,
+                                                                    policy = RepositoryPolicyEnum.RELEASE)
+                                                    Repository repository,
+                                                    @TestArtifact(repositoryId = R6,
+                                                                  id = "org.carlspring.strongbox.metadata:strongbox-metadata-stored",
+                                                                  versions = { "1.0" },
+                                                                  generator = MavenArtifactGenerator.class)
+                                                    List<Path> artifactGroupPath)
+            throws Exception
+    {
+        String artifactBasePath = "org/carlspring/strongbox/metadata/strongbox-metadata-stored";
+
+        artifactMetadataService.rebuildMetadata(STORAGE0, R6, artifactBasePath);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                       artifactBasePath +
+                                                                       "/1.1/strongbox-metadata-stored-1.1.jar");
+        try (InputStream is = Files.newInputStream(artifactGroupPath.get(0)))
+        {
+            artifactManagementService.validateAndStore(repositoryPath, is);
+        }
+
+        Metadata metadata = artifactMetadataService.getMetadata(STORAGE0, R6, artifactBasePath);
+
+        assertEquals(2, metadata.getVersioning().getVersions().size(), "Incorrect number of versions stored in metadata!");
+        assertEquals("1.1", metadata.getVersioning().getRelease(), "Incorrect latest release version!");
+        assertEquals("1.1", metadata.getVersioning().getLatest(), "Incorrect latest version!");
+    }
+
+    @ExtendWith({RepositoryManagementTestExecutionListener.class,ArtifactManagementTestExecutionListener.class})
+    @Test
+    public void testMetadataUpdatedOnReleaseDeleted(@TestRepository(repositoryId = R7,
+                                                                    layout = MavenArtifactCoordinates.LAYOUT_NAME,
+                                                                    policy = RepositoryPolicyEnum.RELEASE)
+                                                    Repository repository,
+                                                    @TestArtifact(repositoryId = R7,
+                                                                  id = "org.carlspring.strongbox.metadata:strongbox-metadata-deleted",
+                                                                  versions = { "1.0", "1.1" },
+                                                                  generator = MavenArtifactGenerator.class)
+                                                    List<Path> artifactGroupPath)
+            throws Exception
+    {
+        String artifactBasePath = "org/carlspring/strongbox/metadata/strongbox-metadata-deleted";
+
+        artifactMetadataService.rebuildMetadata(STORAGE0, R7, artifactBasePath);
+
+        Metadata metadata = artifactMetadataService.getMetadata(STORAGE0, R7, artifactBasePath);
+        assertEquals("1.1", metadata.getVersioning().getRelease(), "Incorrect latest release version!");
+
+        for (String extension : new String[]{ "jar", "pom" })
+        {
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                           artifactBasePath +
+                                                                           "/1.1/strongbox-metadata-deleted-1.1." +
+                                                                           extension);
+            artifactManagementService.delete(repositoryPath, true);
+        }
+
+        metadata = artifactMetadataService.getMetadata(STORAGE0, R7, artifactBasePath);
+
+        assertEquals(1, metadata.getVersioning().getVersions().size(), "Incorrect number of versions stored in metadata!");
+        assertFalse(metadata.getVersioning().getVersions().contains("1.1"), "Deleted version found in metadata!");
+        assertEquals("1.0", metadata.getVersioning().getRelease(), "Incorrect latest release version!");
+        assertEquals("1.0", metadata.getVersioning().getLatest(), "Incorrect latest version!");
+    }
+
     /**
      * Generate a released artifact.
      *
@@ -8,6 +8,7 @@ import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.metadata.MetadataType;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -20,7 +21,9 @@ import org.carlspring.strongbox.testing.storage.repository.TestRepository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
@@ -57,6 +60,12 @@ public class ArtifactMetadataServiceSnapshotsTest
     @Inject
     private ArtifactMetadataService artifactMetadataService;
 
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
     @Test
     @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
     public void testSnapshotMetadataRebuild(@MavenSnapshotRepository("smr") Repository repository,
@@ -179,6 +188,36 @@ public class ArtifactMetadataServiceSnapshotsTest
         assertFalse(MetadataHelper.containsTimestampedSnapshotVersion(metadataAfter, coordinates.getVersion()));
     }
 
+    @Test
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
+    public void testMetadataUpdatedOnTimestampedSnapshotStoredAndDeleted(@MavenSnapshotRepository("musasd") Repository repository,
+                                                                         @MavenSnapshotArtifactsWithClassifiers(repositoryId = "musasd", id = "org.carlspring.strongbox:stored") List<Path> snapshotArtifacts)
+            throws Exception
+    {
+        String artifactPath = "org/carlspring/strongbox/stored";
+        String metadataPath = artifactPath + "/1.0-SNAPSHOT";
+        String version = "1.0-20180328.195810-6";
+
+        artifactMetadataService.rebuildMetadata(STORAGE0, repository.getId(), artifactPath);
+
+        RepositoryPath storedPath = repositoryPathResolver.resolve(repository,
+                                                                   metadataPath + "/stored-" + version + ".jar");
+        try (InputStream is = Files.newInputStream(snapshotArtifacts.iterator().next()))
+        {
+            artifactManagementService.validateAndStore(storedPath, is);
+        }
+
+        Metadata metadata = artifactMetadataService.getMetadata(STORAGE0, repository.getId(), metadataPath);
+        assertTrue(MetadataHelper.containsTimestampedSnapshotVersion(metadata, version),
+                   "Stored timestamped SNAPSHOT version not found in metadata!");
+
+        artifactManagementService.delete(storedPath, true);
+
+        metadata = artifactMetadataService.getMetadata(STORAGE0, repository.getId(), metadataPath);
+        assertFalse(MetadataHelper.containsTimestampedSnapshotVersion(metadata, version),
+                    "Deleted timestamped SNAPSHOT version found in metadata!");
+    }
+
     @Test
     @ExtendWith({ RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class })
     public void testSnapshotWithoutTimestampMetadataRebuild(@MavenSnapshotRepository("swtmr") Repository repository,
@@ -53,6 +53,8 @@ public class MavenChecksumServiceTest
     
     private static final String A3 = "org/carlspring/strongbox/checksum/maven/checksum-rewrite/1.0/checksum-rewrite-1.0.jar";
     
+    private static final String A4 = "org/carlspring/strongbox/checksum/maven/checksum-keep/1.0/checksum-keep-1.0.jar";
+
     private static final String S2 = "org/carlspring/strongbox/checksum/maven/strongbox-checksum/2.0-SNAPSHOT/strongbox-checksum-2.0-20180320.011625-1.jar";
     
     @Inject
@@ -273,4 +275,30 @@ public class MavenChecksumServiceTest
                    "The checksum file for metadata is empty!");
     }
 
+    @Test
+    @ExtendWith({RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class})
+    public void testGenerateMissingMavenChecksumOnly(@TestRepository(repositoryId = REPOSITORY_RELEASES, layout = LAYOUT_NAME) Repository repository,
+                                                     @TestArtifact(repositoryId = REPOSITORY_RELEASES, resource = A4, generator = MavenArtifactGenerator.class) Path artifact)
+            throws IOException,
+                   XmlPullParserException,
+                   NoSuchAlgorithmException
+    {
+        artifactMetadataService.rebuildMetadata(STORAGE0, REPOSITORY_RELEASES, "org/carlspring/strongbox/checksum");
+
+        Path md5File = artifact.resolveSibling(artifact.getFileName() + ".md5");
+        Path sha1File = artifact.resolveSibling(artifact.getFileName() + ".sha1");
+
+        Files.write(md5File, "".getBytes());
+        Files.delete(sha1File);
+
+        checksumService.regenerateChecksum(STORAGE0,
+                                           REPOSITORY_RELEASES,
+                                           "org/carlspring/strongbox/checksum/maven/checksum-keep",
+                                           false);
+
+        assertEquals(0, Files.size(md5File), "The existing checksum file was rewritten!");
+        assertTrue(Files.exists(sha1File), "The checksum file for artifact doesn't exist!");
+        assertTrue(Files.size(sha1File) > 0, "The checksum file for artifact is empty!");
+    }
+
 }
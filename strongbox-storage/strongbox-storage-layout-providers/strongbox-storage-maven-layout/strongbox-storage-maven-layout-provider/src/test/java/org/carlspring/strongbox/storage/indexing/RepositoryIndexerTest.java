@@ -118,6 +118,40 @@ public class RepositoryIndexerTest
         assertEquals(0, search.size(), "org.carlspring.strongbox:strongbox-commons:1.0 should have been deleted!");
     }
 
+    @Test
+    public void testReIndexUpdatesExistingDocuments() throws Exception
+    {
+        RepositoryIndexManager repositoryIndexManager = this.repositoryIndexManager.get();
+        RepositoryIndexer repositoryIndexer = repositoryIndexManager.getRepositoryIndexer(STORAGE0 + ":" +
+                                                                                          REPOSITORY_RELEASES + ":" +
+                                                                                          IndexTypeEnum.LOCAL.getType());
+
+        IndexedMavenRepositoryFeatures features = (IndexedMavenRepositoryFeatures) getFeatures();
+
+        features.reIndex(STORAGE0, REPOSITORY_RELEASES, "org/carlspring/strongbox/strongbox-commons");
+        features.reIndex(STORAGE0, REPOSITORY_RELEASES, "org/carlspring/strongbox/strongbox-commons");
+
+        Set<SearchResult> search = repositoryIndexer.search("org.carlspring.strongbox",
+                                                            "strongbox-commons",
+                                                            null,
+                                                            null,
+                                                            null);
+
+        assertEquals(3, search.size(), "The re-indexed artifacts should not have been duplicated!");
+
+        search = repositoryIndexer.search("+g:org.carlspring.strongbox +a:strongbox-commons +v:1.1");
+        repositoryIndexer.delete(asArtifactInfo(search));
+
+        // The deletion is searchable before it's committed.
+        search = repositoryIndexer.search("org.carlspring.strongbox", "strongbox-commons", "1.1", null, null);
+        assertEquals(0, search.size(), "org.carlspring.strongbox:strongbox-commons:1.1 should have been deleted!");
+
+        repositoryIndexer.commit();
+
+        search = repositoryIndexer.search("org.carlspring.strongbox", "strongbox-commons", "1.1", null, null);
+        assertEquals(0, search.size(), "org.carlspring.strongbox:strongbox-commons:1.1 should have been deleted!");
+    }
+
     private Collection<ArtifactInfo> asArtifactInfo(Set<SearchResult> results)
     {
         Collection<ArtifactInfo> artifactInfos = new LinkedHashSet<>();
@@ -0,0 +1,194 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Node local cache of the serialized npm package feeds (packuments), so that the package feed is built once and then
+ * served as is until the package changes.
+ * <br>
+ * The feeds are cached by the package ID, and all the repository feeds of the package are invalidated when any
+ * package file is stored or deleted, or when the remote package feed is parsed (so that the group repository feeds
+ * are invalidated along with their member repository feeds). The feeds are invalidated once the package file transaction
+ * has been committed, so a feed which was built before the artifact entries were committed is not kept. The feeds also expire after the configured time, which
+ * limits how long the proxy repository feeds are served without checking the remote repository.
+ */
+@Component
+public class NpmPackageFeedCache
+{
+
+    private final Cache<String, PackageFeeds> cache;
+
+    public NpmPackageFeedCache(@Value("${strongbox.npm.packageFeedCache.size:10000}") long maximumSize,
+                               @Value("${strongbox.npm.packageFeedCache.expireAfterWriteSeconds:300}") long expireAfterWriteSeconds)
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                            .build();
+    }
+
+    /**
+     * @param feedSupplier
+     *            serializes the package feed, if it's not cached
+     */
+    public NpmPackageFeedContent get(Repository repository,
+                                     String packageId,
+                                     Supplier<byte[]> feedSupplier)
+    {
+        PackageFeeds packageFeeds;
+        try
+        {
+            packageFeeds = cache.get(packageId, PackageFeeds::new);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        String repositoryKey = getRepositoryKey(repository);
+
+        NpmPackageFeedContent result = packageFeeds.feeds.get(repositoryKey);
+        if (result != null)
+        {
+            return result;
+        }
+
+        result = new NpmPackageFeedContent(feedSupplier.get());
+        // If the package is invalidated while the feed is being built, then the feeds are already detached from the
+        // cache, so the feed will be built again on the next request.
+        packageFeeds.feeds.put(repositoryKey, result);
+
+        return result;
+    }
+
+    /**
+     * @return the cached repository feed of the package, or <code>null</code> if it's not cached
+     */
+    public NpmPackageFeedContent getIfPresent(Repository repository,
+                                              String packageId)
+    {
+        PackageFeeds packageFeeds = cache.getIfPresent(packageId);
+
+        return packageFeeds == null ? null : packageFeeds.feeds.get(getRepositoryKey(repository));
+    }
+
+    public void invalidate(String packageId)
+    {
+        cache.invalidate(packageId);
+    }
+
+    // TransactionalEventListener.fallbackExecution() needed for the events which are published outside of a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        if (!NpmLayoutProvider.ALIAS.equals(path.getRepository().getLayout()))
+        {
+            return;
+        }
+
+        // The package files are stored as `{packageScope}/{packageName}/...` or `{packageName}/{packageName}/...`.
+        RepositoryPath relativePath = path.relativize();
+        if (relativePath.getNameCount() < 2)
+        {
+            return;
+        }
+
+        String group = relativePath.getName(0).toString();
+        invalidate(group.startsWith("@")
+                ? NpmArtifactCoordinates.calculatePackageId(group, relativePath.getName(1).toString())
+                : group);
+    }
+
+    private String getRepositoryKey(Repository repository)
+    {
+        return repository.getStorage().getId() + ":" + repository.getId();
+    }
+
+    private static class PackageFeeds
+    {
+
+        private final ConcurrentMap<String, NpmPackageFeedContent> feeds = new ConcurrentHashMap<>();
+
+    }
+
+    public static class NpmPackageFeedContent
+    {
+
+        private final byte[] content;
+
+        private final String eTag;
+
+        private volatile byte[] gzipContent;
+
+        private NpmPackageFeedContent(byte[] content)
+        {
+            this.content = content;
+            this.eTag = "\"" + DigestUtils.sha1Hex(content) + "\"";
+        }
+
+        public byte[] getContent()
+        {
+            return content;
+        }
+
+        public String getETag()
+        {
+            return eTag;
+        }
+
+        public byte[] getGzipContent()
+        {
+            byte[] result = gzipContent;
+            if (result != null)
+            {
+                return result;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out))
+            {
+                gzip.write(content);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+
+            return gzipContent = out.toByteArray();
+        }
+
+    }
+
+}
@@ -57,6 +57,9 @@ public class NpmPackageFeedParser
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
     public void parseSearchResult(Repository repository,
                                   SearchResults searchResults)
         throws IOException
@@ -89,12 +92,17 @@ public class NpmPackageFeedParser
                                       Set<ArtifactEntry> artifactToSaveSet)
         throws IOException
     {
+        Set<String> packageIdSet = new HashSet<>();
         for (ArtifactEntry e : artifactToSaveSet)
         {
             RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(e);
 
             saveArtifactEntry(repositoryPath);
+
+            packageIdSet.add(e.getArtifactCoordinates().getId());
         }
+
+        packageIdSet.forEach(npmPackageFeedCache::invalidate);
     }
 
     @Transactional
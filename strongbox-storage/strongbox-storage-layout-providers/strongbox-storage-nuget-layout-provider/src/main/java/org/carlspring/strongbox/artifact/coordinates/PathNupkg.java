@@ -28,6 +28,7 @@ public class PathNupkg implements Nupkg
     private Nuspec nuspecFile;
     private String hash;
     private NugetArtifactCoordinates artifactCoordinates;
+    private boolean nuspecResolved;
     
     public PathNupkg(RepositoryPath path)
         throws NugetFormatException,
@@ -43,6 +44,25 @@ public class PathNupkg implements Nupkg
         this.hash = createHash();
     }
 
+    /**
+     * Creates the package with the already known (cached) <code>.nuspec</code> and hash, so that the package files
+     * are not read.
+     */
+    public PathNupkg(RepositoryPath path,
+                     Nuspec nuspec,
+                     String hash)
+        throws IOException
+    {
+        Assert.notNull(path, "path should not be null");
+        Assert.notNull(path.getArtifactEntry(), "artifact entry should not be null");
+
+        this.path = path;
+        this.artifactCoordinates = (NugetArtifactCoordinates) path.getArtifactEntry().getArtifactCoordinates();
+        this.nuspecFile = nuspec;
+        this.nuspecResolved = true;
+        this.hash = hash;
+    }
+
     public RepositoryPath getPath()
     {
         return path;
@@ -88,6 +108,14 @@ public class PathNupkg implements Nupkg
         return checkSumStr;
     }
 
+    /**
+     * @return <code>true</code> if both the <code>.nuspec</code> and the hash were read from the package files
+     */
+    public boolean isMetadataResolved()
+    {
+        return nuspecResolved && hash != null && !hash.isEmpty();
+    }
+
     @Override
     public Nuspec getNuspec()
         throws NugetFormatException
@@ -110,9 +138,12 @@ public class PathNupkg implements Nupkg
             return result;
         }
         
-        try
+        try (InputStream is = Files.newInputStream(nuspecPath))
         {
-            return Nuspec.parse(Files.newInputStream(nuspecPath));
+            Nuspec result = Nuspec.parse(is);
+            nuspecResolved = result != null;
+
+            return result;
         }
         catch (IOException e)
         {
@@ -0,0 +1,171 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import org.carlspring.strongbox.artifact.coordinates.PathNupkg;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NugetLayoutProvider;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the <code>.nuspec</code> and the hash of the NuGet packages, which are needed for every package feed entry,
+ * by the package path. So the feed entries are created without reading the package files.
+ * <br>
+ * The <code>.nuspec</code> is cached serialized, so each feed entry gets its own {@link Nuspec} instance. The package
+ * is invalidated when any of its files is stored, updated or deleted.
+ */
+@Component
+public class NupkgMetadataCache
+{
+
+    private final Cache<String, NupkgMetadata> cache;
+
+    /**
+     * Incremented on each invalidation, so the metadata which was read before the invalidation is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public NupkgMetadataCache(@Value("${strongbox.nuget.nupkgMetadataCache.size:10000}") long maximumSize)
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterAccess(1, TimeUnit.HOURS)
+                            .build();
+    }
+
+    public PathNupkg getNupkg(RepositoryPath path)
+        throws IOException,
+               NugetFormatException
+    {
+        String key = createKey(path);
+
+        NupkgMetadata metadata = cache.getIfPresent(key);
+        if (metadata != null)
+        {
+            hits.increment();
+
+            return new PathNupkg(path, metadata.getNuspec(), metadata.hash);
+        }
+        misses.increment();
+
+        long currentGeneration = generation.get();
+        PathNupkg result = new PathNupkg(path);
+        // The package files can be stored after the package itself, so only complete metadata is cached.
+        if (result.isMetadataResolved())
+        {
+            metadata = new NupkgMetadata(result.getNuspec(), result.getHash());
+            if (generation.get() == currentGeneration)
+            {
+                cache.put(key, metadata);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Caches the metadata of the just stored package, so that it's not read back from the package files.
+     */
+    public void put(RepositoryPath path,
+                    Nuspec nuspec,
+                    String hash)
+        throws IOException
+    {
+        cache.put(createKey(path), new NupkgMetadata(nuspec, hash));
+    }
+
+    public boolean contains(RepositoryPath path)
+    {
+        return cache.getIfPresent(createKey(path)) != null;
+    }
+
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return misses.sum();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        if (!NugetLayoutProvider.ALIAS.equals(path.getRepository().getLayout()))
+        {
+            return;
+        }
+
+        // The package files are stored within the package version directory, the deleted path can be a directory.
+        String prefix = createKey(path.equals(path.getRoot()) ? path : path.getParent());
+
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private String createKey(RepositoryPath path)
+    {
+        return path.toUri().toString();
+    }
+
+    private static class NupkgMetadata
+    {
+
+        private final byte[] nuspec;
+
+        private final String hash;
+
+        private NupkgMetadata(Nuspec nuspec,
+                              String hash)
+            throws IOException
+        {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try
+            {
+                nuspec.saveTo(os);
+            }
+            catch (JAXBException e)
+            {
+                throw new IOException(e);
+            }
+
+            this.nuspec = os.toByteArray();
+            this.hash = hash;
+        }
+
+        private Nuspec getNuspec()
+            throws NugetFormatException
+        {
+            return Nuspec.parse(new ByteArrayInputStream(nuspec));
+        }
+
+    }
+
+}
@@ -22,13 +22,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -36,8 +33,6 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
-import org.apache.xml.serialize.OutputFormat;
-import org.apache.xml.serialize.XMLSerializer;
 import org.carlspring.strongbox.storage.metadata.nuget.XmlWritable;
 
 /**
@@ -183,17 +178,13 @@ public class PackageFeed implements XmlWritable
     public void writeXml(OutputStream outputStream)
         throws JAXBException
     {
-        // Initial Serialization
-        JAXBContext context = JAXBContext.newInstance(this.getClass());
-        Marshaller marshaller = context.createMarshaller();
-        Map<String, String> uriToPrefix = new HashMap<>();
-        uriToPrefix.put("http://www.w3.org/2005/Atom", "atom");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/metadata", "m");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/scheme", "ds");
-        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices", "d");
-        NugetPrefixFilter filter = new NugetPrefixFilter(uriToPrefix);
-        filter.setContentHandler(new XMLSerializer(outputStream, new OutputFormat()));
-        marshaller.marshal(this, filter);
+        try (PackageFeedWriter writer = new PackageFeedWriter(outputStream, this))
+        {
+            for (PackageEntry entry : getEntries())
+            {
+                writer.write(entry);
+            }
+        }
     }
 
 }
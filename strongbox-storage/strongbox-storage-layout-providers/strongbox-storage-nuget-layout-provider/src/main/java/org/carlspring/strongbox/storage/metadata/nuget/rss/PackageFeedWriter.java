@@ -0,0 +1,126 @@
+package org.carlspring.strongbox.storage.metadata.nuget.rss;
+
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+
+import org.apache.xml.serialize.OutputFormat;
+import org.apache.xml.serialize.XMLSerializer;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Writes the {@link PackageFeed} XML entry by entry, so that the feed entries don't need to be collected before
+ * writing.
+ * <br>
+ * Usage: create the writer (which writes the feed header), {@link #write(PackageEntry)} the entries and
+ * {@link #close()} the writer (which completes the feed document).
+ */
+public class PackageFeedWriter implements AutoCloseable
+{
+
+    static final Map<String, String> NAMESPACE_PREFIXES;
+
+    static
+    {
+        Map<String, String> uriToPrefix = new HashMap<>();
+        uriToPrefix.put(PackageFeed.ATOM_XML_NAMESPACE, "atom");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/metadata", "m");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices/scheme", "ds");
+        uriToPrefix.put("http://schemas.microsoft.com/ado/2007/08/dataservices", "d");
+        NAMESPACE_PREFIXES = Collections.unmodifiableMap(uriToPrefix);
+    }
+
+    private static final String FEED_ELEMENT = "feed";
+
+    private static volatile JAXBContext context;
+
+    private final NugetPrefixFilter filter;
+
+    private final Marshaller marshaller;
+
+    /**
+     * @param feed
+     *            the feed header (title, id, updated date and link), the feed entries are not written
+     */
+    public PackageFeedWriter(OutputStream outputStream,
+                             PackageFeed feed)
+        throws JAXBException
+    {
+        marshaller = getContext().createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+        filter = new NugetPrefixFilter(NAMESPACE_PREFIXES);
+        filter.setContentHandler(new XMLSerializer(outputStream, new OutputFormat()));
+
+        try
+        {
+            filter.startDocument();
+            filter.startElement(PackageFeed.ATOM_XML_NAMESPACE, FEED_ELEMENT, FEED_ELEMENT, new AttributesImpl());
+        }
+        catch (SAXException e)
+        {
+            throw new JAXBException(e);
+        }
+
+        marshaller.marshal(new Title(feed.getTitle()), filter);
+        if (feed.getId() != null)
+        {
+            marshaller.marshal(new JAXBElement<>(new QName(PackageFeed.ATOM_XML_NAMESPACE, "id"), String.class,
+                                                 feed.getId()),
+                               filter);
+        }
+        if (feed.getUpdated() != null)
+        {
+            marshaller.marshal(new JAXBElement<>(new QName(PackageFeed.ATOM_XML_NAMESPACE, "updated"), Date.class,
+                                                 feed.getUpdated()),
+                               filter);
+        }
+        marshaller.marshal(new Link("self", "Packages", feed.getLink()), filter);
+    }
+
+    public void write(PackageEntry entry)
+        throws JAXBException
+    {
+        marshaller.marshal(entry, filter);
+    }
+
+    @Override
+    public void close()
+        throws JAXBException
+    {
+        try
+        {
+            filter.endElement(PackageFeed.ATOM_XML_NAMESPACE, FEED_ELEMENT, FEED_ELEMENT);
+            filter.endDocument();
+        }
+        catch (SAXException e)
+        {
+            throw new JAXBException(e);
+        }
+    }
+
+    /**
+     * The {@link JAXBContext} is thread safe and expensive to create, so it's created once.
+     */
+    private static JAXBContext getContext()
+        throws JAXBException
+    {
+        JAXBContext result = context;
+        if (result == null)
+        {
+            result = context = JAXBContext.newInstance(PackageFeed.class);
+        }
+
+        return result;
+    }
+
+}
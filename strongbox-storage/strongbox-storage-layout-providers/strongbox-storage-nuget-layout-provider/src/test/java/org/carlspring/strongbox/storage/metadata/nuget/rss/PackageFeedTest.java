@@ -9,6 +9,8 @@ import org.carlspring.strongbox.testing.TestCaseWithNugetArtifactGeneration;
 import javax.inject.Inject;
 import javax.xml.bind.JAXBException;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -141,4 +143,43 @@ public class PackageFeedTest
             assertThat(resultXml, containsString("name>" + author + "<"));
         }
     }
+
+    /**
+     * Checks that the feed written entry by entry is a complete feed document
+     *
+     * @throws Exception
+     *             error during the test
+     */
+    @Test
+    public void testWriteFeedByEntries()
+        throws Exception
+    {
+        // GIVEN
+        Path packageFilePath = TestCaseWithNugetArtifactGeneration.generateArtifactFile(baseDirectoryPath,
+                                                                                        "NUnit",
+                                                                                        "2.5.9.10348");
+
+        PackageFeed feed = new PackageFeed();
+        feed.setId("http://localhost:48080/storages/nuget/nuget-releases/");
+        feed.setUpdated(new Date());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (InputStream nupkgInputStream = new BufferedInputStream(Files.newInputStream(packageFilePath));
+                TempNupkgFile nupkgFile = new TempNupkgFile(nupkgInputStream))
+        {
+            // WHEN
+            try (PackageFeedWriter writer = new PackageFeedWriter(outputStream, feed))
+            {
+                writer.write(new PackageEntry(nupkgFile));
+                writer.write(new PackageEntry(nupkgFile));
+            }
+        }
+
+        // THEN
+        PackageFeed result = PackageFeed.parse(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(feed.getId(), result.getId(), "ID");
+        assertEquals("Packages", result.getTitle(), "RSS Header");
+        assertEquals(2, result.getEntries().size(), "Number of packages");
+        assertEquals("NUnit", result.getEntries().get(0).getTitle(), "Package ID");
+    }
 }
@@ -0,0 +1,46 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.users.security.AuthenticationCache;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the password authentication cache counters under the `metrics` actuator endpoint.
+ */
+@Component
+public class AuthenticationCacheMetrics
+        implements MeterBinder
+{
+
+    private final AuthenticationCache authenticationCache;
+
+    @Inject
+    public AuthenticationCacheMetrics(AuthenticationCache authenticationCache)
+    {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("strongbox.authentication.cache",
+                                authenticationCache,
+                                AuthenticationCache::getHits)
+                       .tag("result", "hit")
+                       .description("Password authentications which were verified by the cached credentials")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.authentication.cache",
+                                authenticationCache,
+                                AuthenticationCache::getMisses)
+                       .tag("result", "miss")
+                       .description("Password authentications which were verified by the password encoder")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.event.EventCategory;
+import org.carlspring.strongbox.event.EventListenerStatistics;
+import org.carlspring.strongbox.event.EventTaskExecutor;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the event queues and the event listener statistics under the `metrics` actuator endpoint.
+ */
+@Component
+public class EventExecutorMetrics
+        implements MeterBinder
+{
+
+    @Inject
+    private EventTaskExecutor eventTaskExecutor;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        for (EventCategory category : EventCategory.values())
+        {
+            Gauge.builder("strongbox.event.queue.size", eventTaskExecutor, e -> e.getQueueSize(category))
+                 .tag("category", category.getName())
+                 .description("Events waiting in the queue")
+                 .register(registry);
+        }
+
+        // The listener statistics appear on the first event, so the meters are registered as they appear.
+        eventTaskExecutor.forEachListenerStatistics(s -> bindTo(registry, s));
+    }
+
+    private void bindTo(MeterRegistry registry,
+                        EventListenerStatistics statistics)
+    {
+        Tags tags = Tags.of("listener", statistics.getListenerName(),
+                            "category", statistics.getCategory().getName());
+
+        Gauge.builder("strongbox.event.listener.pending", statistics, EventListenerStatistics::getPendingEvents)
+             .tags(tags)
+             .description("Events queued for the listener")
+             .register(registry);
+
+        FunctionTimer.builder("strongbox.event.listener.wait",
+                              statistics,
+                              EventListenerStatistics::getProcessedEvents,
+                              EventListenerStatistics::getTotalWaitTimeNanos,
+                              TimeUnit.NANOSECONDS)
+                     .tags(tags)
+                     .description("Time the events spent in the queue")
+                     .register(registry);
+
+        FunctionTimer.builder("strongbox.event.listener.processing",
+                              statistics,
+                              EventListenerStatistics::getProcessedEvents,
+                              EventListenerStatistics::getTotalProcessingTimeNanos,
+                              TimeUnit.NANOSECONDS)
+                     .tags(tags)
+                     .description("Time the listener spent processing the events")
+                     .register(registry);
+
+        FunctionCounter.builder("strongbox.event.listener.failures",
+                                statistics,
+                                EventListenerStatistics::getFailedEvents)
+                       .tags(tags)
+                       .description("Events the listener failed to process")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.event.listener.coalesced",
+                                statistics,
+                                EventListenerStatistics::getCoalescedEvents)
+                       .tags(tags)
+                       .description("Events skipped as the same event was already queued")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.event.listener.rejected",
+                                statistics,
+                                EventListenerStatistics::getRejectedEvents)
+                       .tags(tags)
+                       .description("Events which didn't fit into the queue")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the group repository path resolution cache counters under the `metrics` actuator endpoint.
+ */
+@Component
+public class GroupRepositoryMetrics
+        implements MeterBinder
+{
+
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("strongbox.group.resolution",
+                                groupRepositoryPathResolutionCache,
+                                GroupRepositoryPathResolutionCache::getHits)
+                       .tag("result", "hit")
+                       .description("Group repository paths which were resolved by the cached member repository")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.group.resolution",
+                                groupRepositoryPathResolutionCache,
+                                GroupRepositoryPathResolutionCache::getNotFoundHits)
+                       .tag("result", "not-found-hit")
+                       .description("Group repository paths which were cached as not found")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.group.resolution",
+                                groupRepositoryPathResolutionCache,
+                                GroupRepositoryPathResolutionCache::getMisses)
+                       .tag("result", "miss")
+                       .description("Group repository paths which were resolved by traversing the member repositories")
+                       .register(registry);
+
+        Gauge.builder("strongbox.group.resolution.cache.size",
+                      groupRepositoryPathResolutionCache,
+                      GroupRepositoryPathResolutionCache::size)
+             .description("Paths with the cached group repository resolutions")
+             .register(registry);
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPathFetchCoalescer;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the proxy repository fetch counters under the `metrics` actuator endpoint.
+ */
+@Component
+public class ProxyRepositoryMetrics
+        implements MeterBinder
+{
+
+    @Inject
+    private ProxyRepositoryPathFetchCoalescer proxyRepositoryPathFetchCoalescer;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("strongbox.proxy.fetch",
+                                proxyRepositoryPathFetchCoalescer,
+                                ProxyRepositoryPathFetchCoalescer::getLeaderFetches)
+                       .tag("role", "leader")
+                       .description("Proxy repository fetches which were done by the requesting thread")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.fetch",
+                                proxyRepositoryPathFetchCoalescer,
+                                ProxyRepositoryPathFetchCoalescer::getFollowerFetches)
+                       .tag("role", "follower")
+                       .description("Proxy repository fetches which were coalesced with the fetch in progress")
+                       .register(registry);
+    }
+
+}
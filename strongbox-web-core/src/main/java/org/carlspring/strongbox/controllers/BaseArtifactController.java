@@ -1,17 +1,35 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.domain.ArtifactHeaders;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryStreamingFetch;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
+import org.carlspring.strongbox.utils.ArtifactHeadersCacheManager;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
 
 public abstract class BaseArtifactController
         extends BaseController
@@ -20,6 +38,32 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    protected ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Inject
+    protected ArtifactHeadersCacheManager artifactHeadersCacheManager;
+
+    @Inject
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    @Value("${strongbox.download.fileChannel.enabled:true}")
+    private boolean fileChannelDownloadEnabled;
+
+    /**
+     * Resolves the path to be downloaded with {@link #provideArtifactDownloadResponse}, so the proxied artifact which
+     * is being fetched from remote right now is resolved without waiting for the fetch to complete.
+     */
+    protected RepositoryPath resolvePathForDownload(String storageId,
+                                                    String repositoryId,
+                                                    String path)
+            throws IOException
+    {
+        return proxyRepositoryArtifactResolver.resolveStreaming(() -> artifactResolutionService.resolvePath(storageId,
+                                                                                                           repositoryId,
+                                                                                                           path));
+    }
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -27,30 +71,189 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: {}", repositoryPath);
-        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
-        if (response.getStatus() == HttpStatus.NOT_FOUND.value())
+        ProxyRepositoryStreamingFetch streamingFetch = proxyRepositoryArtifactResolver.getStreamingFetch(repositoryPath);
+        if (streamingFetch != null && !httpHeaders.containsKey(HttpHeaders.RANGE))
+        {
+            return provideStreamingDownloadResponse(request, response, streamingFetch);
+        }
+        else if (streamingFetch != null)
+        {
+            // The ranges can't be served before the length is known, so they are served from the stored artifact.
+            streamingFetch.awaitCompleted();
+        }
+
+        ArtifactHeaders artifactHeaders = repositoryPath == null ? null :
+                                          artifactHeadersCacheManager.getArtifactHeaders(repositoryPath);
+        if (artifactHeaders == null)
         {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
             return false;
         }
-        else if (request.getMethod().equals(RequestMethod.HEAD.name()))
+
+        // Sets 304 with the ETag and Last-Modified headers, if the artifact was not modified.
+        if (new ServletWebRequest(request, response).checkNotModified(artifactHeaders.getETag(),
+                                                                      artifactHeaders.getLastModified()))
+        {
+            return true;
+        }
+
+        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath, artifactHeaders);
+        if (request.getMethod().equals(RequestMethod.HEAD.name()))
         {
             return true;
         }
 
-        
-        try (InputStream is = artifactResolutionService.getInputStream(repositoryPath);)
+        try (RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath))
         {
-            if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+            long length = artifactHeaders.getSize();
+
+            List<HttpRange> ranges = ArtifactControllerHelper.resolveRanges(httpHeaders, repositoryPath,
+                                                                            artifactHeaders);
+            if (ranges == null)
+            {
+                if (fileChannelDownloadEnabled)
+                {
+                    copyToResponse(is, 0, length, response);
+                }
+                else
+                {
+                    copyToResponse(is, response);
+                }
+            }
+            else if (ranges.isEmpty())
+            {
+                ArtifactControllerHelper.provideRangeNotSatisfiableHeaders(length, response);
+            }
+            else if (ranges.size() == 1)
             {
                 logger.debug("Detected ranged request.");
 
-                ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+                HttpRange range = ranges.get(0);
+                ArtifactControllerHelper.provideSingleRangeHeaders(range, length, response);
+
+                long first = range.getRangeStart(length);
+                long count = range.getRangeEnd(length) - first + 1;
+                if (fileChannelDownloadEnabled)
+                {
+                    copyToResponse(is, first, count, response);
+                }
+                else
+                {
+                    copyRangeToResponse(is, first, count, response);
+                }
             }
-            
+            else
+            {
+                logger.debug("Detected ranged request with multiple ranges.");
+
+                copyRangesToResponse(is, ranges, length, response);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Serves the multiple ranges as <code>multipart/byteranges</code> (RFC 7233, appendix A), each range is
+     * transferred directly from its position in the file channel.
+     */
+    private void copyRangesToResponse(RepositoryInputStream is,
+                                      List<HttpRange> ranges,
+                                      long length,
+                                      HttpServletResponse response)
+        throws IOException
+    {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        String contentType = response.getContentType();
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (HttpRange range : ranges)
+        {
+            long first = range.getRangeStart(length);
+            long last = range.getRangeEnd(length);
+
+            String partHeader = "\r\n--" + boundary + "\r\n" +
+                                HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n" +
+                                HttpHeaders.CONTENT_RANGE + ": " +
+                                ArtifactControllerHelper.formatContentRange(first, last, length) + "\r\n\r\n";
+
+            byte[] partHeaderBytes = partHeader.getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeaderBytes);
+            contentLength += partHeaderBytes.length + last - first + 1;
+        }
+
+        byte[] closeDelimiter = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closeDelimiter.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+
+        try (OutputStream os = response.getOutputStream())
+        {
+            WritableByteChannel channel = os instanceof WritableByteChannel ? (WritableByteChannel) os
+                                                                             : Channels.newChannel(os);
+            for (int i = 0; i < ranges.size(); i++)
+            {
+                HttpRange range = ranges.get(i);
+                long first = range.getRangeStart(length);
+
+                os.write(partHeaders.get(i));
+                is.transferTo(first, range.getRangeEnd(length) - first + 1, channel);
+            }
+
+            os.write(closeDelimiter);
+
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * Serves the artifact which is being fetched from remote right now, with the headers provided by the remote
+     * repository. The checksums of such an artifact are not known yet, so they are not provided.
+     */
+    private boolean provideStreamingDownloadResponse(HttpServletRequest request,
+                                                     HttpServletResponse response,
+                                                     ProxyRepositoryStreamingFetch streamingFetch)
+        throws IOException
+    {
+        logger.debug("Streaming [{}] while it is being fetched from remote.", streamingFetch.getRepositoryPath());
+
+        ArtifactControllerHelper.provideContentTypeHeader(response, streamingFetch.getRepositoryPath());
+        provideHeader(response, HttpHeaders.CONTENT_LENGTH, streamingFetch.getContentLength());
+        provideHeader(response, HttpHeaders.ETAG, streamingFetch.getETag());
+        provideHeader(response, HttpHeaders.LAST_MODIFIED, streamingFetch.getLastModified());
+        if (request.getMethod().equals(RequestMethod.HEAD.name()))
+        {
+            return true;
+        }
+
+        try (InputStream is = streamingFetch.newInputStream())
+        {
             copyToResponse(is, response);
         }
 
+        // The artifact entry is stored together with the artifact, so the download is only recorded once the stream
+        // has been completed.
+        RepositoryPath repositoryPath = streamingFetch.getRepositoryPath();
+        if (RepositoryFiles.isArtifact(repositoryPath))
+        {
+            artifactEventListenerRegistry.dispatchArtifactDownloadingEvent(repositoryPath);
+            artifactEventListenerRegistry.dispatchArtifactDownloadedEvent(repositoryPath);
+        }
+
         return true;
     }
 
+    private void provideHeader(HttpServletResponse response,
+                               String name,
+                               String value)
+    {
+        if (value != null)
+        {
+            response.setHeader(name, value);
+        }
+    }
+
 }
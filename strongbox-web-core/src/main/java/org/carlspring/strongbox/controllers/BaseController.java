@@ -7,6 +7,7 @@ import org.carlspring.strongbox.controllers.support.ErrorResponseEntityBody;
 import org.carlspring.strongbox.controllers.support.ListEntityBody;
 import org.carlspring.strongbox.controllers.support.ResponseEntityBody;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
@@ -17,10 +18,13 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.InputStreamResource;
@@ -293,12 +297,11 @@ public abstract class BaseController
             long totalBytes = 0L;
 
             int readLength;
-            byte[] bytes = new byte[4096];
+            byte[] bytes = new byte[16384];
             while ((readLength = is.read(bytes, 0, bytes.length)) != -1)
             {
-                // Write the artifact
+                // Write the artifact (the servlet container flushes its buffer once it's full)
                 os.write(bytes, 0, readLength);
-                os.flush();
 
                 totalBytes += readLength;
             }
@@ -307,4 +310,42 @@ public abstract class BaseController
             response.flushBuffer();
         }
     }
+
+    /**
+     * Copies the part of the stream into the response, reading the stream through its decorators. The response
+     * headers (<code>Content-Length</code> in particular) are expected to be provided already.
+     */
+    protected void copyRangeToResponse(InputStream is,
+                                       long position,
+                                       long count,
+                                       HttpServletResponse response)
+            throws IOException
+    {
+        try (OutputStream os = response.getOutputStream())
+        {
+            IOUtils.copyLarge(is, os, position, count, new byte[16384]);
+
+            response.flushBuffer();
+        }
+    }
+
+    /**
+     * Copies the part of the file into the response directly from the file channel. The response headers
+     * (<code>Content-Length</code> in particular) are expected to be provided already.
+     */
+    protected void copyToResponse(RepositoryInputStream is,
+                                  long position,
+                                  long count,
+                                  HttpServletResponse response)
+            throws IOException
+    {
+        try (OutputStream os = response.getOutputStream())
+        {
+            WritableByteChannel channel = os instanceof WritableByteChannel ? (WritableByteChannel) os
+                                                                             : Channels.newChannel(os);
+            is.transferTo(position, count, channel);
+
+            response.flushBuffer();
+        }
+    }
 }
@@ -2,6 +2,8 @@ package org.carlspring.strongbox.controllers.aql;
 
 import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.controllers.BaseController;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.QueryParserException;
 import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.AqlSearchService;
@@ -36,12 +38,28 @@ public class AqlController extends BaseController
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
     @PreAuthorize("hasAuthority('SEARCH_ARTIFACTS')")
     @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE })
-    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query)
+    public ResponseEntity search(@ApiParam(value = "Search query", required = true) @RequestParam(name = "query", required = true) String query,
+                                 @ApiParam(value = "Whether the results should be keyset paginated, so that the following pages are requested by the continuation token") @RequestParam(name = "keyset", defaultValue = "false") boolean keyset,
+                                 @ApiParam(value = "The continuation token of the previous results page") @RequestParam(name = "continuationToken", required = false) String continuationToken)
         throws IOException
     {
         AqlQueryParser parser = new AqlQueryParser(query);
         Selector<ArtifactEntry> selector = parser.parseQuery();
 
+        Paginator paginator = selector.getPaginator();
+        if (continuationToken != null)
+        {
+            paginator.setContinuationToken(continuationToken);
+        }
+        else if (keyset && paginator.getSkip() > 0)
+        {
+            throw new QueryParserException("The keyset paginated results are paged by the continuation token.");
+        }
+        else
+        {
+            paginator.setKeyset(keyset);
+        }
+
         SearchResults result = aqlSearchService.search(selector);
 
         return ResponseEntity.ok(result);
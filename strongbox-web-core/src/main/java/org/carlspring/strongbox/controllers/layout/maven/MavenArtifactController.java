@@ -68,7 +68,7 @@ public class MavenArtifactController
         logger.debug("Requested /{}/{}/{}.", storageId, repositoryId, artifactPath);
 
         artifactPath = correctIndexPathIfNecessary(artifactPath);
-        RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, artifactPath);
+        RepositoryPath repositoryPath = resolvePathForDownload(storageId, repositoryId, artifactPath);
         
         provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
     }
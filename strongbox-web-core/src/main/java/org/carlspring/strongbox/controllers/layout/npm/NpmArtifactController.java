@@ -17,6 +17,8 @@ import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.repository.NpmPackageFeedCache;
+import org.carlspring.strongbox.repository.NpmPackageFeedCache.NpmPackageFeedContent;
 import org.carlspring.strongbox.repository.NpmRepositoryFeatures.SearchPackagesEventListener;
 import org.carlspring.strongbox.repository.NpmRepositoryFeatures.ViewPackageEventListener;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -30,11 +32,10 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import java.io.*;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
@@ -50,13 +51,13 @@ import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.io.IOUtils;
-import org.javatuples.Pair;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.Assert;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * This Controller used to handle npm requests.
@@ -92,6 +93,9 @@ public class NpmArtifactController
     
     @Inject
     private ViewPackageEventListener viewPackageEventListener;
+
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
     
     @Inject
     private SearchPackagesEventListener searcPackagesEventListener;
@@ -195,18 +199,113 @@ public class NpmArtifactController
     public void viewPackageFeedWithScope(@RepositoryMapping Repository repository,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         HttpServletRequest request,
                                          HttpServletResponse response)
         throws Exception
     {
-        final String storageId = repository.getStorage().getId();
-        final String repositoryId = repository.getId();
-
         String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
         
         NpmViewRequest npmSearchRequest = new NpmViewRequest();
         npmSearchRequest.setPackageId(packageId);
         viewPackageEventListener.setNpmSearchRequest(npmSearchRequest);
 
+        NpmPackageFeedContent packageFeedContent = npmPackageFeedCache.get(repository, packageId,
+                                                                           () -> writePackageFeed(repository,
+                                                                                                  packageScope,
+                                                                                                  packageName));
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(packageFeedContent.getETag()))
+        {
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] content = packageFeedContent.getContent();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)))
+        {
+            content = packageFeedContent.getGzipContent();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    /**
+     * @return <code>true</code> if the <code>Accept-Encoding</code> header accepts <code>gzip</code> (explicitly, or by
+     *         the <code>*</code> wildcard) with a non-zero quality value
+     */
+    static boolean acceptsGzip(String acceptEncoding)
+    {
+        if (acceptEncoding == null)
+        {
+            return false;
+        }
+
+        Float gzipQuality = null;
+        Float wildcardQuality = null;
+        for (String element : acceptEncoding.split(","))
+        {
+            String[] parameters = element.split(";");
+            String coding = parameters[0].trim().toLowerCase();
+
+            float quality = 1;
+            for (int i = 1; i < parameters.length; i++)
+            {
+                String parameter = parameters[i].trim();
+                if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q="))
+                {
+                    try
+                    {
+                        quality = Float.parseFloat(parameter.substring(2).trim());
+                    }
+                    catch (NumberFormatException e)
+                    {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (coding.equals("gzip") || coding.equals("x-gzip"))
+            {
+                gzipQuality = quality;
+            }
+            else if (coding.equals("*"))
+            {
+                wildcardQuality = quality;
+            }
+        }
+
+        if (gzipQuality != null)
+        {
+            return gzipQuality > 0;
+        }
+
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
+    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
+    public void viewPackageFeed(@RepositoryMapping Repository repository,
+                                @PathVariable(name = "packageName") String packageName,
+                                HttpServletRequest request,
+                                HttpServletResponse response)
+        throws Exception
+    {
+        viewPackageFeedWithScope(repository, null, packageName, request, response);
+    }
+
+    private byte[] writePackageFeed(Repository repository,
+                                    String packageScope,
+                                    String packageName)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
         PackageFeed packageFeed = new PackageFeed();
 
         packageFeed.setName(packageId);
@@ -250,18 +349,14 @@ public class NpmArtifactController
 
         });
 
-        response.setContentType(MediaType.APPLICATION_JSON);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
-    }
-
-    @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
-    @PreAuthorize("hasAuthority('ARTIFACTS_VIEW')")
-    public void viewPackageFeed(@RepositoryMapping Repository repository,
-                                @PathVariable(name = "packageName") String packageName,
-                                HttpServletResponse response)
-        throws Exception
-    {
-        viewPackageFeedWithScope(repository, null, packageName, response);
+        try
+        {
+            return npmJacksonMapper.writeValueAsBytes(packageFeed);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new UndeclaredThrowableException(e);
+        }
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -307,7 +402,7 @@ public class NpmArtifactController
             return;
         }
 
-        RepositoryPath path = artifactResolutionService.resolvePath(storageId, repositoryId, coordinates.toPath());
+        RepositoryPath path = resolvePathForDownload(storageId, repositoryId, coordinates.toPath());
         provideArtifactDownloadResponse(request, response, httpHeaders, path);
     }
 
@@ -338,7 +433,7 @@ public class NpmArtifactController
             return;
         }
 
-        RepositoryPath path = artifactResolutionService.resolvePath(storageId, repositoryId, coordinates.toPath());
+        RepositoryPath path = resolvePathForDownload(storageId, repositoryId, coordinates.toPath());
         provideArtifactDownloadResponse(request, response, httpHeaders, path);
     }
 
@@ -353,10 +448,9 @@ public class NpmArtifactController
         final String repositoryId = repository.getId();
 
         logger.info("npm publish request for {}/{}/{}", storageId, repositoryId, name);
-        Pair<PackageVersion, Path> packageEntry;
         try
         {
-            packageEntry = extractPackage(name, request.getInputStream());
+            publishPackage(repository, name, request.getInputStream());
         }
         catch (IllegalArgumentException e)
         {
@@ -364,154 +458,223 @@ public class NpmArtifactController
             return ResponseEntity.badRequest().build();
         }
 
-        PackageVersion packageJson = packageEntry.getValue0();
-        Path packageTgz = packageEntry.getValue1();
+        return ResponseEntity.ok("");
+    }
 
-        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(name, packageJson.getVersion());
+    /**
+     * Parses the npm package source and decodes its attachment into a temporary file, so that the package is
+     * validated (by its length and <code>package.json</code>) before anything is stored. A package, which can't be
+     * published, doesn't replace or remove the previously published one.
+     */
+    private void publishPackage(Repository repository,
+                                String packageName,
+                                ServletInputStream in)
+        throws IOException,
+               ProviderImplementationException,
+               ArtifactCoordinatesValidationException
+    {
+        PackageVersion packageVersion = null;
+        Path packageTgzTmp = null;
+
+        try
+        {
+            JsonFactory jfactory = new JsonFactory();
+            try (JsonParser jp = jfactory.createParser(in))
+            {
+                jp.setCodec(npmJacksonMapper);
 
-        storeNpmPackage(repository, coordinates, packageJson, packageTgz);
+                Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm package source should be JSON object.");
 
-        return ResponseEntity.ok("");
+                while (jp.nextToken() != null)
+                {
+                    String fieldName = jp.getCurrentName();
+                    // read value
+                    if (fieldName == null)
+                    {
+                        continue;
+                    }
+                    switch (fieldName)
+                    {
+                    case FIELD_NAME_VERSION:
+                        jp.nextValue();
+                        JsonNode node = jp.readValueAsTree();
+                        Assert.isTrue(node.size() == 1, "npm package source should contain only one version.");
+
+                        JsonNode packageJsonNode = node.iterator().next();
+                        packageVersion = extractPackageVersion(packageName, packageJsonNode.toString());
+
+                        break;
+                    case FIELD_NAME_ATTACHMENTS:
+                        Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT,
+                                      String.format("Failed to parse npm package source for illegal type [%s] of attachment.",
+                                                    jp.currentToken().name()));
+
+                        String packageAttachmentName = jp.nextFieldName();
+                        logger.info(String.format("Found npm package attachment [%s]", packageAttachmentName));
+
+                        moveToAttachment(jp, packageAttachmentName);
+                        Assert.isNull(packageTgzTmp, "npm package source should contain only one attachment.");
+                        packageTgzTmp = extractPackage(jp);
+
+                        jp.nextToken();
+                        jp.nextToken();
+
+                        break;
+                    }
+                }
+            }
+
+            if (packageVersion == null || packageTgzTmp == null)
+            {
+                throw new IllegalArgumentException(
+                        String.format("Failed to parse npm package source for [%s], attachment not found", packageName));
+            }
+
+            storePackage(repository, packageVersion, packageTgzTmp);
+        }
+        finally
+        {
+            if (packageTgzTmp != null)
+            {
+                Files.deleteIfExists(packageTgzTmp);
+            }
+        }
     }
 
-    private void storeNpmPackage(Repository repository,
-                                 NpmArtifactCoordinates coordinates,
-                                 PackageVersion packageDef,
-                                 Path packageTgzTmp)
+    /**
+     * Reads the <code>package.json</code> from the decoded package tarball (only until the <code>package.json</code>
+     * entry), and then stores the package tarball, the <code>package.json</code> and the package checksum. If the
+     * <code>package.json</code> or the checksum can't be stored, the stored package files are removed, so that the
+     * package tarball is not left without its metadata.
+     */
+    private void storePackage(Repository repository,
+                              PackageVersion packageVersion,
+                              Path packageTgzTmp)
         throws IOException,
                ProviderImplementationException,
-               NoSuchAlgorithmException,
                ArtifactCoordinatesValidationException
     {
-        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, coordinates);
+        RepositoryPath packagePath = repositoryPathResolver.resolve(repository,
+                                                                    NpmArtifactCoordinates.of(packageVersion.getName(),
+                                                                                              packageVersion.getVersion()));
+
+        String packageJsonSource;
         try (InputStream is = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
         {
-            artifactManagementService.validateAndStore(repositoryPath, is);
+            packageJsonSource = extrectPackageJson(is);
         }
-
-        Path packageJsonTmp = extractPackageJson(packageTgzTmp);
-        RepositoryPath packageJsonPath = repositoryPathResolver.resolve(repository, repositoryPath.resolveSibling("package.json"));
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(packageJsonTmp)))
+        catch (IOException e)
         {
-            artifactManagementService.validateAndStore(packageJsonPath, is);
+            throw new IllegalArgumentException(String.format("Failed to read npm package [%s]", packagePath), e);
         }
+        Assert.notNull(packageJsonSource, String.format("No package.json found in npm package [%s]", packagePath));
 
-        String shasum = Optional.ofNullable(packageDef.getDist()).map(p -> p.getShasum()).orElse(null);
-        if (shasum == null)
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
         {
-            logger.warn(String.format("No checksum provided for package [%s]", packageDef.getName()));
-            return;
+            artifactManagementService.validateAndStore(packagePath, is);
         }
 
-        String packageFileName = repositoryPath.getFileName().toString();
-        RepositoryPath checksumPath = repositoryPath.resolveSibling(packageFileName + ".sha1");
-        artifactManagementService.validateAndStore(checksumPath,
-                                                      new ByteArrayInputStream(shasum.getBytes("UTF-8")));
+        try
+        {
+            storePackageMetadata(repository, packageVersion, packagePath, packageJsonSource);
+        }
+        catch (Exception e)
+        {
+            deletePackage(repository, packagePath, e);
 
-        Files.delete(packageTgzTmp);
-        Files.delete(packageJsonTmp);
+            throw e;
+        }
     }
 
-    private Pair<PackageVersion, Path> extractPackage(String packageName,
-                                                      ServletInputStream in)
-        throws IOException
+    private void deletePackage(Repository repository,
+                               RepositoryPath packagePath,
+                               Exception cause)
     {
-        Path packageSourceTmp = Files.createTempFile("package", "source");
-        Files.copy(in, packageSourceTmp, StandardCopyOption.REPLACE_EXISTING);
-
-        PackageVersion packageVersion = null;
-        Path packageTgzPath = null;
-
-        JsonFactory jfactory = new JsonFactory();
-        try (InputStream tmpIn = new BufferedInputStream(Files.newInputStream(packageSourceTmp));
-             JsonParser jp = jfactory.createParser(tmpIn);)
+        String packageFileName = packagePath.getFileName().toString();
+        RepositoryPath[] packagePaths = new RepositoryPath[]{ packagePath,
+                                                              repositoryPathResolver.resolve(repository,
+                                                                                             packagePath.resolveSibling("package.json")),
+                                                              packagePath.resolveSibling(packageFileName + ".sha1") };
+        for (RepositoryPath path : packagePaths)
         {
-            jp.setCodec(npmJacksonMapper);
-
-            Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT, "npm package source should be JSON object.");
-
-            while (jp.nextToken() != null)
+            try
             {
-                String fieldName = jp.getCurrentName();
-                // read value
-                if (fieldName == null)
+                if (Files.exists(path))
                 {
-                    continue;
-                }
-                switch (fieldName)
-                {
-                case FIELD_NAME_VERSION:
-                    jp.nextValue();
-                    JsonNode node = jp.readValueAsTree();
-                    Assert.isTrue(node.size() == 1, "npm package source should contain only one version.");
-
-                    JsonNode packageJsonNode = node.iterator().next();
-                    packageVersion = extractPackageVersion(packageName, packageJsonNode.toString());
-
-                    break;
-                case FIELD_NAME_ATTACHMENTS:
-                    Assert.isTrue(jp.nextToken() == JsonToken.START_OBJECT,
-                                  String.format("Failed to parse npm package source for illegal type [%s] of attachment.",
-                                                jp.currentToken().name()));
-
-                    String packageAttachmentName = jp.nextFieldName();
-                    logger.info(String.format("Found npm package attachment [%s]", packageAttachmentName));
-
-                    moveToAttachment(jp, packageAttachmentName);
-                    packageTgzPath = extractPackage(jp);
-
-                    jp.nextToken();
-                    jp.nextToken();
-
-                    break;
+                    artifactManagementService.delete(path, true);
                 }
             }
+            catch (IOException e)
+            {
+                cause.addSuppressed(e);
+                logger.error(String.format("Failed to delete [%s] of the npm package which was not published.", path),
+                             e);
+            }
         }
-
-        Files.delete(packageSourceTmp);
-
-        if (packageVersion == null || packageTgzPath == null)
-        {
-            throw new IllegalArgumentException(
-                    String.format("Failed to parse npm package source for [%s], attachment not found", packageName));
-        }
-
-        return Pair.with(packageVersion, packageTgzPath);
     }
 
-    private Path extractPackage(JsonParser jp)
+    private void checkPackageLength(JsonParser jp,
+                                    long packageSize)
         throws IOException
     {
-        Path packageTgzTmp = Files.createTempFile("package", "tgz");
-        try (OutputStream packageTgzOut = new BufferedOutputStream(Files.newOutputStream(packageTgzTmp,
-                                                                                         StandardOpenOption.TRUNCATE_EXISTING)))
-        {
-            jp.readBinaryValue(packageTgzOut);
-        }
-
-        long packageSize = Files.size(packageTgzTmp);
-
         Assert.isTrue(FIELD_NAME_LENGTH.equals(jp.nextFieldName()), "Failed to validate package content length.");
         jp.nextToken();
 
         Assert.isTrue(packageSize == jp.getLongValue(), "Invalid package content length.");
         jp.nextToken();
+    }
 
-        return packageTgzTmp;
+    private void storePackageMetadata(Repository repository,
+                                      PackageVersion packageDef,
+                                      RepositoryPath repositoryPath,
+                                      String packageJsonSource)
+        throws IOException,
+               ProviderImplementationException,
+               ArtifactCoordinatesValidationException
+    {
+        RepositoryPath packageJsonPath = repositoryPathResolver.resolve(repository, repositoryPath.resolveSibling("package.json"));
+        artifactManagementService.validateAndStore(packageJsonPath,
+                                                   new ByteArrayInputStream(packageJsonSource.getBytes("UTF-8")));
+
+        String shasum = Optional.ofNullable(packageDef.getDist()).map(p -> p.getShasum()).orElse(null);
+        if (shasum == null)
+        {
+            logger.warn(String.format("No checksum provided for package [%s]", packageDef.getName()));
+            return;
+        }
+
+        String packageFileName = repositoryPath.getFileName().toString();
+        RepositoryPath checksumPath = repositoryPath.resolveSibling(packageFileName + ".sha1");
+        artifactManagementService.validateAndStore(checksumPath,
+                                                   new ByteArrayInputStream(shasum.getBytes("UTF-8")));
     }
 
-    private Path extractPackageJson(Path packageTgzTmp)
+    private Path extractPackage(JsonParser jp)
         throws IOException
     {
-        String packageJsonSource;
-        try (InputStream packageTgzIn = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
+        Path packageTgzTmp = Files.createTempFile("package", "tgz");
+        try
+        {
+            try (OutputStream packageTgzOut = new BufferedOutputStream(Files.newOutputStream(packageTgzTmp,
+                                                                                             StandardOpenOption.TRUNCATE_EXISTING)))
+            {
+                jp.readBinaryValue(packageTgzOut);
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new IllegalArgumentException("Failed to decode npm package attachment.", e);
+            }
+
+            checkPackageLength(jp, Files.size(packageTgzTmp));
+        }
+        catch (IOException | RuntimeException e)
         {
-            packageJsonSource = extrectPackageJson(packageTgzIn);
+            Files.deleteIfExists(packageTgzTmp);
+
+            throw e;
         }
-        Path packageJsonTmp = Files.createTempFile("package", "json");
-        Files.write(packageJsonTmp, packageJsonSource.getBytes("UTF-8"), StandardOpenOption.TRUNCATE_EXISTING);
 
-        return packageJsonTmp;
+        return packageTgzTmp;
     }
 
     private void moveToAttachment(JsonParser jp,
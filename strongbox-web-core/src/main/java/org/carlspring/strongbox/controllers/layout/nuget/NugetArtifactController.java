@@ -20,11 +20,13 @@ import org.carlspring.strongbox.repository.NugetRepositoryFeatures.RepositorySea
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
+import org.carlspring.strongbox.storage.metadata.nuget.NupkgMetadataCache;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.EntryProperties;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeedWriter;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.web.LayoutRequestMapping;
 import org.carlspring.strongbox.web.RepositoryMapping;
@@ -42,10 +44,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -87,6 +89,9 @@ public class NugetArtifactController
     @Inject
     private RepositorySearchEventListener repositorySearchEventListener;
 
+    @Inject
+    private NupkgMetadataCache nupkgMetadataCache;
+
     @DeleteMapping(path = { "{storageId}/{repositoryId}/{packageId}/{version}" })
     @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
     public ResponseEntity deletePackage(@RequestHeader(name = "X-NuGet-ApiKey", required = false) String apiKey,
@@ -182,43 +187,55 @@ public class NugetArtifactController
                             skip,
                             top);
 
-        PackageFeed feed = transform(feedId, files);
-
         response.setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_XML);
-        feed.writeXml(response.getOutputStream());
+        writeFeed(feedId, files, response.getOutputStream());
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
     
-    private PackageFeed transform(String feedId,
-                                  Collection<? extends Nupkg> files)
+    /**
+     * Writes the feed entry by entry, the feed is not collected in memory.
+     */
+    private void writeFeed(String feedId,
+                           Collection<? extends Nupkg> files,
+                           OutputStream outputStream)
+        throws JAXBException
     {
         PackageFeed feed = new PackageFeed();
         // feed.setId(getContext().getRootUri().toString());
         feed.setId(feedId);
         feed.setUpdated(new Date());
         feed.setTitle("Packages");
-        List<PackageEntry> packageEntrys = new ArrayList<>();
-        for (Nupkg nupkg : files)
+
+        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+
+        int count = 0;
+        try (PackageFeedWriter writer = new PackageFeedWriter(outputStream, feed))
         {
-            try
+            for (Nupkg nupkg : files)
             {
-                PackageEntry entry = createPackageEntry(feedId, (PathNupkg) nupkg);
-                calculateFeedEntryProperties((PathNupkg) nupkg, entry.getProperties());
-                packageEntrys.add(entry);
-            }
-            catch (NoSuchAlgorithmException | IOException | NugetFormatException e)
-            {
-                logger.error("Failed to parse package " + nupkg, e);
+                PackageEntry entry;
+                try
+                {
+                    entry = createPackageEntry(feedId, (PathNupkg) nupkg);
+                    calculateFeedEntryProperties((PathNupkg) nupkg, entry.getProperties(), lastVersionTag);
+                }
+                catch (NoSuchAlgorithmException | IOException | NugetFormatException e)
+                {
+                    logger.error("Failed to parse package " + nupkg, e);
+                    continue;
+                }
+
+                writer.write(entry);
+                count++;
             }
         }
-        logger.debug("Got {} packages", new Object[] { packageEntrys.size() });
-        feed.setEntries(packageEntrys);
-        return feed;
+        logger.debug("Got {} packages", count);
     }
 
     private void calculateFeedEntryProperties(PathNupkg nupkg,
-                                              EntryProperties properties) throws IOException
+                                              EntryProperties properties,
+                                              ArtifactTag lastVersionTag) throws IOException
     {
         RepositoryPath path = nupkg.getPath();
         ArtifactEntry artifactEntry = path.getArtifactEntry();
@@ -236,7 +253,6 @@ public class NugetArtifactController
         properties.setRating(Double.valueOf(0));
         properties.setVersionRating(Double.valueOf(0));
 
-        ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
         if (artifactEntry.getTagSet().contains(lastVersionTag))
         {
             properties.setIsLatestVersion(true);
@@ -292,10 +308,8 @@ public class NugetArtifactController
                                    storageId,
                                    repositoryId);
 
-        PackageFeed feed = transform(feedId, files);
-
         response.setHeader("Content-Type", MediaType.APPLICATION_XML);
-        feed.writeXml(response.getOutputStream());
+        writeFeed(feedId, files, response.getOutputStream());
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
@@ -334,7 +348,7 @@ public class NugetArtifactController
                        .map(p -> {
                            try
                            {
-                               return new PathNupkg((RepositoryPath) p);
+                               return nupkgMetadataCache.getNupkg((RepositoryPath) p);
                            }
                            catch (Exception e)
                            {
@@ -342,6 +356,7 @@ public class NugetArtifactController
                                return null;
                            }
                        })
+                       .filter(Objects::nonNull)
                        .collect(Collectors.toList());
     }
 
@@ -508,7 +523,7 @@ public class NugetArtifactController
         String fileName = String.format("%s.%s.nupkg", packageId, packageVersion);
         String path = String.format("%s/%s/%s", packageId, packageVersion, fileName);
 
-        RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, path);
+        RepositoryPath repositoryPath = resolvePathForDownload(storageId, repositoryId, path);
         if (provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath))
         {
             response.setHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", fileName));
@@ -620,8 +635,8 @@ public class NugetArtifactController
                                         nuspecId,
                                         nuspecVersion);
 
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
-            artifactManagementService.validateAndStore(repositoryPath, nupkgFile.getStream());
+            RepositoryPath nupkgPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+            artifactManagementService.validateAndStore(nupkgPath, nupkgFile.getStream());
 
             Path nuspecFile = Files.createTempFile(nuspec.getId(), "nuspec");
             try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(nuspecFile)))
@@ -629,7 +644,7 @@ public class NugetArtifactController
                 nuspec.saveTo(outputStream);
             }
             path = String.format("%s/%s/%s.nuspec", nuspecId, nuspecVersion, nuspecId);
-            repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
             try (InputStream bis = new BufferedInputStream(Files.newInputStream(nuspecFile)))
             {
                 artifactManagementService.validateAndStore(repositoryPath, bis);
@@ -656,6 +671,8 @@ public class NugetArtifactController
             {
                 artifactManagementService.validateAndStore(repositoryPath, bis);
             }
+
+            nupkgMetadataCache.put(nupkgPath, nuspec, nupkgFile.getHash());
         }
 
         return new URI("");
@@ -71,7 +71,7 @@ public class RawArtifactController
         final String repositoryId = repository.getId();
         logger.debug("Requested /{}/{}/{}.", storageId, repositoryId, path);
 
-        RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, path);
+        RepositoryPath repositoryPath = resolvePathForDownload(storageId, repositoryId, path);
         provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
     }
 
@@ -0,0 +1,64 @@
+package org.carlspring.strongbox.domain;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The artifact metadata which is needed for the download response headers, so that it can be served without reading
+ * the artifact (and its checksum files).
+ */
+public class ArtifactHeaders
+        implements Serializable
+{
+
+    private final long size;
+
+    private final long lastModified;
+
+    private final String eTag;
+
+    private final Map<String, String> checksums;
+
+    public ArtifactHeaders(long size,
+                           long lastModified,
+                           String eTag,
+                           Map<String, String> checksums)
+    {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+        this.checksums = new LinkedHashMap<>(checksums);
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return the last modified time in milliseconds
+     */
+    public long getLastModified()
+    {
+        return lastModified;
+    }
+
+    /**
+     * @return the quoted strong entity tag
+     */
+    public String getETag()
+    {
+        return eTag;
+    }
+
+    /**
+     * @return the checksums by the digest algorithm
+     */
+    public Map<String, String> getChecksums()
+    {
+        return Collections.unmodifiableMap(checksums);
+    }
+
+}
@@ -1,7 +1,6 @@
 package org.carlspring.strongbox.security.vote;
 
-import org.carlspring.strongbox.users.domain.AccessModel;
-import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
+import org.carlspring.strongbox.users.domain.PathPrivilegesTrie;
 import org.carlspring.strongbox.users.userdetails.SpringSecurityUser;
 import org.carlspring.strongbox.utils.UrlUtils;
 
@@ -16,7 +15,6 @@ import org.springframework.security.access.prepost.PreInvocationAuthorizationAdv
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import static org.carlspring.strongbox.web.Constants.ARTIFACT_ROOT_PATH;
 
@@ -79,8 +77,8 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
             }
 
             SpringSecurityUser userDetails = (SpringSecurityUser) authentication.getPrincipal();
-            UserAccessModelReadContract accessModel = userDetails.getAccessModel();
-            if (accessModel == null)
+            PathPrivilegesTrie pathPrivileges = userDetails.getPathPrivileges();
+            if (pathPrivileges == null)
             {
                 return authorities;
             }
@@ -99,14 +97,15 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
             }
 
             // assign privileges based on custom user access model
-            final Collection<String> customAuthorities = AccessModel.getPathPrivileges(accessModel, UrlUtils.getRequestUri());
-            if (customAuthorities == null || customAuthorities.isEmpty())
+            final Collection<GrantedAuthority> customAuthorities = pathPrivileges.getAuthorities(requestUri);
+            if (customAuthorities.isEmpty())
             {
                 return authorities;
             }
 
-            List<GrantedAuthority> extendedAuthorities = new ArrayList<>(authorities);
-            customAuthorities.forEach(privilege -> extendedAuthorities.add(new SimpleGrantedAuthority(privilege)));
+            List<GrantedAuthority> extendedAuthorities = new ArrayList<>(authorities.size() + customAuthorities.size());
+            extendedAuthorities.addAll(authorities);
+            extendedAuthorities.addAll(customAuthorities);
             logger.debug(String.format("Privileges for [%s] was extended to [%s]", userDetails.getUsername(),
                                        extendedAuthorities));
 
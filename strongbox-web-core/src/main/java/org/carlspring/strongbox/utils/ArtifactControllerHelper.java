@@ -1,27 +1,25 @@
 package org.carlspring.strongbox.utils;
 
-import org.carlspring.commons.http.range.ByteRange;
-import org.carlspring.commons.http.range.ByteRangeHeaderParser;
-import org.carlspring.strongbox.io.ByteRangeInputStream;
-import org.carlspring.strongbox.io.StreamUtils;
-import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.domain.ArtifactHeaders;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpRange;
 import org.springframework.http.MediaType;
 import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
 import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
@@ -31,6 +29,8 @@ public class ArtifactControllerHelper
 
     public static final String HEADER_NAME_RANGE = "Range";
 
+    private static final int MAX_RANGES = 100;
+
     private static final Logger logger = LoggerFactory.getLogger(ArtifactControllerHelper.class);
 
 
@@ -38,123 +38,194 @@ public class ArtifactControllerHelper
     {
     }
 
-    public static void handlePartialDownload(InputStream is,
-                                             HttpHeaders headers,
-                                             HttpServletResponse response)
-            throws IOException
+    /**
+     * Resolves the requested byte ranges (RFC 7233) against the content length, the suffix ranges included.
+     * <br>
+     * The <code>Range</code> header is ignored (<code>null</code> is returned), if it's invalid, if the
+     * <code>If-Range</code> validator doesn't match, or if the ranges request more than the whole content.
+     *
+     * @return the satisfiable ranges (with the explicit first and last positions), which is an empty list if none of
+     * the ranges is satisfiable
+     */
+    public static List<HttpRange> resolveRanges(HttpHeaders headers,
+                                                RepositoryPath path,
+                                                ArtifactHeaders artifactHeaders)
     {
-        ByteRangeHeaderParser parser = new ByteRangeHeaderParser(headers.getFirst(HEADER_NAME_RANGE));
-        List<ByteRange> ranges = parser.getRanges();
-        if (ranges.size() == 1)
+        long length = artifactHeaders.getSize();
+
+        String rangeHeader = headers.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader == null || !isIfRangeSatisfied(headers, artifactHeaders))
         {
-            logger.debug("Received request for a partial download with a single range.");
-            handlePartialDownloadWithSingleRange(is, (ByteRange) ranges.get(0), response);
+            return null;
         }
-        else
+
+        List<HttpRange> ranges;
+        try
         {
-            logger.debug("Received request for a partial download with multiple ranges.");
-            handlePartialDownloadWithMultipleRanges(is, ranges, response);
+            ranges = HttpRange.parseRanges(rangeHeader);
         }
-    }
-
-    public static void handlePartialDownloadWithSingleRange(InputStream is,
-                                                            ByteRange byteRange,
-                                                            HttpServletResponse response)
-            throws IOException
-    {
-        ByteRangeInputStream bris = StreamUtils.findSource(ByteRangeInputStream.class, (FilterInputStream)is);
-        long length = StreamUtils.getLength(bris);
-        if (byteRange.getOffset() < length)
+        catch (IllegalArgumentException e)
         {
-            long partialLength = calculatePartialRangeLength(byteRange, length);
+            logger.debug(String.format("Ignoring invalid range [%s] for [%s].", rangeHeader, path));
 
-            logger.debug("Calculated partial range length ->>> " + partialLength + "\n");
+            return null;
+        }
+
+        if (ranges.size() > MAX_RANGES)
+        {
+            logger.debug(String.format("Ignoring [%s] ranges for [%s].", ranges.size(), path));
 
-            StreamUtils.setCurrentByteRange(bris, byteRange);
+            return null;
+        }
 
-            response.setHeader("Content-Length", partialLength + "");
-            response.setStatus(PARTIAL_CONTENT.value());
+        List<HttpRange> result = new ArrayList<>(ranges.size());
+        long rangesLength = 0;
+        for (HttpRange range : ranges)
+        {
+            long first = range.getRangeStart(length);
+            long last = range.getRangeEnd(length);
+            if (first >= length || last < first)
+            {
+                // Not satisfiable, but the other ranges still can be.
+                continue;
+            }
 
-            prepareResponseBuilderForPartialRequest(byteRange, length, response);
+            result.add(HttpRange.createByteRange(first, last));
+            rangesLength += last - first + 1;
         }
-        else
+
+        if (result.size() > 1 && rangesLength > length)
         {
-            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            logger.debug(String.format("Ignoring overlapping ranges [%s] for [%s].", rangeHeader, path));
+
+            return null;
         }
-    }
 
-    public static void handlePartialDownloadWithMultipleRanges(InputStream is,
-                                                               List<ByteRange> byteRanges,
-                                                               HttpServletResponse response)
-            throws IOException
-    {
-        // XXX: this is not implemented yet
-        response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        return result;
     }
 
-    public static long calculatePartialRangeLength(ByteRange byteRange,
-                                                   long length)
+    /**
+     * The <code>If-Range</code> validator is either the <code>ETag</code>, or one of the stored checksums (as a
+     * strong entity tag), or the exact <code>Last-Modified</code> date.
+     */
+    public static boolean isIfRangeSatisfied(HttpHeaders headers,
+                                             ArtifactHeaders artifactHeaders)
     {
-        if (byteRange.getLimit() > 0L && byteRange.getOffset() > 0L)
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null)
         {
-            logger.debug("Partial content byteRange.getOffset: " + byteRange.getOffset());
-            logger.debug("Partial content byteRange.getLimit: " + byteRange.getLimit());
-            logger.debug("Partial content length: " + (byteRange.getLimit() - byteRange.getOffset()));
+            return true;
+        }
 
-            return byteRange.getLimit() - byteRange.getOffset();
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("W/"))
+        {
+            // The weak entity tags never match (RFC 7233, section 3.2).
+            return false;
         }
-        else if (length > 0L && byteRange.getOffset() > 0L && byteRange.getLimit() == 0L)
+        else if (ifRange.startsWith("\""))
         {
-            logger.debug("Partial content length: " + (length - byteRange.getOffset()));
-            return length - byteRange.getOffset();
+            if (ifRange.length() < 2 || !ifRange.endsWith("\""))
+            {
+                return false;
+            }
+
+            return ifRange.equals(artifactHeaders.getETag()) ||
+                   artifactHeaders.getChecksums().containsValue(ifRange.substring(1, ifRange.length() - 1));
         }
-        else
+
+        long date;
+        try
         {
-            return -1L;
+            date = headers.getFirstDate(HttpHeaders.IF_RANGE);
         }
+        catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+
+        // The Last-Modified header has the seconds precision.
+        long lastModified = artifactHeaders.getLastModified() / 1000 * 1000;
+
+        return date == lastModified;
     }
 
-    public static void prepareResponseBuilderForPartialRequest(ByteRange br,
-                                                               long length,
-                                                               HttpServletResponse response)
+    public static void provideSingleRangeHeaders(HttpRange range,
+                                                 long length,
+                                                 HttpServletResponse response)
     {
-        response.setHeader("Accept-Ranges", "bytes");
-        response.setHeader("Content-Range",
-                           "bytes " + br.getOffset() + "-" + (length - 1L) + "/" + length);
+        long first = range.getRangeStart(length);
+        long last = range.getRangeEnd(length);
 
-        logger.debug("Content-Range HEADER ->>> " + response.getHeader("Content-Range"));
-        response.setHeader("Pragma", "no-cache");
+        response.setStatus(PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(last - first + 1));
+        response.setHeader(HttpHeaders.CONTENT_RANGE, formatContentRange(first, last, length));
     }
 
-    public static boolean isRangedRequest(HttpHeaders headers)
+    public static void provideRangeNotSatisfiableHeaders(long length,
+                                                         HttpServletResponse response)
     {
-        if (headers == null)
-        {
-            return false;
-        }
-        else
-        {
-            String contentRange = headers.getFirst(HEADER_NAME_RANGE) != null ? headers.getFirst(HEADER_NAME_RANGE) : null;
-            return contentRange != null && !"0/*".equals(contentRange) && !"0-".equals(contentRange) &&
-                   !"0".equals(contentRange);
-        }
+        response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
     }
 
+    public static String formatContentRange(long first,
+                                            long last,
+                                            long length)
+    {
+        return "bytes " + first + "-" + last + "/" + length;
+    }
+
+    /**
+     * Provides the headers from the cached {@link ArtifactHeaders}, so that no files are read.
+     */
     public static void provideArtifactHeaders(HttpServletResponse response,
-                                              RepositoryPath path)
+                                              RepositoryPath path,
+                                              ArtifactHeaders artifactHeaders)
         throws IOException
     {
-        if (path == null || !Files.exists(path) || Files.isDirectory(path))
-        {
-            response.setStatus(HttpStatus.NOT_FOUND.value());
-            return;
-        }
-        RepositoryFileAttributes fileAttributes = Files.readAttributes(path, RepositoryFileAttributes.class);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(artifactHeaders.getSize()));
+        response.setHeader(HttpHeaders.LAST_MODIFIED, DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(artifactHeaders.getLastModified()),
+                                        ZoneId.systemDefault())));
+        response.setHeader(HttpHeaders.ETAG, artifactHeaders.getETag());
+
+        provideContentTypeHeader(response, path);
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        artifactHeaders.getChecksums().forEach((algorithm, checksumValue) -> {
+            String checksumName = String.format("Checksum-%s",
+                                                algorithm.toUpperCase().replaceAll("-", ""));
+            response.setHeader(checksumName,
+                               checksumValue);
+        });
+    }
+
+    /**
+     * @return the stored checksums of the path by the digest algorithm
+     */
+    public static Map<String, String> readChecksums(RepositoryPath path)
+    {
+        Map<String, String> result = new LinkedHashMap<>();
+        path.getFileSystem().provider().resolveChecksumPathMap(path).forEach((algorithm, checksumPath) -> {
+            try
+            {
+                result.put(algorithm, new String(Files.readAllBytes(checksumPath), "UTF-8").trim());
+            }
+            catch (IOException ioe)
+            {
+                // The checksum is not available.
+            }
+        });
 
-        response.setHeader("Content-Length", String.valueOf(fileAttributes.size()));
-        response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
-                ZonedDateTime.ofInstant(fileAttributes.lastModifiedTime().toInstant(), ZoneId.systemDefault())));
+        return result;
+    }
 
+    public static void provideContentTypeHeader(HttpServletResponse response,
+                                                RepositoryPath path)
+        throws IOException
+    {
         // TODO: This is far from optimal and will need to have a content type approach at some point:
         if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
         {
@@ -172,25 +243,6 @@ public class ArtifactControllerHelper
         {
             response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
         }
-
-        response.setHeader("Accept-Ranges", "bytes");
-
-        path.getFileSystem().provider().resolveChecksumPathMap(path).entrySet().stream().forEach(e -> {
-            String checksumValue;
-            try
-            {
-                checksumValue = new String(Files.readAllBytes(e.getValue()), "UTF-8").trim();
-            }
-            catch (IOException ioe)
-            {
-                return;
-            }
-            String checksumName = String.format("Checksum-%s",
-                                                e.getKey().toUpperCase().replaceAll("-", ""));
-            response.setHeader(checksumName,
-                               checksumValue);
-        });
-        
     }
 
 }
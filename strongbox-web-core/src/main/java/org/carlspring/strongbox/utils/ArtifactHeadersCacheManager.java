@@ -0,0 +1,133 @@
+package org.carlspring.strongbox.utils;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactHeaders;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the {@link ArtifactHeaders} by the path and its last modified time, so that only the basic file attributes
+ * are read for the cached artifacts. The changed artifact just gets a new cache entry, while the stale one is evicted
+ * eventually. The headers of a file which is still missing some of its checksum files are not cached.
+ */
+@Component
+public class ArtifactHeadersCacheManager
+{
+
+    private final Cache cache;
+
+    @Inject
+    ArtifactHeadersCacheManager(CacheManager cacheManager)
+    {
+        cache = cacheManager.getCache(CacheName.Artifact.HEADERS);
+        Objects.requireNonNull(cache, "artifactHeaders cache configuration was not provided");
+    }
+
+    /**
+     * @return the headers, or <code>null</code> if the path doesn't exist or is a directory
+     */
+    public ArtifactHeaders getArtifactHeaders(RepositoryPath path)
+        throws IOException
+    {
+        BasicFileAttributes attributes;
+        try
+        {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+
+        if (attributes.isDirectory())
+        {
+            return null;
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String key = path.toUri() + "@" + lastModified + ":" + attributes.size();
+
+        ArtifactHeaders artifactHeaders = cache.get(key, ArtifactHeaders.class);
+        if (artifactHeaders != null)
+        {
+            return artifactHeaders;
+        }
+
+        Map<String, String> checksums = readArtifactEntryChecksums(path, attributes.size());
+        boolean complete = checksums != null;
+        if (!complete)
+        {
+            checksums = ArtifactControllerHelper.readChecksums(path);
+            complete = Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)) ||
+                       checksums.size() == path.getFileSystem().provider().resolveChecksumPathMap(path).size();
+        }
+
+        artifactHeaders = new ArtifactHeaders(attributes.size(),
+                                              lastModified,
+                                              createETag(checksums, attributes.size(), lastModified),
+                                              checksums);
+
+        // The checksum files are usually deployed after the artifact itself, without changing its last modified
+        // time, so the headers are cached only once all of them are available.
+        if (complete)
+        {
+            cache.put(key, artifactHeaders);
+        }
+
+        return artifactHeaders;
+    }
+
+    /**
+     * The checksums are taken from the {@link ArtifactEntry}, which are calculated when the artifact is stored. The
+     * checksum files should be read otherwise (for the files other than artifacts, or for the artifacts which were
+     * overwritten without updating the {@link ArtifactEntry}).
+     *
+     * @return the checksums, or <code>null</code> if they should be read from the checksum files
+     */
+    private Map<String, String> readArtifactEntryChecksums(RepositoryPath path,
+                                                           long size)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        if (artifactEntry != null && !artifactEntry.getChecksums().isEmpty() &&
+            artifactEntry.getSizeInBytes() != null && artifactEntry.getSizeInBytes() == size)
+        {
+            return artifactEntry.getChecksums();
+        }
+
+        return null;
+    }
+
+    private String createETag(Map<String, String> checksums,
+                              long size,
+                              long lastModified)
+    {
+        String checksum = checksums.get(MessageDigestAlgorithms.SHA_1);
+        if (checksum == null)
+        {
+            checksum = checksums.get(MessageDigestAlgorithms.MD5);
+        }
+
+        if (checksum != null && !checksum.isEmpty())
+        {
+            return "\"" + checksum + "\"";
+        }
+
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.users.security.AuthenticationCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AuthenticationCacheMetricsTest
+{
+
+    @Test
+    public void testCacheHitsAndMissesAreCounted()
+    {
+        AuthenticationCache authenticationCache = new AuthenticationCache(100, 60);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new AuthenticationCacheMetrics(authenticationCache).bindTo(registry);
+
+        authenticationCache.contains("user", "password");
+        authenticationCache.put("user", "password");
+        authenticationCache.contains("user", "password");
+        authenticationCache.contains("user", "password");
+
+        assertEquals(2, countOf(registry, "hit"));
+        assertEquals(1, countOf(registry, "miss"));
+    }
+
+    private double countOf(MeterRegistry registry,
+                           String result)
+    {
+        return registry.get("strongbox.authentication.cache").tag("result", result).functionCounter().count();
+    }
+
+}
@@ -2,18 +2,24 @@ package org.carlspring.strongbox.controllers.aql;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates.LAYOUT_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
 
 import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.carlspring.strongbox.artifact.generator.MavenArtifactGenerator;
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.rest.common.MavenRestAssuredBaseTest;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
 import org.carlspring.strongbox.testing.artifact.TestArtifact;
 import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
 import org.carlspring.strongbox.testing.storage.repository.TestRepository;
+import io.restassured.module.mockmvc.response.MockMvcResponse;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -90,6 +96,71 @@ public class AqlControllerTest extends MavenRestAssuredBaseTest
                 .body("artifact", Matchers.hasSize(6));
     }
     
+    @Test
+    @ExtendWith({RepositoryManagementTestExecutionListener.class, ArtifactManagementTestExecutionListener.class})
+    public void testSearchKeysetPagination(@TestRepository(storageId = S1, repositoryId = R1, layout = LAYOUT_NAME) Repository repository,
+                                           @MavenTestArtifact(storageId = S1, repositoryId = R1, id = "org.carlspring.strongbox.keyset:keyset-project", versions = { "1.0", "1.1", "1.2", "1.3", "1.4", "1.5", "1.6", "1.7", "1.8", "1.9", "1.10", "1.11", "1.12" }) List<Path> artifacts)
+    {
+        // 13 versions of 2 artifact files are more than the 25 results of a single page.
+        String query = String.format("storage:%s+repository:%s+groupId:org.carlspring.strongbox.keyset+asc:age", S1, R1);
+
+        // Without the opt-in the results are paged by the offset.
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query)
+               .when()
+               .get(getContextBaseUrl() + "/api/aql")
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("artifact", Matchers.hasSize(25))
+               .body("continuationToken", Matchers.nullValue());
+
+        MockMvcResponse firstPage = given().accept(MediaType.APPLICATION_JSON_VALUE)
+                                           .queryParam("query", query)
+                                           .queryParam("keyset", true)
+                                           .when()
+                                           .get(getContextBaseUrl() + "/api/aql");
+        firstPage.then()
+                 .statusCode(HttpStatus.OK.value())
+                 .body("artifact", Matchers.hasSize(25))
+                 .body("continuationToken", Matchers.notNullValue());
+
+        MockMvcResponse secondPage = given().accept(MediaType.APPLICATION_JSON_VALUE)
+                                            .queryParam("query", query)
+                                            .queryParam("continuationToken", firstPage.path("continuationToken"))
+                                            .when()
+                                            .get(getContextBaseUrl() + "/api/aql");
+        secondPage.then()
+                  .statusCode(HttpStatus.OK.value())
+                  .body("artifact", Matchers.hasSize(1))
+                  .body("continuationToken", Matchers.nullValue());
+
+        List<String> firstPageUrls = firstPage.path("artifact.url");
+        List<String> secondPageUrls = secondPage.path("artifact.url");
+        Set<String> urls = new HashSet<>(firstPageUrls);
+        urls.addAll(secondPageUrls);
+        assertEquals(26, urls.size());
+
+        // The keyset is paged by the offset only through the continuation token.
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query", query + "+skip:2")
+               .queryParam("keyset", true)
+               .when()
+               .get(getContextBaseUrl() + "/api/aql")
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        // The versions are not ordered as numbers, so they can't be the keyset.
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .queryParam("query",
+                           String.format("storage:%s+repository:%s+groupId:org.carlspring.strongbox.keyset+asc:version",
+                                         S1, R1))
+               .queryParam("keyset", true)
+               .when()
+               .get(getContextBaseUrl() + "/api/aql")
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     public void testSearchInvalidMavenCoordinates()
     {
@@ -56,17 +56,22 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.project.artifact.PluginArtifact;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -136,6 +141,9 @@ public class MavenArtifactControllerTest
     @Inject
     private PropertiesBooter propertiesBooter;
 
+    @Inject
+    private MavenArtifactController mavenArtifactController;
+
 
     @BeforeAll
     public static void cleanUp()
@@ -582,6 +590,195 @@ public class MavenArtifactControllerTest
         assertEquals(sha1Remote, sha1Local, "Glued partial fetches did not match SHA-1 checksum!");
     }
 
+    @Test
+    public void testRangedFetch()
+    {
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES1;
+        String artifactPath = url + "/org/carlspring/strongbox/partial/partial-foo/3.1/partial-foo-3.1.jar";
+
+        byte[] content = given().header("user-agent", "Maven/*")
+                                .when()
+                                .get(artifactPath)
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .extract()
+                                .asByteArray();
+        int length = content.length;
+
+        // Suffix range
+        byte[] suffix = given().header("Range", "bytes=-100")
+                               .when()
+                               .get(artifactPath)
+                               .then()
+                               .statusCode(HttpStatus.PARTIAL_CONTENT.value())
+                               .header("Content-Range", equalTo("bytes " + (length - 100) + "-" + (length - 1) + "/" + length))
+                               .extract()
+                               .asByteArray();
+        assertArrayEquals(Arrays.copyOfRange(content, length - 100, length), suffix);
+
+        // Multiple ranges
+        String multipart = given().header("Range", "bytes=0-9,20-29")
+                                  .when()
+                                  .get(artifactPath)
+                                  .then()
+                                  .statusCode(HttpStatus.PARTIAL_CONTENT.value())
+                                  .extract()
+                                  .asString();
+        assertTrue(multipart.contains("Content-Range: bytes 0-9/" + length));
+        assertTrue(multipart.contains("Content-Range: bytes 20-29/" + length));
+
+        // Unsatisfiable range
+        given().header("Range", "bytes=" + length + "-")
+               .when()
+               .get(artifactPath)
+               .then()
+               .statusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value())
+               .header("Content-Range", equalTo("bytes */" + length));
+
+        // If-Range which doesn't match serves the whole artifact
+        byte[] whole = given().header("Range", "bytes=0-9")
+                              .header("If-Range", "\"not-a-checksum\"")
+                              .when()
+                              .get(artifactPath)
+                              .then()
+                              .statusCode(HttpStatus.OK.value())
+                              .extract()
+                              .asByteArray();
+        assertArrayEquals(content, whole);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    public void testRangedFetchWithFileChannel(boolean fileChannelDownloadEnabled)
+            throws IOException
+    {
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES1;
+        String path = "org/carlspring/strongbox/partial/partial-foo/3.1/partial-foo-3.1.jar";
+        String artifactPath = url + "/" + path;
+
+        byte[] expected = Files.readAllBytes(getRepositoryBasedir(STORAGE0, REPOSITORY_RELEASES1).toPath()
+                                                                                                 .resolve(path));
+        int length = expected.length;
+
+        // The switch is read by the controller on each download (strongbox.download.fileChannel.enabled).
+        Object controller = AopTestUtils.getUltimateTargetObject(mavenArtifactController);
+        ReflectionTestUtils.setField(controller, "fileChannelDownloadEnabled", fileChannelDownloadEnabled);
+        try
+        {
+            // Full download
+            byte[] content = given().header("user-agent", "Maven/*")
+                                    .when()
+                                    .get(artifactPath)
+                                    .then()
+                                    .statusCode(HttpStatus.OK.value())
+                                    .header("Content-Length", equalTo(String.valueOf(length)))
+                                    .extract()
+                                    .asByteArray();
+            assertArrayEquals(expected, content);
+
+            // Single range
+            byte[] range = given().header("Range", "bytes=10-19")
+                                  .when()
+                                  .get(artifactPath)
+                                  .then()
+                                  .statusCode(HttpStatus.PARTIAL_CONTENT.value())
+                                  .header("Content-Range", equalTo("bytes 10-19/" + length))
+                                  .header("Content-Length", equalTo("10"))
+                                  .extract()
+                                  .asByteArray();
+            assertArrayEquals(Arrays.copyOfRange(expected, 10, 20), range);
+
+            // Multiple ranges
+            String multipart = given().header("Range", "bytes=0-9,20-29")
+                                      .when()
+                                      .get(artifactPath)
+                                      .then()
+                                      .statusCode(HttpStatus.PARTIAL_CONTENT.value())
+                                      .header("Content-Type", startsWith("multipart/byteranges"))
+                                      .extract()
+                                      .asString();
+            assertTrue(multipart.contains("Content-Range: bytes 0-9/" + length));
+            assertTrue(multipart.contains("Content-Range: bytes 20-29/" + length));
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(controller, "fileChannelDownloadEnabled", true);
+        }
+    }
+
+    @Test
+    public void testConditionalFetch()
+    {
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES1;
+        String artifactPath = url + "/org/carlspring/strongbox/partial/partial-foo/3.1/partial-foo-3.1.jar";
+
+        String eTag = given().header("user-agent", "Maven/*")
+                             .when()
+                             .head(artifactPath)
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .extract()
+                             .header("ETag");
+        assertNotNull(eTag);
+
+        String sha1 = given().when()
+                             .get(artifactPath + ".sha1")
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .extract()
+                             .asString()
+                             .trim();
+        assertEquals("\"" + sha1 + "\"", eTag);
+
+        given().header("If-None-Match", eTag)
+               .when()
+               .get(artifactPath)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value())
+               .header("ETag", equalTo(eTag));
+
+        given().header("If-None-Match", "\"not-a-checksum\"")
+               .when()
+               .get(artifactPath)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header("ETag", equalTo(eTag));
+    }
+
+    @Test
+    public void testChecksumHeadersOfArtifactDeployedBeforeItsChecksums()
+            throws Exception
+    {
+        String artifactPath = "org/carlspring/strongbox/headers/headers-foo/1.0/headers-foo-1.0.jar";
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES1 + "/" + artifactPath;
+
+        Path artifactFile = getRepositoryBasedir(STORAGE0, REPOSITORY_RELEASES1).toPath().resolve(artifactPath);
+        byte[] content = "headers-foo".getBytes();
+        Files.createDirectories(artifactFile.getParent());
+        Files.write(artifactFile, content);
+
+        Headers headers = given().when()
+                                 .head(url)
+                                 .then()
+                                 .statusCode(HttpStatus.OK.value())
+                                 .extract()
+                                 .headers();
+        assertFalse(headers.hasHeaderWithName("Checksum-SHA1"));
+
+        String sha1 = MessageDigestUtils.calculateChecksum(artifactFile, EncryptionAlgorithmsEnum.SHA1.getAlgorithm());
+        String md5 = MessageDigestUtils.calculateChecksum(artifactFile, EncryptionAlgorithmsEnum.MD5.getAlgorithm());
+        MessageDigestUtils.writeChecksum(artifactFile, ".sha1", sha1);
+        MessageDigestUtils.writeChecksum(artifactFile, ".md5", md5);
+
+        given().when()
+               .head(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header("Checksum-SHA1", equalTo(sha1))
+               .header("Checksum-MD5", equalTo(md5))
+               .header("ETag", equalTo("\"" + sha1 + "\""));
+    }
+
     @Test
     public void testCopyArtifactFile()
             throws Exception
@@ -3,25 +3,44 @@ package org.carlspring.strongbox.controllers.layout.npm;
 import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
 import org.carlspring.strongbox.artifact.generator.NpmArtifactGenerator;
 import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.layout.NpmLayoutProvider;
+import org.carlspring.strongbox.repository.NpmPackageFeedCache;
+import org.carlspring.strongbox.repository.NpmPackageFeedCache.NpmPackageFeedContent;
 import org.carlspring.strongbox.rest.common.NpmRestAssuredBaseTest;
+import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.MutableRepository;
 import org.carlspring.strongbox.storage.repository.NpmRepositoryFactory;
+import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @IntegrationTest
 public class NpmArtifactControllerTest
@@ -30,14 +49,26 @@ public class NpmArtifactControllerTest
 
     private static final String REPOSITORY_RELEASES = "npm-releases-test";
 
+
     @Inject
     private NpmRepositoryFactory npmRepositoryFactory;
 
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
     @Value("${strongbox.url}")
     private String contextBaseUrl;
 
     private NpmArtifactGenerator artifactGenerator;
 
+    private ObjectMapper objectMapper = new ObjectMapper();
+
 
     @BeforeAll
     public static void cleanUp()
@@ -155,4 +186,179 @@ public class NpmArtifactControllerTest
                .header("Content-Length", equalTo(String.valueOf(Files.size(packagePath))));
     }
 
+    @Test
+    public void testPackageFeedCache()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-feed-cache", "1.0.0");
+        publish(coordinates);
+
+        String url = contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" + coordinates.getId();
+
+        String eTag = given().header("User-Agent", "npm/*")
+                             .when()
+                             .get(url)
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .header(HttpHeaders.CONTENT_ENCODING, nullValue())
+                             .extract()
+                             .header(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // The feed is cached, so it's served without rebuilding it.
+        Repository repository = getConfiguration().getRepository(STORAGE0, REPOSITORY_RELEASES);
+        NpmPackageFeedContent cachedFeed = npmPackageFeedCache.getIfPresent(repository, coordinates.getId());
+        assertNotNull(cachedFeed);
+        assertEquals(eTag, cachedFeed.getETag());
+
+        given().header("User-Agent", "npm/*")
+               .header(HttpHeaders.IF_NONE_MATCH, eTag)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        given().header("User-Agent", "npm/*")
+               .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header(HttpHeaders.CONTENT_ENCODING, equalTo("gzip"))
+               .header(HttpHeaders.ETAG, equalTo(eTag));
+
+        given().header("User-Agent", "npm/*")
+               .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header(HttpHeaders.CONTENT_ENCODING, nullValue());
+
+        // Publishing another version invalidates the feed.
+        NpmArtifactCoordinates nextCoordinates = NpmArtifactCoordinates.of(coordinates.getId(), "1.0.1");
+        publish(nextCoordinates);
+
+        assertNull(npmPackageFeedCache.getIfPresent(repository, coordinates.getId()));
+
+        String nextETag = given().header("User-Agent", "npm/*")
+                                 .when()
+                                 .get(url)
+                                 .then()
+                                 .statusCode(HttpStatus.OK.value())
+                                 .body("versions.'1.0.1'", notNullValue())
+                                 .extract()
+                                 .header(HttpHeaders.ETAG);
+        assertNotEquals(eTag, nextETag);
+        assertNotNull(npmPackageFeedCache.getIfPresent(repository, coordinates.getId()));
+
+        // Unpublishing the version invalidates the feed.
+        RepositoryPath packagePath = repositoryPathResolver.resolve(repository, nextCoordinates.toPath());
+        artifactManagementService.delete(packagePath, true);
+
+        assertNull(npmPackageFeedCache.getIfPresent(repository, coordinates.getId()));
+    }
+
+    @Test
+    public void testAcceptsGzip()
+    {
+        assertTrue(NpmArtifactController.acceptsGzip("gzip"));
+        assertTrue(NpmArtifactController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(NpmArtifactController.acceptsGzip("*"));
+        assertTrue(NpmArtifactController.acceptsGzip("identity, *;q=0.1"));
+
+        assertFalse(NpmArtifactController.acceptsGzip(null));
+        assertFalse(NpmArtifactController.acceptsGzip("identity"));
+        assertFalse(NpmArtifactController.acceptsGzip("gzip;q=0"));
+        assertFalse(NpmArtifactController.acceptsGzip("gzip; q=0.0, deflate"));
+        assertFalse(NpmArtifactController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(NpmArtifactController.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    public void testCorruptPackageIsNotPublished()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-corrupt", "1.0.0");
+        Path publishJsonPath = generatePublishJson(coordinates);
+
+        publish(coordinates, Files.readAllBytes(publishJsonPath), HttpStatus.OK);
+
+        Repository repository = getConfiguration().getRepository(STORAGE0, REPOSITORY_RELEASES);
+        RepositoryPath packagePath = repositoryPathResolver.resolve(repository, coordinates.toPath());
+        byte[] packageContent = Files.readAllBytes(packagePath);
+
+        // The attachment, which is not a package tarball.
+        ObjectNode publishJson = (ObjectNode) objectMapper.readTree(publishJsonPath.toFile());
+        ObjectNode attachment = (ObjectNode) publishJson.get("_attachments").get(coordinates.toPath());
+        byte[] corruptContent = "not an npm package".getBytes(StandardCharsets.UTF_8);
+        attachment.put("data", corruptContent);
+        attachment.put("length", corruptContent.length);
+
+        publish(coordinates, objectMapper.writeValueAsBytes(publishJson), HttpStatus.BAD_REQUEST);
+
+        // The attachment, which is not base64 encoded.
+        attachment.put("data", "%%%%");
+
+        publish(coordinates, objectMapper.writeValueAsBytes(publishJson), HttpStatus.BAD_REQUEST);
+
+        assertArrayEquals(packageContent, Files.readAllBytes(packagePath));
+    }
+
+    @Test
+    public void testPackageWithWrongLengthIsNotPublished()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-wrong-length", "1.0.0");
+
+        publish(coordinates, Files.readAllBytes(generatePublishJson(coordinates)), HttpStatus.OK);
+
+        Repository repository = getConfiguration().getRepository(STORAGE0, REPOSITORY_RELEASES);
+        RepositoryPath packagePath = repositoryPathResolver.resolve(repository, coordinates.toPath());
+        byte[] packageContent = Files.readAllBytes(packagePath);
+
+        // Another package of the same version, which is complete, but has the wrong declared length.
+        ObjectNode publishJson = (ObjectNode) objectMapper.readTree(generatePublishJson(coordinates).toFile());
+        ObjectNode attachment = (ObjectNode) publishJson.get("_attachments").get(coordinates.toPath());
+        attachment.put("length", attachment.get("length").asLong() + 1);
+
+        publish(coordinates, objectMapper.writeValueAsBytes(publishJson), HttpStatus.BAD_REQUEST);
+
+        assertArrayEquals(packageContent, Files.readAllBytes(packagePath));
+    }
+
+    /**
+     * Generates the package outside of the repository, so the stored package is changed only by the publish.
+     */
+    private Path generatePublishJson(NpmArtifactCoordinates coordinates)
+        throws Exception
+    {
+        Path basedir = Files.createTempDirectory("npm-publish");
+
+        return new NpmArtifactGenerator(basedir.toString()).generateArtifact(coordinates);
+    }
+
+    private void publish(NpmArtifactCoordinates coordinates)
+        throws Exception
+    {
+        Path publishJsonPath = artifactGenerator.generateArtifact(coordinates);
+
+        publish(coordinates, Files.readAllBytes(publishJsonPath), HttpStatus.OK);
+    }
+
+    private void publish(NpmArtifactCoordinates coordinates,
+                         byte[] publishJsonContent,
+                         HttpStatus expectedStatus)
+    {
+        given().header("User-Agent", "npm/*")
+               .header("Content-Type", "application/json")
+               .body(publishJsonContent)
+               .when()
+               .put(contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                    coordinates.getId())
+               .peek()
+               .then()
+               .statusCode(expectedStatus.value());
+    }
+
 }
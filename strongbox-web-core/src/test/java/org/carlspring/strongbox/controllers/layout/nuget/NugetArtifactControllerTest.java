@@ -3,15 +3,18 @@ package org.carlspring.strongbox.controllers.layout.nuget;
 import org.carlspring.strongbox.config.IntegrationTest;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NugetLayoutProvider;
 import org.carlspring.strongbox.rest.common.NugetRestAssuredBaseTest;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.metadata.nuget.NupkgMetadataCache;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
 import org.carlspring.strongbox.storage.repository.MutableRepository;
 import org.carlspring.strongbox.storage.repository.NugetRepositoryFactory;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.file.Files;
@@ -53,6 +56,9 @@ public class NugetArtifactControllerTest extends NugetRestAssuredBaseTest
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private NupkgMetadataCache nupkgMetadataCache;
+
     @BeforeAll
     public static void cleanUp()
         throws Exception
@@ -306,6 +312,76 @@ public class NugetArtifactControllerTest extends NugetRestAssuredBaseTest
                .body("feed.entry[0].title", equalTo("Org.Carlspring.Strongbox.Nuget.Test.Search"));
     }
 
+    @Test
+    public void testPackageFeedCache()
+        throws Exception
+    {
+        String packageId = "Org.Carlspring.Strongbox.Nuget.Test.Cache";
+        String packageVersion = "1.0.0";
+        byte[] packageContent = readPackageContent(generateArtifactFile(packageId, packageVersion));
+
+        // Push
+        createPushRequest(packageContent).when()
+                                         .put(getContextBaseUrl() + "/storages/" + STORAGE_ID + "/" +
+                                              REPOSITORY_RELEASES_1 + "/")
+                                         .peek()
+                                         .then()
+                                         .statusCode(HttpStatus.CREATED.value());
+
+        // The pushed package is cached right away.
+        RepositoryPath nupkgPath = repositoryPathResolver.resolve(STORAGE_ID, REPOSITORY_RELEASES_1,
+                                                                  String.format("%s/%s/%s.%s.nupkg",
+                                                                                packageId,
+                                                                                packageVersion,
+                                                                                packageId,
+                                                                                packageVersion));
+        assertTrue(nupkgMetadataCache.contains(nupkgPath));
+
+        long hits = nupkgMetadataCache.getHits();
+        long misses = nupkgMetadataCache.getMisses();
+        findPackagesById(packageId);
+        assertEquals(hits + 1, nupkgMetadataCache.getHits());
+        assertEquals(misses, nupkgMetadataCache.getMisses());
+
+        // Publish: any of the package files stored invalidates the package.
+        RepositoryPath nuspecPath = repositoryPathResolver.resolve(STORAGE_ID, REPOSITORY_RELEASES_1,
+                                                                   String.format("%s/%s/%s.nuspec",
+                                                                                 packageId,
+                                                                                 packageVersion,
+                                                                                 packageId));
+        byte[] nuspecContent = Files.readAllBytes(nuspecPath);
+        artifactManagementService.validateAndStore(nuspecPath, new ByteArrayInputStream(nuspecContent));
+        assertFalse(nupkgMetadataCache.contains(nupkgPath));
+
+        findPackagesById(packageId);
+        assertEquals(misses + 1, nupkgMetadataCache.getMisses());
+        assertTrue(nupkgMetadataCache.contains(nupkgPath));
+
+        // Delete
+        given().header("User-Agent", "NuGet/*")
+               .header("X-NuGet-ApiKey", API_KEY)
+               .when()
+               .delete(getContextBaseUrl() + "/storages/" + STORAGE_ID + "/" + REPOSITORY_RELEASES_1 + "/" +
+                       packageId + "/" + packageVersion)
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value());
+        assertFalse(nupkgMetadataCache.contains(nupkgPath));
+    }
+
+    private void findPackagesById(String packageId)
+    {
+        given().header("User-Agent", "NuGet/*")
+               .when()
+               .get(getContextBaseUrl() + "/storages/" + STORAGE_ID + "/" + REPOSITORY_RELEASES_1 +
+                    String.format("/FindPackagesById()?id='%s'", packageId))
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .and()
+               .assertThat()
+               .body("feed.entry[0].title", equalTo(packageId));
+    }
+
     @Test
     public void testLastVersionPackageSearch()
         throws Exception
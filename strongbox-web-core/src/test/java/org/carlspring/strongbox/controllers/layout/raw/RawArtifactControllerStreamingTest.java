@@ -0,0 +1,279 @@
+package org.carlspring.strongbox.controllers.layout.raw;
+
+import org.carlspring.strongbox.client.CloseableRestResponse;
+import org.carlspring.strongbox.client.MutableRemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.config.hazelcast.HazelcastConfiguration;
+import org.carlspring.strongbox.config.hazelcast.HazelcastInstanceId;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.RawLayoutProvider;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RestArtifactResolverFactory;
+import org.carlspring.strongbox.rest.common.RawRestAssuredBaseTest;
+import org.carlspring.strongbox.services.ArtifactResolutionService;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.Response;
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Downloads the artifact from the proxy repository with the streaming enabled, while the remote repository is
+ * providing the artifact, see {@link ProxyRepositoryArtifactResolver}.
+ */
+@IntegrationTest
+@ActiveProfiles({ "RawArtifactControllerStreamingTest", "test" })
+@TestPropertySource(properties = "strongbox.proxy.streaming.enabled=true")
+public class RawArtifactControllerStreamingTest
+        extends RawRestAssuredBaseTest
+{
+
+    private static final String REPOSITORY_PROXY = "racst-raw-proxy";
+
+    private static final String ARTIFACT_PATH = "org/foo/bar/streamed.zip";
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final byte[] remoteArtifact = new byte[CHUNK_SIZE * 8];
+
+    private static volatile CountDownLatch remoteRelease;
+
+    @Inject
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Inject
+    private ArtifactResolutionService artifactResolutionService;
+
+    private ExecutorService clients;
+
+    @BeforeAll
+    public static void cleanUp()
+            throws Exception
+    {
+        new Random().nextBytes(remoteArtifact);
+
+        cleanUp(getRepositoriesToClean());
+    }
+
+    public static Set<MutableRepository> getRepositoriesToClean()
+    {
+        Set<MutableRepository> repositories = new LinkedHashSet<>();
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_PROXY, RawLayoutProvider.ALIAS));
+
+        return repositories;
+    }
+
+    @Override
+    @BeforeEach
+    public void init()
+            throws Exception
+    {
+        super.init();
+
+        createProxyRepository(STORAGE0, REPOSITORY_PROXY, "http://remote.example.org/raw/");
+
+        remoteRelease = new CountDownLatch(1);
+
+        // The requests are authenticated as the test user within the client threads as well.
+        clients = new DelegatingSecurityContextExecutorService(Executors.newCachedThreadPool(),
+                                                               SecurityContextHolder.getContext());
+    }
+
+    @AfterEach
+    public void removeRepositories()
+            throws IOException, JAXBException
+    {
+        remoteRelease.countDown();
+        clients.shutdownNow();
+
+        removeRepositories(getRepositoriesToClean());
+    }
+
+    @Test
+    public void testRangeRequestDuringTheFetch()
+            throws Exception
+    {
+        // The fetch is started by the streamed download, which gets the first chunk while the rest is still remote.
+        RepositoryPath repositoryPath = clients.submit(
+                () -> proxyRepositoryArtifactResolver.resolveStreaming(
+                        () -> artifactResolutionService.resolvePath(STORAGE0, REPOSITORY_PROXY, ARTIFACT_PATH)))
+                                               .get(30, TimeUnit.SECONDS);
+        assertNotNull(proxyRepositoryArtifactResolver.getStreamingFetch(repositoryPath));
+        assertFalse(Files.exists(repositoryPath));
+
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_PROXY + "/" + ARTIFACT_PATH;
+        Future<MockMvcResponse> rangeRequest = clients.submit(() -> given().header("Range", "bytes=100-199")
+                                                                          .when()
+                                                                          .get(url));
+
+        // The range is served from the stored artifact, once the fetch has been completed.
+        assertFalse(rangeRequest.isDone());
+        remoteRelease.countDown();
+
+        MockMvcResponse response = rangeRequest.get(30, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+        assertEquals("bytes 100-199/" + remoteArtifact.length, response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(remoteArtifact, 100, 200), response.asByteArray());
+        assertTrue(Files.exists(repositoryPath));
+    }
+
+    /**
+     * Provides the first chunk of the artifact right away, and the rest once the test releases the remote.
+     */
+    private static class BlockingArtifactInputStream
+            extends FilterInputStream
+    {
+
+        private boolean firstChunk = true;
+
+        BlockingArtifactInputStream()
+        {
+            super(new ByteArrayInputStream(remoteArtifact));
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            awaitRelease();
+
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            awaitRelease();
+
+            return super.read(b, off, Math.min(len, CHUNK_SIZE));
+        }
+
+        private void awaitRelease()
+            throws IOException
+        {
+            if (firstChunk)
+            {
+                firstChunk = false;
+
+                return;
+            }
+
+            try
+            {
+                remoteRelease.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new IOException(e);
+            }
+        }
+
+    }
+
+    @Configuration
+    @Profile("RawArtifactControllerStreamingTest")
+    @Import(HazelcastConfiguration.class)
+    public static class RawArtifactControllerStreamingTestConfiguration
+    {
+
+        @Primary
+        @Bean
+        public HazelcastInstanceId hazelcastInstanceIdRacst()
+        {
+            return new HazelcastInstanceId("RawArtifactControllerStreamingTest-hazelcast-instance");
+        }
+
+        /**
+         * The remote repository provides the artifact only, there are no remote checksums.
+         */
+        @Primary
+        @Bean
+        RestArtifactResolverFactory mockedRestArtifactResolverFactory()
+        {
+            Response artifactResponse = Mockito.mock(Response.class);
+            Mockito.when(artifactResponse.getStatus()).thenReturn(200);
+            Mockito.when(artifactResponse.getEntity()).then((i) -> new BlockingArtifactInputStream());
+            Mockito.when(artifactResponse.readEntity(InputStream.class)).then((i) -> new BlockingArtifactInputStream());
+            Mockito.when(artifactResponse.getHeaderString("Accept-Ranges")).thenReturn("none");
+            Mockito.when(artifactResponse.getHeaderString("Content-Length"))
+                   .thenReturn(String.valueOf(remoteArtifact.length));
+
+            CloseableRestResponse artifactRestResponse = Mockito.mock(CloseableRestResponse.class);
+            Mockito.when(artifactRestResponse.getResponse()).thenReturn(artifactResponse);
+
+            Response notFoundResponse = Mockito.mock(Response.class);
+            Mockito.when(notFoundResponse.getStatus()).thenReturn(404);
+
+            CloseableRestResponse notFoundRestResponse = Mockito.mock(CloseableRestResponse.class);
+            Mockito.when(notFoundRestResponse.getResponse()).thenReturn(notFoundResponse);
+
+            RestArtifactResolver artifactResolver = Mockito.mock(RestArtifactResolver.class);
+            Mockito.when(artifactResolver.get(ArgumentMatchers.any(String.class))).thenReturn(notFoundRestResponse);
+            Mockito.when(artifactResolver.get(ArgumentMatchers.any(String.class), ArgumentMatchers.any(Long.class)))
+                   .thenReturn(artifactRestResponse);
+            Mockito.when(artifactResolver.head(ArgumentMatchers.any(String.class))).thenReturn(artifactRestResponse);
+            Mockito.when(artifactResolver.getConfiguration()).then((i) -> createRetryConfiguration());
+            Mockito.when(artifactResolver.isAlive()).thenReturn(true);
+
+            RestArtifactResolverFactory artifactResolverFactory = Mockito.mock(RestArtifactResolverFactory.class);
+            Mockito.when(artifactResolverFactory.newInstance(ArgumentMatchers.any(RemoteRepository.class)))
+                   .thenReturn(artifactResolver);
+
+            return artifactResolverFactory;
+        }
+
+        private static RemoteRepositoryRetryArtifactDownloadConfiguration createRetryConfiguration()
+        {
+            MutableRemoteRepositoryRetryArtifactDownloadConfiguration configuration = new MutableRemoteRepositoryRetryArtifactDownloadConfiguration();
+            configuration.setMaxNumberOfAttempts(1);
+            configuration.setTimeoutSeconds(30);
+            configuration.setMinAttemptsIntervalSeconds(1);
+
+            return new RemoteRepositoryRetryArtifactDownloadConfiguration(configuration);
+        }
+
+    }
+
+}